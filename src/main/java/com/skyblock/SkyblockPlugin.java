@@ -17,6 +17,8 @@ import com.skyblock.modules.ModuleManager;
 import com.skyblock.player.PlayerManager;
 import com.skyblock.skills.SkillManager;
 import com.skyblock.utils.ColorUtils;
+import com.skyblock.utils.CooldownTracker;
+import com.skyblock.utils.TimingWheel;
 import com.skyblock.world.WorldManager;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -59,6 +61,10 @@ public class SkyblockPlugin extends JavaPlugin {
     private GardenManager gardenManager;
     private FurnitureManager furnitureManager;
 
+    // Shared scheduling
+    private TimingWheel timingWheel;
+    private CooldownTracker cooldowns;
+
     // API
     private SkyblockAPI api;
 
@@ -75,6 +81,11 @@ public class SkyblockPlugin extends JavaPlugin {
             configManager = new ConfigManager(this);
             configManager.loadAllConfigs();
 
+            // Start the tick-driven timing wheel used for cooldowns and expiries
+            timingWheel = new TimingWheel(getLogger());
+            cooldowns = new CooldownTracker(timingWheel);
+            Bukkit.getScheduler().runTaskTimer(this, timingWheel::tick, 1L, 1L);
+
             // Initialize database
             log(Level.INFO, "Initializing database...");
             databaseManager = new DatabaseManager(this);
@@ -100,7 +111,7 @@ public class SkyblockPlugin extends JavaPlugin {
             // Initialize Phase 1.5 managers
             log(Level.INFO, "Initializing Phase 1.5 managers (Island, Garden, World)...");
             worldManager = new WorldManager(this);
-            islandManager = new IslandManager(this);
+            islandManager = new IslandManager(this, worldManager);
             coopManager = new CoopManager(this);
             gardenManager = new GardenManager(this);
             furnitureManager = new FurnitureManager(this);
@@ -117,7 +128,11 @@ public class SkyblockPlugin extends JavaPlugin {
             registerListeners();
 
             // Load online players (for reloads)
-            Bukkit.getOnlinePlayers().forEach(player -> playerManager.loadPlayer(player));
+            Bukkit.getOnlinePlayers().forEach(player -> {
+                playerManager.loadPlayer(player);
+                itemManager.getEquipmentTracker().refresh(player);
+                islandManager.refreshPresence(player);
+            });
 
             // Setup external hooks
             setupHooks();
@@ -160,6 +175,10 @@ public class SkyblockPlugin extends JavaPlugin {
             furnitureManager.shutdown();
         }
 
+        if (economyManager != null) {
+            economyManager.shutdown();
+        }
+
         // Close database connections
         if (databaseManager != null) {
             databaseManager.shutdown();
@@ -218,6 +237,7 @@ public class SkyblockPlugin extends JavaPlugin {
 
         // Item listener
         getServer().getPluginManager().registerEvents(itemManager, this);
+        getServer().getPluginManager().registerEvents(itemManager.getEquipmentTracker(), this);
 
         // Skill listeners (if enabled)
         if (moduleManager.isModuleEnabled("skills")) {
@@ -230,7 +250,16 @@ public class SkyblockPlugin extends JavaPlugin {
         }
 
         // Phase 1.5 listeners
-        getServer().getPluginManager().registerEvents(new IslandProtectionListener(this), this);
+        getServer().getPluginManager().registerEvents(worldManager.getSampler(), this);
+        if (worldManager.getStorage() != null) {
+            getServer().getPluginManager().registerEvents(worldManager.getStorage(), this);
+        }
+        getServer().getPluginManager().registerEvents(islandManager, this);
+        getServer().getPluginManager().registerEvents(islandManager.getValuation(), this);
+        getServer().getPluginManager().registerEvents(islandManager.getEntityTracker(), this);
+        getServer().getPluginManager().registerEvents(islandManager.getTileTracker(), this);
+        getServer().getPluginManager().registerEvents(islandManager.getBorders(), this);
+        getServer().getPluginManager().registerEvents(new IslandProtectionListener(this, islandManager), this);
         getServer().getPluginManager().registerEvents(furnitureManager, this);
         getServer().getPluginManager().registerEvents(gardenManager, this);
     }
@@ -268,6 +297,7 @@ public class SkyblockPlugin extends JavaPlugin {
         itemManager.reload();
         skillManager.reload();
         collectionManager.reload();
+        economyManager.reload();
         log(Level.INFO, "Reload complete!");
     }
 
@@ -326,6 +356,14 @@ public class SkyblockPlugin extends JavaPlugin {
         return api;
     }
 
+    public TimingWheel getTimingWheel() {
+        return timingWheel;
+    }
+
+    public CooldownTracker getCooldowns() {
+        return cooldowns;
+    }
+
     // Phase 1.5 Getters
     public WorldManager getWorldManager() {
         return worldManager;
@@ -3,6 +3,7 @@ package com.skyblock.api;
 import com.skyblock.SkyblockPlugin;
 import com.skyblock.collections.Collection;
 import com.skyblock.collections.CollectionManager;
+import com.skyblock.economy.CoinFlowTracker;
 import com.skyblock.economy.EconomyManager;
 import com.skyblock.items.CustomItem;
 import com.skyblock.items.ItemManager;
@@ -76,6 +77,20 @@ public class SkyblockAPI {
         return plugin.getEconomyManager().hasBalance(player, amount);
     }
 
+    /**
+     * Get the total coins in the economy.
+     */
+    public double getMoneySupply() {
+        return plugin.getEconomyManager().getMoneySupply();
+    }
+
+    /**
+     * Get coin flow statistics (created/destroyed per reason).
+     */
+    public CoinFlowTracker getCoinFlow() {
+        return plugin.getEconomyManager().getCoinFlow();
+    }
+
     // ==================== Skills API ====================
 
     /**
@@ -0,0 +1,51 @@
+package com.skyblock.api.events;
+
+import com.skyblock.economy.BulkTransaction;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.util.List;
+
+/**
+ * Called once before a bulk coin payout is applied.
+ * Listeners can cancel or adjust individual entries, or cancel the whole batch.
+ */
+public class EconomyBulkTransactionEvent extends Event implements Cancellable {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+    private boolean cancelled;
+
+    private final BulkTransaction transaction;
+
+    public EconomyBulkTransactionEvent(BulkTransaction transaction) {
+        this.transaction = transaction;
+    }
+
+    public BulkTransaction getTransaction() {
+        return transaction;
+    }
+
+    public List<BulkTransaction.Entry> getEntries() {
+        return transaction.getEntries();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -1,10 +1,20 @@
 package com.skyblock.commands;
 
 import com.skyblock.SkyblockPlugin;
+import com.skyblock.economy.BulkTransaction;
+import com.skyblock.economy.CoinFlowTracker;
 import com.skyblock.gui.menus.AdminMenu;
+import com.skyblock.island.EntityCategory;
+import com.skyblock.island.EntityTracker;
+import com.skyblock.island.Island;
+import com.skyblock.items.CustomItem;
 import com.skyblock.player.SkyblockPlayer;
 import com.skyblock.utils.ColorUtils;
 import com.skyblock.utils.NumberUtils;
+import com.skyblock.world.ChunkPrefetcher;
+import com.skyblock.world.WorldGovernor;
+import com.skyblock.world.WorldManager;
+import com.skyblock.world.WorldSampler;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -15,6 +25,8 @@ import org.bukkit.entity.Player;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Admin command handler.
@@ -60,6 +72,18 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
             case "give":
                 handleGive(sender, args);
                 break;
+            case "economy":
+                handleEconomy(sender, args);
+                break;
+            case "entities":
+                handleEntities(sender, args);
+                break;
+            case "lag":
+                handleLag(sender);
+                break;
+            case "worlds":
+                handleWorlds(sender);
+                break;
             default:
                 sendHelp(sender);
         }
@@ -71,9 +95,14 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(ColorUtils.colorize("&6&lSkyblockFOSS Admin Commands:"));
         sender.sendMessage(ColorUtils.colorize("&e/sbadmin reload &7- Reload configuration"));
         sender.sendMessage(ColorUtils.colorize("&e/sbadmin coins <player> <give|take|set> <amount> &7- Manage coins"));
+        sender.sendMessage(ColorUtils.colorize("&e/sbadmin coins all give <amount> &7- Give coins to everyone online"));
         sender.sendMessage(ColorUtils.colorize("&e/sbadmin skill <player> <skill> <level> &7- Set skill level"));
         sender.sendMessage(ColorUtils.colorize("&e/sbadmin collection <player> <collection> <amount> &7- Set collection"));
         sender.sendMessage(ColorUtils.colorize("&e/sbadmin give <player> <item> [amount] &7- Give custom item"));
+        sender.sendMessage(ColorUtils.colorize("&e/sbadmin economy [hour|day|month] &7- View coin flow"));
+        sender.sendMessage(ColorUtils.colorize("&e/sbadmin entities [category] &7- Islands with the most entities"));
+        sender.sendMessage(ColorUtils.colorize("&e/sbadmin lag &7- Island worlds costing the most"));
+        sender.sendMessage(ColorUtils.colorize("&e/sbadmin worlds &7- Island world load statistics"));
     }
 
     private void handleReload(CommandSender sender) {
@@ -97,13 +126,6 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
-        Player target = Bukkit.getPlayer(args[1]);
-        if (target == null) {
-            sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("general.player-not-found")
-                    .replace("{player}", args[1])));
-            return;
-        }
-
         double amount = NumberUtils.parseDouble(args[3], -1);
         if (amount < 0) {
             sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("general.invalid-number")
@@ -111,24 +133,36 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
+        if (args[1].equalsIgnoreCase("all")) {
+            handleCoinsAll(sender, args[2], amount);
+            return;
+        }
+
+        Player target = Bukkit.getPlayer(args[1]);
+        if (target == null) {
+            sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("general.player-not-found")
+                    .replace("{player}", args[1])));
+            return;
+        }
+
         SkyblockPlayer sbPlayer = plugin.getPlayerManager().getPlayer(target);
         if (sbPlayer == null) return;
 
         switch (args[2].toLowerCase()) {
             case "give":
-                sbPlayer.addCoins(amount);
+                plugin.getEconomyManager().addCoins(target, amount, "Admin", false);
                 sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("admin.coins-given")
                         .replace("{amount}", NumberUtils.formatCoins(amount))
                         .replace("{player}", target.getName())));
                 break;
             case "take":
-                sbPlayer.removeCoins(amount);
+                plugin.getEconomyManager().removeCoins(target, amount, "Admin", false);
                 sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("admin.coins-taken")
                         .replace("{amount}", NumberUtils.formatCoins(amount))
                         .replace("{player}", target.getName())));
                 break;
             case "set":
-                sbPlayer.setPurse(amount);
+                plugin.getEconomyManager().setBalance(target, amount);
                 sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("admin.coins-set")
                         .replace("{amount}", NumberUtils.formatCoins(amount))
                         .replace("{player}", target.getName())));
@@ -138,6 +172,174 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         }
     }
 
+    private void handleCoinsAll(CommandSender sender, String action, double amount) {
+        if (!action.equalsIgnoreCase("give")) {
+            sender.sendMessage(ColorUtils.colorize("&cUsage: /sbadmin coins all give <amount>"));
+            return;
+        }
+
+        BulkTransaction transaction = new BulkTransaction();
+        for (Player online : Bukkit.getOnlinePlayers()) {
+            SkyblockPlayer sbPlayer = plugin.getPlayerManager().getPlayer(online);
+            if (sbPlayer != null) {
+                transaction.add(sbPlayer, amount, "Admin");
+            }
+        }
+
+        plugin.getEconomyManager().addCoinsBulk(transaction, true);
+        sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("admin.coins-given")
+                .replace("{amount}", NumberUtils.formatCoins(amount))
+                .replace("{player}", transaction.count(BulkTransaction.Status.APPLIED) + " players")));
+    }
+
+    private void handleEconomy(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("skyblock.admin.economy")) {
+            sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("general.no-permission")));
+            return;
+        }
+
+        CoinFlowTracker.Window window = CoinFlowTracker.Window.DAY;
+        if (args.length >= 2) {
+            try {
+                window = CoinFlowTracker.Window.valueOf(args[1].toUpperCase());
+            } catch (IllegalArgumentException e) {
+                sender.sendMessage(ColorUtils.colorize("&cUsage: /sbadmin economy [hour|day|month]"));
+                return;
+            }
+        }
+
+        CoinFlowTracker flow = plugin.getEconomyManager().getCoinFlow();
+        long now = System.currentTimeMillis();
+        CoinFlowTracker.FlowTotal total = flow.getTotal(window, now);
+
+        sender.sendMessage(ColorUtils.colorize("&6&lEconomy &7(last " + window.name().toLowerCase() + ")"));
+        sender.sendMessage(ColorUtils.colorize("&7Money supply: &6" + NumberUtils.formatCoins(flow.getMoneySupply())));
+        sender.sendMessage(ColorUtils.colorize("&7Created: &a+" + NumberUtils.formatCoins(total.getCreated())
+                + " &7Destroyed: &c-" + NumberUtils.formatCoins(total.getDestroyed())
+                + " &7Net: &e" + NumberUtils.formatCoins(total.getNet())));
+
+        sender.sendMessage(ColorUtils.colorize("&aTop sources:"));
+        for (CoinFlowTracker.FlowTotal source : flow.getTopSources(window, 5, now)) {
+            sender.sendMessage(ColorUtils.colorize("&7 - &f" + source.getReason() + "&7: &a+"
+                    + NumberUtils.formatCoins(source.getCreated())));
+        }
+
+        sender.sendMessage(ColorUtils.colorize("&cTop sinks:"));
+        for (CoinFlowTracker.FlowTotal sink : flow.getTopSinks(window, 5, now)) {
+            sender.sendMessage(ColorUtils.colorize("&7 - &f" + sink.getReason() + "&7: &c-"
+                    + NumberUtils.formatCoins(sink.getDestroyed())));
+        }
+    }
+
+    private void handleEntities(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("skyblock.admin.islands")) {
+            sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("general.no-permission")));
+            return;
+        }
+
+        EntityCategory category = null;
+        if (args.length >= 2) {
+            category = EntityCategory.fromKey(args[1]);
+            if (category == null) {
+                sender.sendMessage(ColorUtils.colorize("&cUnknown category. Use one of: "
+                        + Arrays.stream(EntityCategory.values()).map(EntityCategory::getConfigKey)
+                            .collect(Collectors.joining(", "))));
+                return;
+            }
+        }
+
+        EntityTracker tracker = plugin.getIslandManager().getEntityTracker();
+        List<Map.Entry<String, Integer>> top = tracker.getTop(category, 10);
+
+        sender.sendMessage(ColorUtils.colorize("&6&lTop Islands by Entities &7("
+                + (category != null ? category.getConfigKey() : "total") + ")"));
+        if (top.isEmpty()) {
+            sender.sendMessage(ColorUtils.colorize("&7No entities on loaded islands."));
+            return;
+        }
+
+        int rank = 1;
+        for (Map.Entry<String, Integer> entry : top) {
+            Island island = plugin.getIslandManager().getIslandByWorld(entry.getKey());
+            String owner = entry.getKey();
+            if (island != null && island.getOwner() != null) {
+                String name = Bukkit.getOfflinePlayer(island.getOwner()).getName();
+                if (name != null) owner = name;
+            }
+            sender.sendMessage(ColorUtils.colorize("&7" + rank++ + ". &f" + owner + "&7: &e" + entry.getValue()
+                    + " &7(total " + tracker.getTotal(entry.getKey()) + ")"));
+        }
+    }
+
+    private void handleLag(CommandSender sender) {
+        if (!sender.hasPermission("skyblock.admin.islands")) {
+            sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("general.no-permission")));
+            return;
+        }
+
+        WorldSampler sampler = plugin.getWorldManager().getSampler();
+        List<WorldSampler.Sample> top = sampler.getTop(10);
+
+        sender.sendMessage(ColorUtils.colorize("&6&lIsland Cost Report"
+                + (sampler.getBudget() >= 0 ? " &7(budget " + Math.round(sampler.getBudget()) + ")" : "")));
+        if (top.isEmpty()) {
+            sender.sendMessage(ColorUtils.colorize("&7No island worlds sampled yet."));
+            return;
+        }
+
+        int rank = 1;
+        for (WorldSampler.Sample sample : top) {
+            Island island = plugin.getIslandManager().getIslandByWorld(sample.getWorldName());
+            String owner = sample.getWorldName();
+            if (island != null && island.getOwner() != null) {
+                String name = Bukkit.getOfflinePlayer(island.getOwner()).getName();
+                if (name != null) owner = name;
+            }
+            sender.sendMessage(ColorUtils.colorize("&7" + rank++ + ". &f" + owner
+                    + (sampler.isThrottled(sample.getWorldName()) ? " &c[throttled]" : "")
+                    + "&7: avg &e" + Math.round(sample.getAverageScore())
+                    + " &7now &e" + Math.round(sample.getScore())
+                    + " &7peak &e" + Math.round(sample.getPeakScore())));
+            sender.sendMessage(ColorUtils.colorize("&8   " + sample.getEntities() + " entities, "
+                    + sample.getTiles() + " tiles, " + sample.getChunks() + " chunks"));
+        }
+    }
+
+    private void handleWorlds(CommandSender sender) {
+        if (!sender.hasPermission("skyblock.admin.islands")) {
+            sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("general.no-permission")));
+            return;
+        }
+
+        WorldManager worldManager = plugin.getWorldManager();
+        Map<WorldManager.WorldState, Integer> states = worldManager.getStateCounts();
+        WorldManager.LifecycleMetrics metrics = worldManager.getMetrics();
+
+        sender.sendMessage(ColorUtils.colorize("&6&lIsland Worlds"));
+        sender.sendMessage(ColorUtils.colorize("&7Loaded: &a" + states.get(WorldManager.WorldState.LOADED)
+                + " &7Loading: &e" + states.get(WorldManager.WorldState.LOADING)
+                + " &7Unloading: &e" + states.get(WorldManager.WorldState.UNLOADING)));
+        sender.sendMessage(ColorUtils.colorize("&7Pool: &f" + worldManager.getPool().getReadyCount()
+                + "/" + worldManager.getPool().getSize() + " &7ready, &f" + metrics.getPooled() + " &7claimed"));
+        WorldGovernor governor = worldManager.getGovernor();
+        sender.sendMessage(ColorUtils.colorize("&7Governor: &f" + states.get(WorldManager.WorldState.LOADED)
+                + "/" + governor.getMaxLoaded() + " &7worlds, &f" + (governor.getEstimatedBytes() >> 20)
+                + "/" + (governor.getBudgetBytes() >> 20) + " MB &7est., &f" + governor.getQueued()
+                + " &7queued, &f" + governor.getEvictions() + " &7evicted"));
+        ChunkPrefetcher prefetcher = worldManager.getPrefetcher();
+        sender.sendMessage(ColorUtils.colorize("&7Prefetch: &f" + prefetcher.getActiveCount() + " &7active, &f"
+                + prefetcher.getHits() + "/" + prefetcher.getRequests() + " &7already loaded"));
+        sender.sendMessage(ColorUtils.colorize("&7Loads: &f" + metrics.getLoads()
+                + " &7Creates: &f" + metrics.getCreates()
+                + " &7Unloads: &f" + metrics.getUnloads()
+                + " &7Shared: &f" + metrics.getDeduplicated()));
+        sender.sendMessage(ColorUtils.colorize("&7Load time: avg &e" + metrics.getAverageLoadMillis()
+                + "ms &7max &e" + metrics.getMaxLoadMillis() + "ms"));
+        sender.sendMessage(ColorUtils.colorize("&7Timeouts: &c" + metrics.getTimeouts()
+                + " &7Failures: &c" + metrics.getFailures()
+                + " &7Cancelled: &f" + metrics.getCancelled()));
+    }
+
     private void handleSkill(CommandSender sender, String[] args) {
         if (!sender.hasPermission("skyblock.admin.players")) {
             sender.sendMessage(ColorUtils.colorize(plugin.getConfigManager().getMessage("general.no-permission")));
@@ -237,6 +439,14 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
 
         if (plugin.getItemManager().getItem(itemId) == null) {
             sender.sendMessage(ColorUtils.colorize("&cItem not found: " + itemId));
+
+            List<String> suggestions = new ArrayList<>();
+            for (CustomItem match : plugin.getItemManager().getCatalog().findFuzzy(args[2], 3)) {
+                suggestions.add(match.getId().toUpperCase());
+            }
+            if (!suggestions.isEmpty()) {
+                sender.sendMessage(ColorUtils.colorize("&7Did you mean: &e" + String.join("&7, &e", suggestions) + "&7?"));
+            }
             return;
         }
 
@@ -251,8 +461,21 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
 
         if (args.length == 1) {
-            completions.addAll(Arrays.asList("reload", "coins", "skill", "collection", "give"));
+            completions.addAll(Arrays.asList("reload", "coins", "skill", "collection", "give", "economy", "entities", "lag", "worlds"));
         } else if (args.length == 2) {
+            if (args[0].equalsIgnoreCase("economy")) {
+                completions.addAll(Arrays.asList("hour", "day", "month"));
+                return completions;
+            }
+            if (args[0].equalsIgnoreCase("entities")) {
+                for (EntityCategory category : EntityCategory.values()) {
+                    completions.add(category.getConfigKey());
+                }
+                return completions;
+            }
+            if (args[0].equalsIgnoreCase("coins")) {
+                completions.add("all");
+            }
             // Player names
             for (Player player : Bukkit.getOnlinePlayers()) {
                 completions.add(player.getName());
@@ -268,7 +491,7 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
                     }
                     break;
                 case "give":
-                    completions.addAll(plugin.getItemManager().getItemIds());
+                    completions.addAll(plugin.getItemManager().getCatalog().completeIds(args[2], 100));
                     break;
             }
         }
@@ -2,10 +2,14 @@ package com.skyblock.commands;
 
 import com.skyblock.SkyblockPlugin;
 import com.skyblock.gui.menus.IslandSettingsMenu;
+import com.skyblock.gui.menus.IslandVisitorsMenu;
 import com.skyblock.island.Island;
 import com.skyblock.island.IslandManager;
+import com.skyblock.island.IslandValuation;
 import com.skyblock.player.PlayerProfile;
 import com.skyblock.player.SkyblockPlayer;
+import com.skyblock.utils.NumberUtils;
+import com.skyblock.utils.TimeUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -60,7 +64,8 @@ public class IslandCommand implements CommandExecutor, TabCompleter {
             case "kick" -> kickPlayer(player, args);
             case "ban" -> banPlayer(player, args);
             case "unban" -> unbanPlayer(player, args);
-            case "visitors" -> listVisitors(player);
+            case "visitors" -> listVisitors(player, args);
+            case "level", "worth" -> showLevel(player, args);
             case "public" -> togglePublic(player);
             case "pvp" -> togglePvp(player);
             case "help" -> sendHelp(player);
@@ -292,7 +297,7 @@ public class IslandCommand implements CommandExecutor, TabCompleter {
                 return;
             }
 
-            island.banPlayer(target.getUniqueId());
+            island.banPlayer(target.getUniqueId(), player.getUniqueId());
             islandManager.saveIsland(island);
             player.sendMessage("§a" + target.getName() + " has been banned from your island!");
 
@@ -339,7 +344,9 @@ public class IslandCommand implements CommandExecutor, TabCompleter {
         });
     }
 
-    private void listVisitors(Player player) {
+    private void listVisitors(Player player, String[] args) {
+        boolean history = args.length > 1 && args[1].equalsIgnoreCase("history");
+
         SkyblockPlayer sbPlayer = plugin.getPlayerManager().getSkyblockPlayer(player);
         if (sbPlayer == null) return;
 
@@ -352,21 +359,87 @@ public class IslandCommand implements CommandExecutor, TabCompleter {
                 return;
             }
 
+            if (history) {
+                IslandVisitorsMenu.open(plugin, player, island, 0);
+                return;
+            }
+
+            java.util.Set<java.util.UUID> present = islandManager.getPresenceIndex().getVisitorsPresent(island.getId());
+
             player.sendMessage("§6§lIsland Visitors:");
-            if (island.getCurrentVisitors().isEmpty()) {
+            if (present.isEmpty()) {
                 player.sendMessage("§7No visitors currently on your island.");
             } else {
-                for (java.util.UUID visitorUuid : island.getCurrentVisitors()) {
+                for (java.util.UUID visitorUuid : present) {
                     Player visitor = Bukkit.getPlayer(visitorUuid);
                     if (visitor != null) {
                         player.sendMessage("§7- §a" + visitor.getName());
                     }
                 }
             }
-            player.sendMessage("§7Total visitors: §e" + island.getVisitorHistory().size());
+            player.sendMessage("§7Use §e/island visitors history §7to see everyone who has visited.");
+        });
+    }
+
+    private void showLevel(Player player, String[] args) {
+        boolean recalculate = args.length > 1 && args[1].equalsIgnoreCase("recalculate");
+
+        SkyblockPlayer sbPlayer = plugin.getPlayerManager().getSkyblockPlayer(player);
+        if (sbPlayer == null) return;
+
+        PlayerProfile profile = sbPlayer.getActiveProfile();
+        if (profile == null) return;
+
+        islandManager.getIsland(profile.getId()).thenAccept(island -> {
+            if (island == null) {
+                player.sendMessage("§cYou don't have an island!");
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                IslandValuation valuation = islandManager.getValuation();
+
+                // Scan once per load; block changes keep the result current after that
+                if (!recalculate && valuation.isTracked(island)) {
+                    sendLevel(player, island);
+                    return;
+                }
+                if (Bukkit.getWorld(island.getWorldName()) == null) {
+                    if (recalculate) {
+                        player.sendMessage("§cYour island must be loaded to recalculate its worth.");
+                    }
+                    sendLevel(player, island);
+                    return;
+                }
+
+                if (recalculate) {
+                    long remaining = plugin.getCooldowns().getRemainingTicks(player.getUniqueId(), "island:level");
+                    if (remaining > 0) {
+                        player.sendMessage("§cYou can recalculate again in " + TimeUtils.formatDuration(remaining * 50L) + ".");
+                        return;
+                    }
+                    long cooldown = plugin.getConfigManager().getIslandsConfig()
+                        .getLong("valuation.recalculate_cooldown_minutes", 5) * 60L * 20L;
+                    plugin.getCooldowns().set(player.getUniqueId(), "island:level", cooldown);
+                }
+
+                player.sendMessage("§7Calculating island worth...");
+                valuation.calculate(island).whenComplete((worth, ex) -> {
+                    if (ex != null) {
+                        player.sendMessage("§cCould not calculate your island's worth right now.");
+                        return;
+                    }
+                    sendLevel(player, island);
+                });
+            });
         });
     }
 
+    private void sendLevel(Player player, Island island) {
+        player.sendMessage("§6§lIsland Level: §e" + island.getLevel());
+        player.sendMessage("§7Worth: §e" + NumberUtils.format(island.getWorth()));
+    }
+
     private void togglePublic(Player player) {
         SkyblockPlayer sbPlayer = plugin.getPlayerManager().getSkyblockPlayer(player);
         if (sbPlayer == null) return;
@@ -425,7 +498,8 @@ public class IslandCommand implements CommandExecutor, TabCompleter {
         player.sendMessage("§e/island kick <player> §7- Start kick vote");
         player.sendMessage("§e/island ban <player> §7- Ban from island");
         player.sendMessage("§e/island unban <player> §7- Unban player");
-        player.sendMessage("§e/island visitors §7- List current visitors");
+        player.sendMessage("§e/island visitors [history] §7- List current or past visitors");
+        player.sendMessage("§e/island level [recalculate] §7- Show island level and worth");
         player.sendMessage("§e/island public §7- Toggle public/private");
         player.sendMessage("§e/island pvp §7- Toggle PvP");
         player.sendMessage("§e/island reset confirm §7- Reset your island");
@@ -436,7 +510,7 @@ public class IslandCommand implements CommandExecutor, TabCompleter {
         if (args.length == 1) {
             return filterByStart(Arrays.asList(
                 "home", "create", "sethome", "settings", "invite", "kick",
-                "ban", "unban", "visitors", "public", "pvp", "reset", "help"
+                "ban", "unban", "visitors", "level", "public", "pvp", "reset", "help"
             ), args[0]);
         }
 
@@ -448,6 +522,12 @@ public class IslandCommand implements CommandExecutor, TabCompleter {
             if (sub.equals("reset")) {
                 return filterByStart(List.of("confirm"), args[1]);
             }
+            if (sub.equals("visitors")) {
+                return filterByStart(List.of("history"), args[1]);
+            }
+            if (sub.equals("level")) {
+                return filterByStart(List.of("recalculate"), args[1]);
+            }
         }
 
         return List.of();
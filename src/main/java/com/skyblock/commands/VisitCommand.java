@@ -6,6 +6,7 @@ import com.skyblock.island.IslandManager;
 import com.skyblock.player.PlayerProfile;
 import com.skyblock.player.SkyblockPlayer;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -112,7 +113,7 @@ public class VisitCommand implements CommandExecutor, TabCompleter {
             }
 
             // Check guest limit
-            if (!island.canAcceptVisitors()) {
+            if (!islandManager.canAcceptVisitor(island)) {
                 visitor.sendMessage("§cThat island has reached its visitor limit!");
                 return;
             }
@@ -120,15 +121,23 @@ public class VisitCommand implements CommandExecutor, TabCompleter {
             // Teleport
             visitor.sendMessage("§aVisiting §e" + owner.getName() + "§a's island...");
 
-            plugin.getWorldManager().loadIslandWorld(island.getWorldName()).thenAccept(world -> {
-                if (world == null) {
-                    visitor.sendMessage("§cFailed to load the island!");
+            plugin.getWorldManager().loadIslandWorld(island.getWorldName(), visitor.getUniqueId()).whenComplete((world, error) -> {
+                if (plugin.getWorldManager().handleLoadFailure(visitor, world, error, "§cFailed to load the island!")) {
                     return;
                 }
 
                 Bukkit.getScheduler().runTask(plugin, () -> {
-                    visitor.teleport(island.getSpawnLocation(world));
-                    island.addVisitor(visitor.getUniqueId());
+                    Location spawn = island.getSpawnLocation(world);
+                    plugin.getWorldManager().getPrefetcher().prefetch(spawn).whenComplete((ready, ex) -> {
+                        // The world may have been unloaded while its chunks were loading
+                        if (!visitor.isOnline() || plugin.getWorldManager()
+                                .handleLoadFailure(visitor, world, ex, "§cFailed to load the island!")) {
+                            return;
+                        }
+
+                        visitor.teleport(spawn);
+                        island.addVisitor(visitor.getUniqueId());
+                    });
                 });
             });
         });
@@ -137,6 +146,13 @@ public class VisitCommand implements CommandExecutor, TabCompleter {
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String label, String[] args) {
         if (args.length == 1) {
+            // A full name typed is a visit about to happen
+            Player owner = Bukkit.getPlayerExact(args[0]);
+            if (sender instanceof Player visitor && owner != null && !owner.equals(visitor)
+                    && plugin.getModuleManager().isModuleEnabled("islands")) {
+                islandManager.prefetchVisit(visitor, owner);
+            }
+
             // Return online players with public islands
             List<String> suggestions = new ArrayList<>();
             for (Player player : Bukkit.getOnlinePlayers()) {
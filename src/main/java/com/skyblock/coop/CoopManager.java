@@ -3,6 +3,7 @@ package com.skyblock.coop;
 import com.skyblock.SkyblockPlugin;
 import com.skyblock.island.Island;
 import com.skyblock.island.IslandRole;
+import com.skyblock.utils.TimingWheel;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
@@ -27,6 +28,10 @@ public class CoopManager {
     // Active kick votes: island ID -> KickVote
     private final Map<UUID, KickVote> activeKickVotes;
 
+    // Expiry timers for the above, keyed the same way
+    private final Map<UUID, TimingWheel.Timer> inviteTimers;
+    private final Map<UUID, TimingWheel.Timer> kickVoteTimers;
+
     // Configuration
     private final int inviteExpireMinutes;
     private final int kickVoteExpireMinutes;
@@ -37,6 +42,8 @@ public class CoopManager {
         this.plugin = plugin;
         this.pendingInvites = new ConcurrentHashMap<>();
         this.activeKickVotes = new ConcurrentHashMap<>();
+        this.inviteTimers = new ConcurrentHashMap<>();
+        this.kickVoteTimers = new ConcurrentHashMap<>();
 
         // Load config
         inviteExpireMinutes = plugin.getConfigManager().getIslandsConfig()
@@ -47,9 +54,6 @@ public class CoopManager {
             .getInt("coop.max_members_default", 5);
         maxMembersUpgraded = plugin.getConfigManager().getIslandsConfig()
             .getInt("coop.max_members_upgraded", 8);
-
-        // Start cleanup task
-        startCleanupTask();
     }
 
     /**
@@ -80,6 +84,7 @@ public class CoopManager {
         );
 
         pendingInvites.put(inviteeUuid, invite);
+        scheduleInviteExpiry(invite);
 
         // Save to database
         saveInvite(invite);
@@ -99,7 +104,7 @@ public class CoopManager {
      * Accept a co-op invite.
      */
     public void acceptInvite(Player player) {
-        CoopInvite invite = pendingInvites.remove(player.getUniqueId());
+        CoopInvite invite = removeInvite(player.getUniqueId());
 
         if (invite == null) {
             player.sendMessage("§cYou don't have any pending invites!");
@@ -130,6 +135,9 @@ public class CoopManager {
                 island.addMember(player.getUniqueId(), IslandRole.MEMBER);
                 plugin.getIslandManager().saveIsland(island);
 
+                // They may be on the island already, as a visitor until now
+                Bukkit.getScheduler().runTask(plugin, () -> plugin.getIslandManager().onMembersChanged(island));
+
                 // Delete invite from database
                 deleteInvite(invite);
 
@@ -155,7 +163,7 @@ public class CoopManager {
      * Deny a co-op invite.
      */
     public void denyInvite(Player player) {
-        CoopInvite invite = pendingInvites.remove(player.getUniqueId());
+        CoopInvite invite = removeInvite(player.getUniqueId());
 
         if (invite == null) {
             player.sendMessage("§cYou don't have any pending invites!");
@@ -193,7 +201,7 @@ public class CoopManager {
         );
         vote.addVote(initiator.getUniqueId());
 
-        activeKickVotes.put(island.getId(), vote);
+        putKickVote(vote);
 
         // Check if vote passes immediately (only 2 members = instant kick)
         if (checkKickVote(island, vote)) {
@@ -226,7 +234,7 @@ public class CoopManager {
         }
 
         if (vote.isExpired()) {
-            activeKickVotes.remove(island.getId());
+            removeKickVote(island.getId());
             voter.sendMessage("§cThe kick vote has expired!");
             return;
         }
@@ -260,7 +268,7 @@ public class CoopManager {
         if (vote.getVoteCount() >= votesNeeded) {
             // Vote passed - kick the player
             executeKick(island, vote.getTargetUuid());
-            activeKickVotes.remove(island.getId());
+            removeKickVote(island.getId());
             return true;
         }
 
@@ -273,6 +281,7 @@ public class CoopManager {
     private void executeKick(Island island, UUID targetUuid) {
         island.removeMember(targetUuid);
         plugin.getIslandManager().saveIsland(island);
+        Bukkit.getScheduler().runTask(plugin, () -> plugin.getIslandManager().onMembersChanged(island));
 
         Player target = Bukkit.getPlayer(targetUuid);
         if (target != null) {
@@ -312,6 +321,7 @@ public class CoopManager {
 
         island.removeMember(player.getUniqueId());
         plugin.getIslandManager().saveIsland(island);
+        Bukkit.getScheduler().runTask(plugin, () -> plugin.getIslandManager().onMembersChanged(island));
 
         player.sendMessage("§cYou have left the island.");
 
@@ -376,6 +386,11 @@ public class CoopManager {
     }
 
     private int getProfileIdForIsland(UUID islandId) {
+        Island loaded = plugin.getIslandManager().getIslandById(islandId);
+        if (loaded != null) {
+            return loaded.getProfileId();
+        }
+
         try (Connection conn = plugin.getDatabaseManager().getConnection()) {
             String sql = "SELECT profile_id FROM islands WHERE id = ?";
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -392,24 +407,48 @@ public class CoopManager {
         return -1;
     }
 
-    private void startCleanupTask() {
-        // Clean up expired invites and votes every minute
-        Bukkit.getScheduler().runTaskTimerAsync(plugin, () -> {
-            long now = System.currentTimeMillis();
+    /**
+     * Expire an invite through the timing wheel instead of a periodic sweep.
+     */
+    private void scheduleInviteExpiry(CoopInvite invite) {
+        long ticks = Math.max(1, invite.getTimeRemaining() / 50);
+        UUID inviteeUuid = invite.getInviteeUuid();
 
-            // Clean expired invites
-            pendingInvites.entrySet().removeIf(entry -> {
-                if (entry.getValue().isExpired()) {
-                    deleteInvite(entry.getValue());
-                    return true;
-                }
-                return false;
-            });
+        TimingWheel.Timer timer = plugin.getTimingWheel().schedule(ticks, () -> {
+            inviteTimers.remove(inviteeUuid);
+            if (pendingInvites.remove(inviteeUuid, invite)) {
+                deleteInvite(invite);
+            }
+        });
+
+        TimingWheel.Timer previous = inviteTimers.put(inviteeUuid, timer);
+        if (previous != null) previous.cancel();
+    }
+
+    private CoopInvite removeInvite(UUID inviteeUuid) {
+        TimingWheel.Timer timer = inviteTimers.remove(inviteeUuid);
+        if (timer != null) timer.cancel();
+        return pendingInvites.remove(inviteeUuid);
+    }
+
+    private void putKickVote(KickVote vote) {
+        UUID islandId = vote.getIslandId();
+        activeKickVotes.put(islandId, vote);
 
-            // Clean expired votes
-            activeKickVotes.entrySet().removeIf(entry -> entry.getValue().isExpired());
+        long ticks = Math.max(1, (vote.getExpiresAt() - System.currentTimeMillis()) / 50);
+        TimingWheel.Timer timer = plugin.getTimingWheel().schedule(ticks, () -> {
+            kickVoteTimers.remove(islandId);
+            activeKickVotes.remove(islandId, vote);
+        });
+
+        TimingWheel.Timer previous = kickVoteTimers.put(islandId, timer);
+        if (previous != null) previous.cancel();
+    }
 
-        }, 20 * 60, 20 * 60); // Every minute
+    private void removeKickVote(UUID islandId) {
+        TimingWheel.Timer timer = kickVoteTimers.remove(islandId);
+        if (timer != null) timer.cancel();
+        activeKickVotes.remove(islandId);
     }
 
     public void shutdown() {
@@ -11,6 +11,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -28,7 +31,7 @@ public class DatabaseManager {
     private boolean isMysql;
 
     // Schema version for migrations
-    private static final int SCHEMA_VERSION = 2;
+    private static final int SCHEMA_VERSION = 4;
 
     public DatabaseManager(SkyblockPlugin plugin) {
         this.plugin = plugin;
@@ -197,6 +200,30 @@ public class DatabaseManager {
                 )
             """.formatted(isMysql ? "AUTO_INCREMENT" : "AUTOINCREMENT"));
 
+            // Deferred credits (bulk payouts to profiles that were not loaded)
+            execute(conn, """
+                CREATE TABLE IF NOT EXISTS deferred_credits (
+                    id INTEGER PRIMARY KEY %s,
+                    profile_id INTEGER NOT NULL,
+                    amount DOUBLE NOT NULL,
+                    reason TEXT,
+                    created_at BIGINT NOT NULL,
+                    FOREIGN KEY (profile_id) REFERENCES profiles(id) ON DELETE CASCADE
+                )
+            """.formatted(isMysql ? "AUTO_INCREMENT" : "AUTOINCREMENT"));
+            execute(conn, "CREATE INDEX IF NOT EXISTS idx_deferred_credits_profile ON deferred_credits(profile_id)");
+
+            // Daily coin flow rollups per reason
+            execute(conn, """
+                CREATE TABLE IF NOT EXISTS economy_daily_rollups (
+                    day BIGINT NOT NULL,
+                    reason VARCHAR(64) NOT NULL,
+                    created DOUBLE DEFAULT 0,
+                    destroyed DOUBLE DEFAULT 0,
+                    PRIMARY KEY (day, reason)
+                )
+            """);
+
             // =====================================================
             // PHASE 2 TABLES (Create structure but don't use yet)
             // =====================================================
@@ -428,10 +455,21 @@ public class DatabaseManager {
                     is_public BOOLEAN DEFAULT FALSE,
                     pvp_enabled BOOLEAN DEFAULT FALSE,
                     guest_limit INT DEFAULT 5,
+                    worth DOUBLE DEFAULT 0,
+                    level INT DEFAULT 0,
                     FOREIGN KEY (profile_id) REFERENCES profiles(id) ON DELETE CASCADE
                 )
             """);
 
+            // Island worlds in the native format (when stored in the database)
+            execute(conn, """
+                CREATE TABLE IF NOT EXISTS island_worlds (
+                    world_name VARCHAR(64) PRIMARY KEY,
+                    data LONGBLOB NOT NULL,
+                    updated_at BIGINT NOT NULL
+                )
+            """);
+
             // Island members table (for co-op)
             execute(conn, """
                 CREATE TABLE IF NOT EXISTS island_members (
@@ -623,14 +661,46 @@ public class DatabaseManager {
         if (currentVersion < SCHEMA_VERSION) {
             plugin.log(Level.INFO, "Running database migrations from v" + currentVersion + " to v" + SCHEMA_VERSION);
 
-            // Add migration logic here as needed
-            // Example:
-            // if (currentVersion < 2) { migrateToV2(); }
+            if (currentVersion < 3) {
+                migrateToV3();
+            }
+            if (currentVersion < 4) {
+                migrateToV4();
+            }
 
             setSchemaVersion(SCHEMA_VERSION);
         }
     }
 
+    /**
+     * v3: lazy bank interest accrual timestamp on profiles.
+     */
+    private void migrateToV3() throws SQLException {
+        try (Connection conn = getConnection()) {
+            addColumnIfMissing(conn, "profiles", "bank_interest_at", "BIGINT DEFAULT 0");
+        }
+    }
+
+    /**
+     * v4: island worth and level.
+     */
+    private void migrateToV4() throws SQLException {
+        try (Connection conn = getConnection()) {
+            addColumnIfMissing(conn, "islands", "worth", "DOUBLE DEFAULT 0");
+            addColumnIfMissing(conn, "islands", "level", "INT DEFAULT 0");
+        }
+    }
+
+    /**
+     * Add a column to an existing table unless it is already present.
+     */
+    private void addColumnIfMissing(Connection conn, String table, String column, String definition) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(null, null, table, column)) {
+            if (rs.next()) return;
+        }
+        execute(conn, "ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+    }
+
     private int getCurrentSchemaVersion() {
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement("SELECT version FROM schema_version ORDER BY version DESC LIMIT 1");
@@ -661,6 +731,88 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Build an insert-or-update statement for the active dialect.
+     * Parameters are bound in order: key columns, then value columns.
+     */
+    public String upsertSql(String table, List<String> keyColumns, List<String> valueColumns) {
+        return upsertSql(table, keyColumns, Collections.emptyList(), valueColumns);
+    }
+
+    /**
+     * Build an insert-or-update statement where some columns are only written
+     * when the row is first inserted (e.g. creation timestamps).
+     * Parameters are bound in order: key columns, insert-only columns, then value columns.
+     */
+    public String upsertSql(String table, List<String> keyColumns, List<String> insertOnlyColumns,
+                            List<String> valueColumns) {
+        List<String> columns = new ArrayList<>(keyColumns);
+        columns.addAll(insertOnlyColumns);
+        columns.addAll(valueColumns);
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES (")
+                .append(String.join(", ", Collections.nCopies(columns.size(), "?"))).append(")");
+
+        List<String> assignments = new ArrayList<>();
+        if (isMysql) {
+            for (String column : valueColumns) {
+                assignments.add(column + " = VALUES(" + column + ")");
+            }
+            if (assignments.isEmpty()) {
+                // Nothing to update; a no-op assignment keeps the existing row
+                assignments.add(keyColumns.get(0) + " = " + keyColumns.get(0));
+            }
+            sql.append(" ON DUPLICATE KEY UPDATE ");
+        } else {
+            if (valueColumns.isEmpty()) {
+                return sql.append(" ON CONFLICT(").append(String.join(", ", keyColumns))
+                        .append(") DO NOTHING").toString();
+            }
+            for (String column : valueColumns) {
+                assignments.add(column + " = excluded." + column);
+            }
+            sql.append(" ON CONFLICT(").append(String.join(", ", keyColumns)).append(") DO UPDATE SET ");
+        }
+        return sql.append(String.join(", ", assignments)).toString();
+    }
+
+    /**
+     * Build an insert-or-accumulate statement: on conflict, the add columns are
+     * summed into the existing row and the max columns keep the larger value.
+     * Parameters are bound in order: key columns, add columns, then max columns.
+     */
+    public String upsertAccumulateSql(String table, List<String> keyColumns, List<String> addColumns,
+                                      List<String> maxColumns) {
+        List<String> columns = new ArrayList<>(keyColumns);
+        columns.addAll(addColumns);
+        columns.addAll(maxColumns);
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES (")
+                .append(String.join(", ", Collections.nCopies(columns.size(), "?"))).append(")");
+
+        List<String> assignments = new ArrayList<>();
+        if (isMysql) {
+            for (String column : addColumns) {
+                assignments.add(column + " = " + column + " + VALUES(" + column + ")");
+            }
+            for (String column : maxColumns) {
+                assignments.add(column + " = GREATEST(" + column + ", VALUES(" + column + "))");
+            }
+            sql.append(" ON DUPLICATE KEY UPDATE ");
+        } else {
+            for (String column : addColumns) {
+                assignments.add(column + " = " + column + " + excluded." + column);
+            }
+            for (String column : maxColumns) {
+                assignments.add(column + " = MAX(" + column + ", excluded." + column + ")");
+            }
+            sql.append(" ON CONFLICT(").append(String.join(", ", keyColumns)).append(") DO UPDATE SET ");
+        }
+        return sql.append(String.join(", ", assignments)).toString();
+    }
+
     /**
      * Get a database connection.
      */
@@ -0,0 +1,114 @@
+package com.skyblock.economy;
+
+import com.skyblock.player.PlayerProfile;
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Lazy bank interest accrual.
+ *
+ * Interest is never paid by a scheduled task. Each profile stores the time
+ * interest was last settled, and whenever the bank is read or written the
+ * owed interest for all elapsed intervals is computed in closed form.
+ */
+public class BankInterest {
+
+    private final boolean enabled;
+    private final double rate;
+    private final long intervalMillis;
+    private final double maxInterest;
+    private final double maxCoins;
+
+    public BankInterest(boolean enabled, double ratePercent, double intervalHours, double maxInterest, double maxCoins) {
+        this.enabled = enabled;
+        this.rate = Math.max(0, ratePercent) / 100.0;
+        this.intervalMillis = Math.max(1L, (long) (intervalHours * 60 * 60 * 1000));
+        this.maxInterest = maxInterest;
+        this.maxCoins = maxCoins;
+    }
+
+    /**
+     * Create from the economy section of config.yml.
+     */
+    public static BankInterest fromConfig(FileConfiguration config) {
+        return new BankInterest(
+                config.getBoolean("economy.bank.enabled", false),
+                config.getDouble("economy.bank.interest-rate", 2.0),
+                config.getDouble("economy.bank.interest-interval-hours", 31),
+                config.getDouble("economy.bank.max-interest", 250000),
+                config.getDouble("economy.max-coins", 999999999999.0)
+        );
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    /**
+     * Settle all interest owed to a profile up to the given time.
+     * Partial intervals are carried over, so repeated calls never lose time.
+     *
+     * @return The interest credited to the bank balance
+     */
+    public double accrue(PlayerProfile profile, long now) {
+        long lastAccrued = profile.getBankInterestAt();
+
+        // First access (new profile or pre-interest data) starts the clock
+        if (lastAccrued <= 0 || lastAccrued > now) {
+            profile.setBankInterestAt(now);
+            return 0;
+        }
+
+        long periods = (now - lastAccrued) / intervalMillis;
+        if (periods <= 0) return 0;
+
+        // Interest only runs while the bank is enabled; no back-pay for disabled time
+        if (!enabled) {
+            profile.setBankInterestAt(now);
+            return 0;
+        }
+
+        double before = profile.getBankBalance();
+        double after = balanceAfter(before, periods);
+
+        profile.setBankBalance(after);
+        profile.setBankInterestAt(lastAccrued + periods * intervalMillis);
+        return after - before;
+    }
+
+    /**
+     * Balance after a number of compounding periods.
+     *
+     * Each payout is min(balance * rate, maxInterest). While the balance is
+     * below maxInterest / rate the payout compounds geometrically; once it
+     * crosses that threshold every further payout is the flat cap.
+     */
+    public double balanceAfter(double balance, long periods) {
+        if (balance <= 0 || rate <= 0 || periods <= 0) return balance;
+
+        double result;
+        if (maxInterest <= 0) {
+            result = balance * Math.pow(1 + rate, periods);
+        } else {
+            double threshold = maxInterest / rate;
+            if (balance >= threshold) {
+                result = balance + maxInterest * periods;
+            } else {
+                long uncapped = (long) Math.ceil(Math.log(threshold / balance) / Math.log1p(rate));
+                if (periods <= uncapped) {
+                    result = balance * Math.pow(1 + rate, periods);
+                } else {
+                    result = balance * Math.pow(1 + rate, uncapped) + maxInterest * (periods - uncapped);
+                }
+            }
+        }
+
+        if (Double.isNaN(result) || result > maxCoins) {
+            return maxCoins;
+        }
+        return result;
+    }
+}
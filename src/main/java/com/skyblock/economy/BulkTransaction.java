@@ -0,0 +1,135 @@
+package com.skyblock.economy;
+
+import com.skyblock.player.SkyblockPlayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A batch of coin credits applied in a single pass.
+ * Entries may target profiles that are not currently loaded; those are
+ * stored as deferred credits and paid out when the profile next loads.
+ */
+public class BulkTransaction {
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Add a credit for an online player's active profile.
+     */
+    public BulkTransaction add(SkyblockPlayer player, double amount, String reason) {
+        if (player.getActiveProfile() == null) return this;
+        return add(player.getActiveProfile().getId(), player.getUuid(), amount, reason);
+    }
+
+    /**
+     * Add a credit for a profile by id.
+     *
+     * @param playerUuid The profile owner, or null if unknown
+     */
+    public BulkTransaction add(int profileId, UUID playerUuid, double amount, String reason) {
+        entries.add(new Entry(profileId, playerUuid, amount, reason));
+        return this;
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Total of all entries with the given status.
+     */
+    public double getTotal(Status status) {
+        double total = 0;
+        for (Entry entry : entries) {
+            if (entry.status == status) total += entry.amount;
+        }
+        return total;
+    }
+
+    /**
+     * Number of entries with the given status.
+     */
+    public int count(Status status) {
+        int count = 0;
+        for (Entry entry : entries) {
+            if (entry.status == status) count++;
+        }
+        return count;
+    }
+
+    /**
+     * A single credit in the batch.
+     */
+    public static class Entry {
+        private final int profileId;
+        private final UUID playerUuid;
+        private final String reason;
+        private double amount;
+        private boolean cancelled;
+        private Status status = Status.PENDING;
+
+        Entry(int profileId, UUID playerUuid, double amount, String reason) {
+            this.profileId = profileId;
+            this.playerUuid = playerUuid;
+            this.amount = amount;
+            this.reason = reason;
+        }
+
+        public int getProfileId() {
+            return profileId;
+        }
+
+        public UUID getPlayerUuid() {
+            return playerUuid;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public void setAmount(double amount) {
+            this.amount = amount;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        void setStatus(Status status) {
+            this.status = status;
+        }
+    }
+
+    /**
+     * Outcome of an entry once the batch has been applied.
+     */
+    public enum Status {
+        PENDING,
+        APPLIED,
+        DEFERRED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,257 @@
+package com.skyblock.economy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Incremental coin flow statistics.
+ *
+ * Every transaction updates a fixed-size ring of time buckets per reason, so
+ * recording is O(1) and no query ever touches the transaction log. Coins
+ * entering the economy are "created", coins leaving it are "destroyed".
+ */
+public class CoinFlowTracker {
+
+    /** Reasons beyond this limit are folded into {@link #OTHER_REASON}. */
+    private static final int MAX_REASONS = 256;
+    public static final String OTHER_REASON = "other";
+
+    private final Map<String, Flow> flows = new HashMap<>();
+    private final Flow total = new Flow();
+    private double moneySupply;
+
+    /**
+     * Record coins created (positive) or destroyed (negative).
+     */
+    public synchronized void record(String reason, double delta, long now) {
+        if (delta == 0 || Double.isNaN(delta)) return;
+
+        double created = delta > 0 ? delta : 0;
+        double destroyed = delta < 0 ? -delta : 0;
+
+        flowFor(normalizeReason(reason)).add(now, created, destroyed);
+        total.add(now, created, destroyed);
+        moneySupply += delta;
+    }
+
+    /**
+     * Set the money supply baseline, normally once on startup.
+     * Deltas recorded before seeding are kept on top of the baseline.
+     */
+    public synchronized void seedMoneySupply(double baseline) {
+        moneySupply += baseline;
+    }
+
+    /**
+     * Restore a persisted daily rollup into the day ring.
+     */
+    public synchronized void seedDay(long epochDay, String reason, double created, double destroyed) {
+        long time = epochDay * Window.MONTH.bucketMillis;
+        flowFor(normalizeReason(reason)).rings[Window.MONTH.ordinal()].add(time, created, destroyed);
+        total.rings[Window.MONTH.ordinal()].add(time, created, destroyed);
+    }
+
+    public synchronized double getMoneySupply() {
+        return moneySupply;
+    }
+
+    /**
+     * Totals across all reasons over a window.
+     */
+    public synchronized FlowTotal getTotal(Window window, long now) {
+        return total.sum(null, window, now);
+    }
+
+    /**
+     * Reasons that created the most coins over a window.
+     */
+    public synchronized List<FlowTotal> getTopSources(Window window, int limit, long now) {
+        return top(window, limit, now, Comparator.comparingDouble(FlowTotal::getCreated).reversed(), true);
+    }
+
+    /**
+     * Reasons that destroyed the most coins over a window.
+     */
+    public synchronized List<FlowTotal> getTopSinks(Window window, int limit, long now) {
+        return top(window, limit, now, Comparator.comparingDouble(FlowTotal::getDestroyed).reversed(), false);
+    }
+
+    /**
+     * Per-reason totals for a single UTC day, used for the persisted rollups.
+     */
+    public synchronized List<FlowTotal> getDay(long epochDay) {
+        List<FlowTotal> result = new ArrayList<>();
+        int ring = Window.MONTH.ordinal();
+        for (Map.Entry<String, Flow> entry : flows.entrySet()) {
+            FlowTotal day = entry.getValue().rings[ring].get(entry.getKey(), epochDay);
+            if (day != null) result.add(day);
+        }
+        return result;
+    }
+
+    private List<FlowTotal> top(Window window, int limit, long now, Comparator<FlowTotal> order, boolean sources) {
+        List<FlowTotal> result = new ArrayList<>();
+        for (Map.Entry<String, Flow> entry : flows.entrySet()) {
+            FlowTotal sum = entry.getValue().sum(entry.getKey(), window, now);
+            if (sources ? sum.created > 0 : sum.destroyed > 0) {
+                result.add(sum);
+            }
+        }
+        result.sort(order);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private Flow flowFor(String reason) {
+        Flow flow = flows.get(reason);
+        if (flow != null) return flow;
+
+        if (flows.size() >= MAX_REASONS) {
+            return flows.computeIfAbsent(OTHER_REASON, k -> new Flow());
+        }
+        flow = new Flow();
+        flows.put(reason, flow);
+        return flow;
+    }
+
+    /**
+     * Reduce a free-form reason to a stable key, e.g. "Bank interest" -> "bank_interest".
+     */
+    public static String normalizeReason(String reason) {
+        if (reason == null || reason.isBlank()) return OTHER_REASON;
+
+        String key = reason.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_");
+        key = key.replaceAll("^_+|_+$", "");
+        if (key.isEmpty()) return OTHER_REASON;
+        return key.length() > 64 ? key.substring(0, 64) : key;
+    }
+
+    /**
+     * Time windows, each backed by its own ring of buckets.
+     */
+    public enum Window {
+        /** Last 60 minutes, one bucket per minute. */
+        HOUR(60_000L, 60),
+        /** Last 24 hours, one bucket per hour. */
+        DAY(3_600_000L, 24),
+        /** Last 30 days, one bucket per UTC day. */
+        MONTH(86_400_000L, 30);
+
+        private final long bucketMillis;
+        private final int buckets;
+
+        Window(long bucketMillis, int buckets) {
+            this.bucketMillis = bucketMillis;
+            this.buckets = buckets;
+        }
+    }
+
+    /**
+     * Summed flow for a reason (or all reasons) over a window.
+     */
+    public static class FlowTotal {
+        private final String reason;
+        private final double created;
+        private final double destroyed;
+
+        FlowTotal(String reason, double created, double destroyed) {
+            this.reason = reason;
+            this.created = created;
+            this.destroyed = destroyed;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public double getCreated() {
+            return created;
+        }
+
+        public double getDestroyed() {
+            return destroyed;
+        }
+
+        public double getNet() {
+            return created - destroyed;
+        }
+    }
+
+    /**
+     * One ring per window for a single reason.
+     */
+    private static class Flow {
+        private final Ring[] rings = new Ring[Window.values().length];
+
+        Flow() {
+            for (Window window : Window.values()) {
+                rings[window.ordinal()] = new Ring(window);
+            }
+        }
+
+        void add(long now, double created, double destroyed) {
+            for (Ring ring : rings) {
+                ring.add(now, created, destroyed);
+            }
+        }
+
+        FlowTotal sum(String reason, Window window, long now) {
+            return rings[window.ordinal()].sum(reason, now);
+        }
+    }
+
+    /**
+     * Fixed-size ring of time buckets. A slot is reused once its epoch
+     * falls out of the window, so stale data never needs a sweep.
+     */
+    private static class Ring {
+        private final Window window;
+        private final long[] epochs;
+        private final double[] created;
+        private final double[] destroyed;
+
+        Ring(Window window) {
+            this.window = window;
+            this.epochs = new long[window.buckets];
+            this.created = new double[window.buckets];
+            this.destroyed = new double[window.buckets];
+            Arrays.fill(epochs, -1);
+        }
+
+        void add(long time, double c, double d) {
+            long epoch = time / window.bucketMillis;
+            int slot = (int) (epoch % window.buckets);
+            if (epochs[slot] != epoch) {
+                epochs[slot] = epoch;
+                created[slot] = 0;
+                destroyed[slot] = 0;
+            }
+            created[slot] += c;
+            destroyed[slot] += d;
+        }
+
+        FlowTotal get(String reason, long epoch) {
+            int slot = (int) (epoch % window.buckets);
+            if (epochs[slot] != epoch) return null;
+            return new FlowTotal(reason, created[slot], destroyed[slot]);
+        }
+
+        FlowTotal sum(String reason, long now) {
+            long current = now / window.bucketMillis;
+            double c = 0;
+            double d = 0;
+            for (int i = 0; i < epochs.length; i++) {
+                long age = current - epochs[i];
+                if (epochs[i] >= 0 && age >= 0 && age < window.buckets) {
+                    c += created[i];
+                    d += destroyed[i];
+                }
+            }
+            return new FlowTotal(reason, c, d);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.skyblock.economy;
 
 import com.skyblock.SkyblockPlugin;
+import com.skyblock.api.events.EconomyBulkTransactionEvent;
 import com.skyblock.api.events.EconomyTransactionEvent;
+import com.skyblock.player.PlayerProfile;
 import com.skyblock.player.SkyblockPlayer;
 import com.skyblock.utils.ColorUtils;
 import com.skyblock.utils.NumberUtils;
@@ -10,7 +12,14 @@ import org.bukkit.entity.Player;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 /**
@@ -19,9 +28,23 @@ import java.util.logging.Level;
 public class EconomyManager {
 
     private final SkyblockPlugin plugin;
+    private final CoinFlowTracker coinFlow;
+    private BankInterest bankInterest;
 
     public EconomyManager(SkyblockPlugin plugin) {
         this.plugin = plugin;
+        this.coinFlow = new CoinFlowTracker();
+        this.bankInterest = BankInterest.fromConfig(plugin.getConfigManager().getConfig());
+
+        loadCoinFlow();
+        startRollupTask();
+    }
+
+    /**
+     * Reload economy configuration.
+     */
+    public void reload() {
+        this.bankInterest = BankInterest.fromConfig(plugin.getConfigManager().getConfig());
     }
 
     /**
@@ -70,7 +93,9 @@ public class EconomyManager {
 
         if (event.isCancelled()) return false;
 
+        double before = sbPlayer.getPurse();
         sbPlayer.addCoins(event.getAmount());
+        recordCoinFlow(reason, sbPlayer.getPurse() - before);
 
         // Log transaction
         logTransaction(sbPlayer, event.getAmount(), "RECEIVE", reason);
@@ -119,6 +144,7 @@ public class EconomyManager {
         if (event.isCancelled()) return false;
 
         if (!sbPlayer.removeCoins(event.getAmount())) return false;
+        recordCoinFlow(reason, -event.getAmount());
 
         // Log transaction
         logTransaction(sbPlayer, -event.getAmount(), "SPEND", reason);
@@ -143,7 +169,9 @@ public class EconomyManager {
         double maxCoins = plugin.getConfigManager().getConfig().getDouble("economy.max-coins", 999999999999.0);
         amount = Math.max(0, Math.min(amount, maxCoins));
 
+        double before = sbPlayer.getPurse();
         sbPlayer.setPurse(amount);
+        recordCoinFlow("Admin set", amount - before);
     }
 
     /**
@@ -160,20 +188,405 @@ public class EconomyManager {
         return false;
     }
 
+    /**
+     * Credit many profiles in one pass.
+     *
+     * Fires a single {@link EconomyBulkTransactionEvent} instead of one event per
+     * player. Entries for loaded profiles are paid into the purse immediately;
+     * the rest are stored as deferred credits and paid when the profile loads.
+     * The journal rows and deferred credits are written in one batched update.
+     * Must be called on the main thread.
+     *
+     * @return A future that completes once the batch has been persisted
+     */
+    public CompletableFuture<Void> addCoinsBulk(BulkTransaction transaction, boolean sendMessage) {
+        if (transaction.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        EconomyBulkTransactionEvent event = new EconomyBulkTransactionEvent(transaction);
+        Bukkit.getPluginManager().callEvent(event);
+
+        // Index loaded profiles once rather than per entry
+        Map<Integer, SkyblockPlayer> loaded = new HashMap<>();
+        for (Player online : Bukkit.getOnlinePlayers()) {
+            SkyblockPlayer sbPlayer = plugin.getPlayerManager().getPlayer(online);
+            if (sbPlayer != null && sbPlayer.getActiveProfile() != null) {
+                loaded.put(sbPlayer.getActiveProfile().getId(), sbPlayer);
+            }
+        }
+
+        List<BulkTransaction.Entry> journal = new ArrayList<>();
+        List<BulkTransaction.Entry> deferred = new ArrayList<>();
+
+        for (BulkTransaction.Entry entry : transaction.getEntries()) {
+            if (event.isCancelled() || entry.isCancelled() || entry.getAmount() <= 0) {
+                entry.setStatus(BulkTransaction.Status.CANCELLED);
+                continue;
+            }
+
+            SkyblockPlayer sbPlayer = loaded.get(entry.getProfileId());
+            if (sbPlayer != null) {
+                double before = sbPlayer.getPurse();
+                sbPlayer.addCoins(entry.getAmount());
+                recordCoinFlow(entry.getReason(), sbPlayer.getPurse() - before);
+                entry.setStatus(BulkTransaction.Status.APPLIED);
+
+                if (sendMessage) {
+                    Player player = sbPlayer.getBukkitPlayer();
+                    if (player != null) {
+                        String message = plugin.getConfigManager().getRawMessage("economy.receive")
+                                .replace("{amount}", NumberUtils.formatCoins(entry.getAmount()));
+                        player.sendMessage(ColorUtils.colorize(message));
+                    }
+                }
+            } else {
+                recordCoinFlow(entry.getReason(), entry.getAmount());
+                entry.setStatus(BulkTransaction.Status.DEFERRED);
+                deferred.add(entry);
+            }
+            journal.add(entry);
+        }
+
+        if (journal.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        long timestamp = System.currentTimeMillis();
+
+        return plugin.getDatabaseManager().executeUpdateAsync(conn -> {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT INTO transactions (profile_id, amount, type, description, timestamp) VALUES (?, ?, ?, ?, ?)")) {
+                    for (BulkTransaction.Entry entry : journal) {
+                        stmt.setInt(1, entry.getProfileId());
+                        stmt.setDouble(2, entry.getAmount());
+                        stmt.setString(3, "RECEIVE");
+                        stmt.setString(4, entry.getReason());
+                        stmt.setLong(5, timestamp);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+
+                if (!deferred.isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "INSERT INTO deferred_credits (profile_id, amount, reason, created_at) VALUES (?, ?, ?, ?)")) {
+                        for (BulkTransaction.Entry entry : deferred) {
+                            stmt.setInt(1, entry.getProfileId());
+                            stmt.setDouble(2, entry.getAmount());
+                            stmt.setString(3, entry.getReason());
+                            stmt.setLong(4, timestamp);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }).exceptionally(ex -> {
+            plugin.log(Level.SEVERE, "Failed to persist bulk transaction of " + journal.size()
+                    + " entries: " + ex.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Pay any deferred credits owed to a profile into its purse.
+     * Runs on the database thread while the profile is being loaded; the purse
+     * update and the removal of the credits are committed together.
+     *
+     * @return The total credited
+     */
+    public double applyDeferredCredits(Connection conn, PlayerProfile profile) throws SQLException {
+        double total = 0;
+        long maxId = -1;
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT id, amount FROM deferred_credits WHERE profile_id = ?")) {
+            stmt.setInt(1, profile.getId());
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                total += rs.getDouble("amount");
+                maxId = Math.max(maxId, rs.getLong("id"));
+            }
+        }
+
+        if (maxId < 0) return 0;
+
+        double maxCoins = plugin.getConfigManager().getConfig().getDouble("economy.max-coins", 999999999999.0);
+        double newPurse = Math.min(profile.getPurse() + total, maxCoins);
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE profiles SET purse = ? WHERE id = ?")) {
+                stmt.setDouble(1, newPurse);
+                stmt.setInt(2, profile.getId());
+                stmt.executeUpdate();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "DELETE FROM deferred_credits WHERE profile_id = ? AND id <= ?")) {
+                stmt.setInt(1, profile.getId());
+                stmt.setLong(2, maxId);
+                stmt.executeUpdate();
+            }
+
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+
+        profile.setPurse(newPurse);
+        plugin.debug("Applied " + NumberUtils.formatCoins(total) + " deferred coins to profile " + profile.getId());
+        return total;
+    }
+
+    /**
+     * Record coins entering (positive) or leaving (negative) the economy.
+     * Transfers between a player's own purse and bank are not flows.
+     */
+    public void recordCoinFlow(String reason, double delta) {
+        coinFlow.record(reason, delta, System.currentTimeMillis());
+    }
+
+    /**
+     * Get the coin flow statistics.
+     */
+    public CoinFlowTracker getCoinFlow() {
+        return coinFlow;
+    }
+
+    /**
+     * Get the total coins held across all purses, banks and deferred credits.
+     */
+    public double getMoneySupply() {
+        return coinFlow.getMoneySupply();
+    }
+
+    /**
+     * Seed the money supply and restore the last 30 days of rollups.
+     * This is the only time profile balances are summed; afterwards the supply
+     * is maintained from recorded flows.
+     */
+    private void loadCoinFlow() {
+        long today = TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis());
+
+        plugin.getDatabaseManager().executeUpdateAsync(conn -> {
+            double supply = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT COALESCE(SUM(purse), 0) + COALESCE(SUM(bank_balance), 0) FROM profiles")) {
+                ResultSet rs = stmt.executeQuery();
+                if (rs.next()) supply += rs.getDouble(1);
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT COALESCE(SUM(amount), 0) FROM deferred_credits")) {
+                ResultSet rs = stmt.executeQuery();
+                if (rs.next()) supply += rs.getDouble(1);
+            }
+            coinFlow.seedMoneySupply(supply);
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT day, reason, created, destroyed FROM economy_daily_rollups WHERE day > ?")) {
+                stmt.setLong(1, today - 30);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    coinFlow.seedDay(rs.getLong("day"), rs.getString("reason"),
+                            rs.getDouble("created"), rs.getDouble("destroyed"));
+                }
+            }
+        }).exceptionally(ex -> {
+            plugin.log(Level.WARNING, "Failed to load coin flow statistics: " + ex.getMessage());
+            return null;
+        });
+    }
+
+    private void startRollupTask() {
+        long interval = plugin.getConfigManager().getConfig().getLong("economy.analytics.rollup-interval", 300) * 20;
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            try (Connection conn = plugin.getDatabaseManager().getConnection()) {
+                saveRollups(conn);
+            } catch (SQLException e) {
+                plugin.log(Level.WARNING, "Failed to save economy rollups: " + e.getMessage());
+            }
+        }, interval, interval);
+    }
+
+    /**
+     * Write today's and yesterday's per-reason totals. Rows hold absolute
+     * values, so repeated writes are idempotent.
+     */
+    private void saveRollups(Connection conn) throws SQLException {
+        long today = TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis());
+        String sql = plugin.getDatabaseManager().upsertSql("economy_daily_rollups",
+                List.of("day", "reason"), List.of("created", "destroyed"));
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (long day = today - 1; day <= today; day++) {
+                for (CoinFlowTracker.FlowTotal flow : coinFlow.getDay(day)) {
+                    stmt.setLong(1, day);
+                    stmt.setString(2, flow.getReason());
+                    stmt.setDouble(3, flow.getCreated());
+                    stmt.setDouble(4, flow.getDestroyed());
+                    stmt.addBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Flush the coin flow rollups. Must run before the database shuts down.
+     */
+    public void shutdown() {
+        try (Connection conn = plugin.getDatabaseManager().getConnection()) {
+            saveRollups(conn);
+        } catch (SQLException e) {
+            plugin.log(Level.WARNING, "Failed to save economy rollups: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check if the bank is enabled.
+     */
+    public boolean isBankEnabled() {
+        return bankInterest.isEnabled();
+    }
+
+    /**
+     * Get a player's bank balance, settling any interest owed first.
+     */
+    public double getBankBalance(SkyblockPlayer player) {
+        if (player == null || player.getActiveProfile() == null) return 0;
+
+        PlayerProfile profile = player.getActiveProfile();
+        accrueBankInterest(profile);
+        return profile.getBankBalance();
+    }
+
+    /**
+     * Settle interest owed to a profile since it was last settled.
+     * Called whenever a profile is loaded or its bank is accessed.
+     *
+     * @return The interest credited
+     */
+    public double accrueBankInterest(PlayerProfile profile) {
+        if (profile == null) return 0;
+
+        double interest;
+        synchronized (profile) {
+            interest = bankInterest.accrue(profile, System.currentTimeMillis());
+        }
+
+        if (interest > 0) {
+            recordCoinFlow("Bank interest", interest);
+            logTransaction(profile.getId(), interest, "BANK_INTEREST", "Bank interest");
+        }
+        return interest;
+    }
+
+    /**
+     * Move coins from a player's purse into their bank.
+     */
+    public boolean depositToBank(Player player, double amount) {
+        if (amount <= 0 || !isBankEnabled()) return false;
+
+        SkyblockPlayer sbPlayer = plugin.getPlayerManager().getPlayer(player);
+        if (sbPlayer == null || sbPlayer.getActiveProfile() == null) return false;
+
+        if (!sbPlayer.hasCoins(amount)) {
+            String message = plugin.getConfigManager().getRawMessage("economy.not-enough")
+                    .replace("{required}", NumberUtils.formatCoins(amount));
+            player.sendMessage(ColorUtils.colorize(message));
+            return false;
+        }
+
+        PlayerProfile profile = sbPlayer.getActiveProfile();
+        double maxCoins = plugin.getConfigManager().getConfig().getDouble("economy.max-coins", 999999999999.0);
+
+        synchronized (profile) {
+            bankInterest.accrue(profile, System.currentTimeMillis());
+            amount = Math.min(amount, maxCoins - profile.getBankBalance());
+            if (amount <= 0) return false;
+
+            profile.setPurse(profile.getPurse() - amount);
+            profile.setBankBalance(profile.getBankBalance() + amount);
+        }
+
+        logTransaction(profile.getId(), -amount, "BANK_DEPOSIT", "Bank deposit");
+
+        String message = plugin.getConfigManager().getRawMessage("economy.transaction.deposit")
+                .replace("{amount}", NumberUtils.formatCoins(amount));
+        player.sendMessage(ColorUtils.colorize(message));
+        return true;
+    }
+
+    /**
+     * Move coins from a player's bank into their purse.
+     */
+    public boolean withdrawFromBank(Player player, double amount) {
+        if (amount <= 0 || !isBankEnabled()) return false;
+
+        SkyblockPlayer sbPlayer = plugin.getPlayerManager().getPlayer(player);
+        if (sbPlayer == null || sbPlayer.getActiveProfile() == null) return false;
+
+        PlayerProfile profile = sbPlayer.getActiveProfile();
+        double maxCoins = plugin.getConfigManager().getConfig().getDouble("economy.max-coins", 999999999999.0);
+
+        synchronized (profile) {
+            bankInterest.accrue(profile, System.currentTimeMillis());
+            if (profile.getBankBalance() < amount) {
+                String message = plugin.getConfigManager().getRawMessage("economy.not-enough")
+                        .replace("{required}", NumberUtils.formatCoins(amount));
+                player.sendMessage(ColorUtils.colorize(message));
+                return false;
+            }
+            amount = Math.min(amount, maxCoins - profile.getPurse());
+            if (amount <= 0) return false;
+
+            profile.setBankBalance(profile.getBankBalance() - amount);
+            profile.setPurse(profile.getPurse() + amount);
+        }
+
+        logTransaction(profile.getId(), amount, "BANK_WITHDRAW", "Bank withdrawal");
+
+        String message = plugin.getConfigManager().getRawMessage("economy.transaction.withdraw")
+                .replace("{amount}", NumberUtils.formatCoins(amount));
+        player.sendMessage(ColorUtils.colorize(message));
+        return true;
+    }
+
     /**
      * Log a transaction to the database.
      */
     private void logTransaction(SkyblockPlayer player, double amount, String type, String description) {
         if (player.getActiveProfile() == null) return;
+        logTransaction(player.getActiveProfile().getId(), amount, type, description);
+    }
+
+    /**
+     * Log a transaction against a profile id.
+     */
+    private void logTransaction(int profileId, double amount, String type, String description) {
+        long timestamp = System.currentTimeMillis();
 
         plugin.getDatabaseManager().executeUpdateAsync(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(
                     "INSERT INTO transactions (profile_id, amount, type, description, timestamp) VALUES (?, ?, ?, ?, ?)")) {
-                stmt.setInt(1, player.getActiveProfile().getId());
+                stmt.setInt(1, profileId);
                 stmt.setDouble(2, amount);
                 stmt.setString(3, type);
                 stmt.setString(4, description);
-                stmt.setLong(5, System.currentTimeMillis());
+                stmt.setLong(5, timestamp);
                 stmt.executeUpdate();
             }
         }).exceptionally(ex -> {
@@ -6,6 +6,8 @@ import com.skyblock.SkyblockPlugin;
 import com.skyblock.api.events.GardenUnlockEvent;
 import com.skyblock.player.PlayerProfile;
 import com.skyblock.player.SkyblockPlayer;
+import com.skyblock.world.PresenceIndex;
+import com.skyblock.world.WorldManager;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -206,9 +208,8 @@ public class GardenManager implements Listener {
                 return;
             }
 
-            plugin.getWorldManager().loadIslandWorld(island.getWorldName()).thenAccept(world -> {
-                if (world == null) {
-                    player.sendMessage("§cFailed to load garden!");
+            plugin.getWorldManager().loadIslandWorld(island.getWorldName(), player.getUniqueId()).whenComplete((world, error) -> {
+                if (plugin.getWorldManager().handleLoadFailure(player, world, error, "§cFailed to load garden!")) {
                     return;
                 }
 
@@ -473,8 +474,12 @@ public class GardenManager implements Listener {
         long intervalTicks = visitorSpawnIntervalMinutes * 60 * 20L;
 
         Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            // Spawn visitors for online players with gardens
-            for (Player player : Bukkit.getOnlinePlayers()) {
+            // Spawn visitors only for players who are in a garden right now
+            PresenceIndex presence = plugin.getIslandManager().getPresenceIndex();
+            for (UUID uuid : presence.getPlayers(WorldManager.WorldType.GARDEN)) {
+                Player player = Bukkit.getPlayer(uuid);
+                if (player == null) continue;
+
                 SkyblockPlayer sbPlayer = plugin.getPlayerManager().getSkyblockPlayer(player);
                 if (sbPlayer == null) continue;
 
@@ -484,8 +489,8 @@ public class GardenManager implements Listener {
                 Garden garden = gardenCache.getIfPresent(profile.getId());
                 if (garden == null) continue;
 
-                // Clear expired visitors
-                garden.clearExpiredVisitors();
+                // Standing in someone else's garden doesn't bring visitors to yours
+                if (!player.getWorld().getName().equals(garden.getWorldName())) continue;
 
                 // Maybe spawn a new visitor
                 if (garden.getActiveVisitors().size() < maxActiveVisitors) {
@@ -528,6 +533,10 @@ public class GardenManager implements Listener {
         );
 
         garden.addVisitor(visitor);
+
+        // Visitors leave on their own; no periodic sweep needed
+        plugin.getTimingWheel().schedule((expiresAt - System.currentTimeMillis()) / 50,
+            () -> garden.removeVisitor(visitor));
     }
 
     public void shutdown() {
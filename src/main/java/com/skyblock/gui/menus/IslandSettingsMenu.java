@@ -4,9 +4,13 @@ import com.skyblock.SkyblockPlugin;
 import com.skyblock.gui.AbstractGUI;
 import com.skyblock.gui.utils.ItemBuilder;
 import com.skyblock.island.Island;
+import com.skyblock.island.TileCategory;
+import com.skyblock.island.TileTracker;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -132,6 +136,26 @@ public class IslandSettingsMenu extends AbstractGUI {
             plugin.getGuiManager().openGUI(player, new IslandSettingsMenu(plugin, ownerUuid));
         });
 
+        // Tile Limits
+        TileTracker tiles = plugin.getIslandManager().getTileTracker();
+        List<String> tileLore = new ArrayList<>();
+        if (tiles.isReady(island)) {
+            for (TileCategory category : TileCategory.values()) {
+                int count = tiles.getCount(island, category);
+                tileLore.add("&7" + category.getDisplayName() + ": &e" + count
+                        + (tiles.hasLimit(category) ? "&7/&e" + tiles.getLimit(category) : ""));
+            }
+        } else {
+            tiles.seed(island);
+            tileLore.add("&7Counting blocks...");
+        }
+        tileLore.add("");
+        tileLore.add("&7Limits keep every island running smoothly.");
+        setItem(34, new ItemBuilder(Material.HOPPER)
+                .name("&6&lIsland Limits")
+                .lore(tileLore)
+                .build());
+
         // Set Island Spawn
         setItem(38, new ItemBuilder(Material.RED_BED)
                 .name("&b&lSet Island Spawn")
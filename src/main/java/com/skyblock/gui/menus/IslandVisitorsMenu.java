@@ -0,0 +1,94 @@
+package com.skyblock.gui.menus;
+
+import com.skyblock.SkyblockPlugin;
+import com.skyblock.gui.AbstractGUI;
+import com.skyblock.gui.utils.ItemBuilder;
+import com.skyblock.island.Island;
+import com.skyblock.island.IslandManager;
+import com.skyblock.utils.TimeUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Island visitor history, one database page at a time.
+ */
+public class IslandVisitorsMenu extends AbstractGUI {
+
+    private static final int PAGE_SIZE = 28;
+
+    private final Island island;
+    private final IslandManager.VisitorPage page;
+
+    private IslandVisitorsMenu(SkyblockPlugin plugin, Island island, IslandManager.VisitorPage page) {
+        super(plugin, "&8Island Visitors", 6);
+        this.island = island;
+        this.page = page;
+    }
+
+    /**
+     * Load a page of history and open the menu once it arrives.
+     */
+    public static void open(SkyblockPlugin plugin, Player player, Island island, int pageNumber) {
+        plugin.getIslandManager().getVisitorHistory(island, pageNumber, PAGE_SIZE).thenAccept(page ->
+            Bukkit.getScheduler().runTask(plugin, () ->
+                plugin.getGuiManager().openGUI(player, new IslandVisitorsMenu(plugin, island, page))));
+    }
+
+    @Override
+    protected void build(Player player) {
+        fillBorder(createFiller());
+
+        setItem(4, new ItemBuilder(Material.OAK_SIGN)
+                .name("&a&lIsland Visitors")
+                .lore(
+                        "&7Unique visitors: &e" + page.getTotal(),
+                        "&7Visiting now: &e" + plugin.getIslandManager().getPresenceIndex()
+                                .getVisitorCount(island.getId())
+                )
+                .build());
+
+        int slot = 10;
+        for (Map.Entry<UUID, Island.VisitorData> entry : page.getEntries().entrySet()) {
+            if (slot >= 44) break;
+            if (slot % 9 == 0) slot++;
+            if (slot % 9 == 8) slot += 2;
+
+            OfflinePlayer visitor = Bukkit.getOfflinePlayer(entry.getKey());
+            String name = visitor.getName() != null ? visitor.getName() : entry.getKey().toString();
+            Island.VisitorData data = entry.getValue();
+
+            setItem(slot, new ItemBuilder(Material.PLAYER_HEAD)
+                    .skullOwner(name)
+                    .name("&e" + name)
+                    .lore(
+                            "&7Visits: &a" + data.getVisitCount(),
+                            "&7Time spent: &a" + TimeUtils.formatDuration(data.getTotalTimeSeconds() * 1000L),
+                            "&7Last visit: &a" + TimeUtils.formatDuration(System.currentTimeMillis() - data.getLastVisit())
+                                    + " ago"
+                    )
+                    .build());
+            slot++;
+        }
+
+        if (page.getPage() > 0) {
+            setItem(48, new ItemBuilder(Material.ARROW)
+                    .name("&c← Previous Page")
+                    .lore("&7Page " + page.getPage() + "/" + page.getTotalPages())
+                    .build(), event -> open(plugin, player, island, page.getPage() - 1));
+        }
+
+        if (page.getPage() < page.getTotalPages() - 1) {
+            setItem(50, new ItemBuilder(Material.ARROW)
+                    .name("&aNext Page →")
+                    .lore("&7Page " + (page.getPage() + 2) + "/" + page.getTotalPages())
+                    .build(), event -> open(plugin, player, island, page.getPage() + 1));
+        }
+
+        setItem(49, createCloseButton(), event -> player.closeInventory());
+    }
+}
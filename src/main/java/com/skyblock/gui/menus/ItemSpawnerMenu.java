@@ -82,8 +82,7 @@ public class ItemSpawnerMenu extends AbstractGUI {
                 if (slot % 9 == 8) slot += 2;
 
                 CustomItem customItem = items.get(i);
-                ItemStack displayItem = customItem.build(
-                        new org.bukkit.NamespacedKey(plugin, CustomItem.NBT_ITEM_ID));
+                ItemStack displayItem = plugin.getItemManager().createItemStack(customItem.getId());
 
                 List<String> lore = new ArrayList<>();
                 if (displayItem.hasItemMeta() && displayItem.getItemMeta().hasLore()) {
@@ -0,0 +1,27 @@
+package com.skyblock.island;
+
+/**
+ * Block groups used by island protection rules.
+ */
+public enum BlockCategory {
+    CONTAINER("container"),
+    INTERACTABLE("interactable"),
+    REDSTONE("redstone"),
+    CROP("crop");
+
+    private final String configKey;
+    private final int bit;
+
+    BlockCategory(String configKey) {
+        this.configKey = configKey;
+        this.bit = 1 << ordinal();
+    }
+
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+}
@@ -0,0 +1,110 @@
+package com.skyblock.island;
+
+import com.skyblock.SkyblockPlugin;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+/**
+ * Block category lookup table indexed by {@link Material} ordinal.
+ *
+ * Every material is classified once when the table is built, from the
+ * built-in name rules plus any overrides in islands.yml, so a check during an
+ * event is an array read and a bit test.
+ *
+ * Overrides live under protection.block_categories, one list per category.
+ * Entries are material names and may use * as a wildcard; an entry starting
+ * with - removes matching materials instead of adding them.
+ */
+public final class BlockClassifier {
+
+    private static final Material[] MATERIALS = Material.values();
+
+    private final int[] categories;
+
+    private BlockClassifier(int[] categories) {
+        this.categories = categories;
+    }
+
+    /**
+     * Build the table from the defaults and islands.yml.
+     */
+    public static BlockClassifier load(SkyblockPlugin plugin) {
+        int[] categories = new int[MATERIALS.length];
+        for (Material material : MATERIALS) {
+            categories[material.ordinal()] = defaultCategories(material.name());
+        }
+
+        ConfigurationSection section = plugin.getConfigManager().getIslandsConfig()
+            .getConfigurationSection("protection.block_categories");
+        if (section != null) {
+            for (BlockCategory category : BlockCategory.values()) {
+                applyOverrides(plugin, categories, category, section.getStringList(category.getConfigKey()));
+            }
+        }
+
+        return new BlockClassifier(categories);
+    }
+
+    public boolean is(Material type, BlockCategory category) {
+        return (categories[type.ordinal()] & category.getBit()) != 0;
+    }
+
+    private static int defaultCategories(String name) {
+        int mask = 0;
+
+        if (name.contains("CHEST") || name.contains("BARREL") || name.contains("SHULKER") ||
+            name.equals("HOPPER") || name.equals("DROPPER") || name.equals("DISPENSER") ||
+            name.equals("FURNACE") || name.equals("BLAST_FURNACE") || name.equals("SMOKER") ||
+            name.equals("BREWING_STAND")) {
+            mask |= BlockCategory.CONTAINER.getBit();
+        }
+
+        if (name.contains("DOOR") || name.contains("GATE") || name.contains("BUTTON") ||
+            name.contains("LEVER") || name.contains("PRESSURE_PLATE") || name.equals("BELL")) {
+            mask |= BlockCategory.INTERACTABLE.getBit();
+        }
+
+        if (name.equals("REPEATER") || name.equals("COMPARATOR") || name.equals("DAYLIGHT_DETECTOR") ||
+            name.equals("NOTE_BLOCK")) {
+            mask |= BlockCategory.REDSTONE.getBit();
+        }
+
+        if (name.equals("FARMLAND") || name.equals("TURTLE_EGG")) {
+            mask |= BlockCategory.CROP.getBit();
+        }
+
+        return mask;
+    }
+
+    private static void applyOverrides(SkyblockPlugin plugin, int[] categories, BlockCategory category,
+                                       List<String> entries) {
+        for (String entry : entries) {
+            boolean remove = entry.startsWith("-");
+            String glob = (remove ? entry.substring(1) : entry).trim().toUpperCase(Locale.ROOT);
+            Pattern pattern = Pattern.compile(
+                Pattern.quote(glob).replace("*", "\\E.*\\Q"));
+
+            int matched = 0;
+            for (Material material : MATERIALS) {
+                if (!pattern.matcher(material.name()).matches()) continue;
+
+                if (remove) {
+                    categories[material.ordinal()] &= ~category.getBit();
+                } else {
+                    categories[material.ordinal()] |= category.getBit();
+                }
+                matched++;
+            }
+
+            if (matched == 0) {
+                plugin.log(Level.WARNING, "No materials match '" + entry + "' in protection.block_categories."
+                    + category.getConfigKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.skyblock.island;
+
+import com.skyblock.SkyblockPlugin;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Locale;
+import java.util.logging.Level;
+
+/**
+ * Island worth of each block, indexed by {@link Material} ordinal.
+ *
+ * Values come from valuation.block_values in islands.yml. Blocks that are not
+ * listed are worth nothing, so counting a chunk is an array read per block.
+ */
+public final class BlockValues {
+
+    private static final Material[] MATERIALS = Material.values();
+
+    private final double[] values;
+
+    private BlockValues(double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Build the table from islands.yml.
+     */
+    public static BlockValues load(SkyblockPlugin plugin) {
+        double[] values = new double[MATERIALS.length];
+
+        ConfigurationSection section = plugin.getConfigManager().getIslandsConfig()
+            .getConfigurationSection("valuation.block_values");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                Material material = Material.matchMaterial(key.toUpperCase(Locale.ROOT));
+                if (material == null || !material.isBlock()) {
+                    plugin.log(Level.WARNING, "Unknown block '" + key + "' in valuation.block_values");
+                    continue;
+                }
+                values[material.ordinal()] = section.getDouble(key);
+            }
+        }
+
+        return new BlockValues(values);
+    }
+
+    public double get(Material type) {
+        return values[type.ordinal()];
+    }
+}
@@ -0,0 +1,71 @@
+package com.skyblock.island;
+
+import org.bukkit.entity.AbstractVillager;
+import org.bukkit.entity.Ambient;
+import org.bukkit.entity.Animals;
+import org.bukkit.entity.Enemy;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Golem;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Vehicle;
+import org.bukkit.entity.WaterMob;
+
+/**
+ * Entity groups counted against island entity limits.
+ */
+public enum EntityCategory {
+    MONSTER("monster", Enemy.class),
+    ANIMAL("animal", Animals.class),
+    WATER("water", WaterMob.class),
+    AMBIENT("ambient", Ambient.class),
+    VILLAGER("villager", AbstractVillager.class),
+    GOLEM("golem", Golem.class),
+    ITEM("item", Item.class),
+    VEHICLE("vehicle", Vehicle.class);
+
+    private static final EntityType[] TYPES = EntityType.values();
+    private static final EntityCategory[] BY_TYPE = new EntityCategory[TYPES.length];
+
+    static {
+        for (EntityType type : TYPES) {
+            Class<?> entityClass = type.getEntityClass();
+            if (entityClass == null) continue;
+
+            // First match wins, so a horse (an animal and a vehicle) counts as an animal
+            for (EntityCategory category : values()) {
+                if (category.type.isAssignableFrom(entityClass)) {
+                    BY_TYPE[type.ordinal()] = category;
+                    break;
+                }
+            }
+        }
+    }
+
+    private final String configKey;
+    private final Class<?> type;
+
+    EntityCategory(String configKey, Class<?> type) {
+        this.configKey = configKey;
+        this.type = type;
+    }
+
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    /**
+     * Get the category of an entity type, or null if it is not counted.
+     */
+    public static EntityCategory of(EntityType type) {
+        return BY_TYPE[type.ordinal()];
+    }
+
+    public static EntityCategory fromKey(String key) {
+        for (EntityCategory category : values()) {
+            if (category.configKey.equalsIgnoreCase(key)) {
+                return category;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,263 @@
+package com.skyblock.island;
+
+import com.skyblock.SkyblockPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityRemoveEvent;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Live entity counts per island world, by {@link EntityCategory}.
+ *
+ * Counts follow spawn, death, remove and chunk entity load/unload events, so
+ * the world's entity list is never walked. Each tracked entity is remembered
+ * by id, which makes the events safe to overlap (an entity that spawns and is
+ * then reported again by its chunk loading is still counted once).
+ *
+ * Limits come from entities.limits in islands.yml, one tier per island size;
+ * the largest tier not above the island's size applies. Dropped items are
+ * never refused and never count toward the total limit; an item limit is kept
+ * by removing the oldest drops instead (see {@link #makeRoomForItem}).
+ * Main thread only.
+ */
+public class EntityTracker implements Listener {
+
+    private static final EntityCategory[] CATEGORIES = EntityCategory.values();
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    // Island size -> limit per category, with the total limit in the last slot
+    private final NavigableMap<Integer, int[]> tiers;
+
+    private final Map<String, Counts> worlds;
+
+    public EntityTracker(SkyblockPlugin plugin) {
+        this.tiers = loadTiers(plugin);
+        this.worlds = new HashMap<>();
+    }
+
+    private static NavigableMap<Integer, int[]> loadTiers(SkyblockPlugin plugin) {
+        NavigableMap<Integer, int[]> tiers = new TreeMap<>();
+
+        ConfigurationSection section = plugin.getConfigManager().getIslandsConfig()
+            .getConfigurationSection("entities.limits");
+        if (section == null) return tiers;
+
+        for (String sizeKey : section.getKeys(false)) {
+            ConfigurationSection tier = section.getConfigurationSection(sizeKey);
+            if (tier == null) continue;
+
+            int size;
+            try {
+                size = Integer.parseInt(sizeKey);
+            } catch (NumberFormatException e) {
+                plugin.log(Level.WARNING, "Invalid island size '" + sizeKey + "' in entities.limits");
+                continue;
+            }
+
+            int[] limits = new int[CATEGORIES.length + 1];
+            for (EntityCategory category : CATEGORIES) {
+                limits[category.ordinal()] = tier.getInt(category.getConfigKey(), UNLIMITED);
+            }
+            limits[CATEGORIES.length] = tier.getInt("total", UNLIMITED);
+            tiers.put(size, limits);
+        }
+        return tiers;
+    }
+
+    /**
+     * Check if an entity of this type may be added to an island without
+     * going over its limits. Items always may.
+     */
+    public boolean canSpawn(Island island, EntityType type) {
+        EntityCategory category = EntityCategory.of(type);
+        if (category == null || category == EntityCategory.ITEM) return true;
+
+        Counts counts = worlds.get(island.getWorldName());
+        if (counts == null) return true;
+
+        int[] limits = counts.getLimits(island.getSize());
+        int total = counts.total - counts.byCategory[EntityCategory.ITEM.ordinal()];
+        return counts.byCategory[category.ordinal()] < limits[category.ordinal()]
+            && total < limits[CATEGORIES.length];
+    }
+
+    /**
+     * Remove the island's oldest dropped items until one more fits under its
+     * item limit. Called before a new item is added, so drops are never lost
+     * to the cap while older ones lie around.
+     */
+    public void makeRoomForItem(Island island) {
+        Counts counts = worlds.get(island.getWorldName());
+        if (counts == null) return;
+
+        int limit = counts.getLimits(island.getSize())[EntityCategory.ITEM.ordinal()];
+        Iterator<UUID> oldest = counts.items.iterator();
+        while (counts.byCategory[EntityCategory.ITEM.ordinal()] >= limit && oldest.hasNext()) {
+            UUID id = oldest.next();
+            oldest.remove();
+            counts.remove(id);
+
+            Entity item = Bukkit.getEntity(id);
+            if (item != null) {
+                item.remove();
+            }
+        }
+    }
+
+    public int getCount(String worldName, EntityCategory category) {
+        Counts counts = worlds.get(worldName);
+        return counts != null ? counts.byCategory[category.ordinal()] : 0;
+    }
+
+    /**
+     * Get the number of tracked entities in a world, dropped items included.
+     */
+    public int getTotal(String worldName) {
+        Counts counts = worlds.get(worldName);
+        return counts != null ? counts.total : 0;
+    }
+
+    /**
+     * Get the island worlds with the most entities, in one category or in total.
+     */
+    public List<Map.Entry<String, Integer>> getTop(EntityCategory category, int limit) {
+        List<Map.Entry<String, Integer>> result = new ArrayList<>(worlds.size());
+        for (Map.Entry<String, Counts> entry : worlds.entrySet()) {
+            Counts counts = entry.getValue();
+            int count = category != null ? counts.byCategory[category.ordinal()] : counts.total;
+            if (count > 0) {
+                result.add(Map.entry(entry.getKey(), count));
+            }
+        }
+        result.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()));
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntitySpawn(EntitySpawnEvent event) {
+        track(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event) {
+        untrack(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveEvent event) {
+        untrack(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            track(entity);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            untrack(entity);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        worlds.remove(event.getWorld().getName());
+    }
+
+    private void track(Entity entity) {
+        EntityCategory category = EntityCategory.of(entity.getType());
+        if (category == null) return;
+
+        World world = entity.getWorld();
+        if (!world.getName().startsWith("island_")) return;
+
+        worlds.computeIfAbsent(world.getName(), k -> new Counts()).add(entity.getUniqueId(), category);
+    }
+
+    private void untrack(Entity entity) {
+        Counts counts = worlds.get(entity.getWorld().getName());
+        if (counts != null) {
+            counts.remove(entity.getUniqueId());
+        }
+    }
+
+    /**
+     * Entity counts of one island world.
+     */
+    private final class Counts {
+        final Map<UUID, EntityCategory> entities = new HashMap<>();
+        // Dropped items, oldest first
+        final LinkedHashSet<UUID> items = new LinkedHashSet<>();
+        final int[] byCategory = new int[CATEGORIES.length];
+        int total;
+
+        int limitsSize = -1;
+        int[] limits;
+
+        void add(UUID id, EntityCategory category) {
+            if (entities.putIfAbsent(id, category) == null) {
+                byCategory[category.ordinal()]++;
+                total++;
+                if (category == EntityCategory.ITEM) {
+                    items.add(id);
+                }
+            }
+        }
+
+        void remove(UUID id) {
+            EntityCategory category = entities.remove(id);
+            if (category != null) {
+                byCategory[category.ordinal()]--;
+                total--;
+                if (category == EntityCategory.ITEM) {
+                    items.remove(id);
+                }
+            }
+        }
+
+        /**
+         * Limits for the island's current size, resolved again only when it changes.
+         */
+        int[] getLimits(int size) {
+            if (size != limitsSize) {
+                Map.Entry<Integer, int[]> tier = tiers.floorEntry(size);
+                if (tier == null) tier = tiers.firstEntry();
+                limits = tier != null ? tier.getValue() : unlimited();
+                limitsSize = size;
+            }
+            return limits;
+        }
+    }
+
+    private static int[] unlimited() {
+        int[] limits = new int[CATEGORIES.length + 1];
+        Arrays.fill(limits, UNLIMITED);
+        return limits;
+    }
+}
@@ -23,12 +23,17 @@ public class Island {
 
     // Island properties
     private int size;
+    private volatile int halfSize;
     private long createdAt;
     private long lastAccessed;
     private boolean isPublic;
     private boolean pvpEnabled;
     private int guestLimit;
 
+    // Valuation, from the last scan plus block changes since
+    private double worth;
+    private int level;
+
     // Members (for co-op)
     private final Map<UUID, IslandRole> members;
 
@@ -38,9 +43,20 @@ public class Island {
     // Visitors
     private final Set<UUID> currentVisitors;
     private final Map<UUID, VisitorData> visitorHistory;
+    private int visitorHistoryLimit;
+
+    // Bans (banned player -> who banned them, if known)
+    private final Map<UUID, UUID> bannedPlayers;
+
+    // Roles, settings and bans compiled for protection checks
+    private volatile IslandPermissions permissions;
 
-    // Bans
-    private final Set<UUID> bannedPlayers;
+    // Unsaved changes, per section
+    private boolean coreDirty;
+    private final Set<UUID> dirtyMembers;
+    private final Set<String> dirtySettings;
+    private final Set<UUID> dirtyBans;
+    private final Map<UUID, VisitDelta> pendingVisits;
 
     public Island(UUID id, int profileId, String worldName) {
         this.id = id;
@@ -52,6 +68,7 @@ public class Island {
         this.spawnYaw = 0;
         this.spawnPitch = 0;
         this.size = 160;
+        this.halfSize = 80;
         this.createdAt = System.currentTimeMillis();
         this.lastAccessed = System.currentTimeMillis();
         this.isPublic = false;
@@ -60,8 +77,21 @@ public class Island {
         this.members = new HashMap<>();
         this.settings = new HashMap<>();
         this.currentVisitors = new HashSet<>();
-        this.visitorHistory = new HashMap<>();
-        this.bannedPlayers = new HashSet<>();
+        this.visitorHistoryLimit = 100;
+        // Recent visitors only, least recently seen first; older history stays in the database
+        this.visitorHistory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, VisitorData> eldest) {
+                return size() > visitorHistoryLimit;
+            }
+        };
+        this.bannedPlayers = new HashMap<>();
+        this.coreDirty = true;
+        this.dirtyMembers = new HashSet<>();
+        this.dirtySettings = new HashSet<>();
+        this.dirtyBans = new HashSet<>();
+        this.pendingVisits = new HashMap<>();
+        recompilePermissions();
     }
 
     // Getters
@@ -101,6 +131,13 @@ public class Island {
         return size;
     }
 
+    /**
+     * Get the distance from the island center (0, 0) to its edge, in blocks.
+     */
+    public int getHalfSize() {
+        return halfSize;
+    }
+
     public long getCreatedAt() {
         return createdAt;
     }
@@ -121,37 +158,59 @@ public class Island {
         return guestLimit;
     }
 
+    public double getWorth() {
+        return worth;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
     // Setters
-    public void setSpawn(double x, double y, double z, float yaw, float pitch) {
+    public synchronized void setSpawn(double x, double y, double z, float yaw, float pitch) {
         this.spawnX = x;
         this.spawnY = y;
         this.spawnZ = z;
         this.spawnYaw = yaw;
         this.spawnPitch = pitch;
+        this.coreDirty = true;
     }
 
-    public void setSize(int size) {
+    public synchronized void setSize(int size) {
         this.size = size;
+        this.halfSize = size / 2;
+        this.coreDirty = true;
     }
 
-    public void setCreatedAt(long createdAt) {
+    public synchronized void setCreatedAt(long createdAt) {
         this.createdAt = createdAt;
+        this.coreDirty = true;
     }
 
-    public void setLastAccessed(long lastAccessed) {
+    public synchronized void setLastAccessed(long lastAccessed) {
         this.lastAccessed = lastAccessed;
+        this.coreDirty = true;
     }
 
-    public void setPublic(boolean isPublic) {
+    public synchronized void setPublic(boolean isPublic) {
         this.isPublic = isPublic;
+        this.coreDirty = true;
     }
 
-    public void setPvpEnabled(boolean pvpEnabled) {
+    public synchronized void setPvpEnabled(boolean pvpEnabled) {
         this.pvpEnabled = pvpEnabled;
+        this.coreDirty = true;
     }
 
-    public void setGuestLimit(int guestLimit) {
+    public synchronized void setGuestLimit(int guestLimit) {
         this.guestLimit = guestLimit;
+        this.coreDirty = true;
+    }
+
+    public synchronized void setWorth(double worth, int level) {
+        this.worth = worth;
+        this.level = level;
+        this.coreDirty = true;
     }
 
     /**
@@ -164,8 +223,9 @@ public class Island {
     /**
      * Update last access time.
      */
-    public void updateLastAccess() {
+    public synchronized void updateLastAccess() {
         this.lastAccessed = System.currentTimeMillis();
+        this.coreDirty = true;
     }
 
     // Member management
@@ -173,16 +233,20 @@ public class Island {
         return Collections.unmodifiableMap(members);
     }
 
-    public void addMember(UUID playerUuid, IslandRole role) {
+    public synchronized void addMember(UUID playerUuid, IslandRole role) {
         members.put(playerUuid, role);
+        dirtyMembers.add(playerUuid);
+        recompilePermissions();
     }
 
-    public void removeMember(UUID playerUuid) {
+    public synchronized void removeMember(UUID playerUuid) {
         members.remove(playerUuid);
+        dirtyMembers.add(playerUuid);
+        recompilePermissions();
     }
 
     public IslandRole getMemberRole(UUID playerUuid) {
-        return members.get(playerUuid);
+        return permissions.getRole(playerUuid);
     }
 
     public boolean isMember(UUID playerUuid) {
@@ -190,16 +254,11 @@ public class Island {
     }
 
     public boolean isOwner(UUID playerUuid) {
-        return members.get(playerUuid) == IslandRole.OWNER;
+        return permissions.getRole(playerUuid) == IslandRole.OWNER;
     }
 
     public UUID getOwner() {
-        for (Map.Entry<UUID, IslandRole> entry : members.entrySet()) {
-            if (entry.getValue() == IslandRole.OWNER) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        return permissions.getOwner();
     }
 
     public int getMemberCount() {
@@ -215,8 +274,16 @@ public class Island {
         return Collections.unmodifiableMap(settings);
     }
 
-    public void setSetting(String key, String value) {
+    public synchronized void setSetting(String key, String value) {
         settings.put(key, value);
+        dirtySettings.add(key);
+        recompilePermissions();
+    }
+
+    public synchronized void removeSetting(String key) {
+        settings.remove(key);
+        dirtySettings.add(key);
+        recompilePermissions();
     }
 
     public String getSetting(String key) {
@@ -227,6 +294,13 @@ public class Island {
         return settings.getOrDefault(key, defaultValue);
     }
 
+    /**
+     * Get a typed setting flag from the compiled permissions.
+     */
+    public boolean getFlag(IslandSetting setting) {
+        return permissions.getFlag(setting);
+    }
+
     public boolean getBooleanSetting(String key, boolean defaultValue) {
         String value = settings.get(key);
         return value != null ? Boolean.parseBoolean(value) : defaultValue;
@@ -237,12 +311,33 @@ public class Island {
         return Collections.unmodifiableSet(currentVisitors);
     }
 
-    public void addVisitor(UUID visitorUuid) {
+    public synchronized void addVisitor(UUID visitorUuid) {
         currentVisitors.add(visitorUuid);
 
-        // Update visitor history
-        VisitorData data = visitorHistory.computeIfAbsent(visitorUuid, k -> new VisitorData());
+        // Update visitor history; the lookup moves them to the newest end of the window
+        VisitorData data = visitorHistory.get(visitorUuid);
+        if (data == null) {
+            data = new VisitorData();
+            visitorHistory.put(visitorUuid, data);
+        }
         data.incrementVisit();
+
+        VisitDelta delta = pendingVisits.computeIfAbsent(visitorUuid, k -> new VisitDelta());
+        delta.visits++;
+        delta.lastVisit = data.getLastVisit();
+    }
+
+    /**
+     * Close a visitor's current session and add its time to their history.
+     */
+    public synchronized void endVisit(UUID visitorUuid, long seconds) {
+        VisitorData data = visitorHistory.get(visitorUuid);
+        if (data != null) {
+            data.addTime(seconds);
+        }
+        if (seconds > 0) {
+            pendingVisits.computeIfAbsent(visitorUuid, k -> new VisitDelta()).seconds += seconds;
+        }
     }
 
     public void removeVisitor(UUID visitorUuid) {
@@ -261,29 +356,55 @@ public class Island {
         return currentVisitors.size() < guestLimit;
     }
 
+    /**
+     * Get the most recent visitors, least recently seen first, bounded by the history limit.
+     * The full history is paged from the database by {@link IslandManager}.
+     */
     public Map<UUID, VisitorData> getVisitorHistory() {
         return Collections.unmodifiableMap(visitorHistory);
     }
 
-    public void setVisitorHistory(UUID uuid, VisitorData data) {
+    /**
+     * Add a loaded history entry. Load oldest first so the newest stay in the window.
+     */
+    public synchronized void setVisitorHistory(UUID uuid, VisitorData data) {
         visitorHistory.put(uuid, data);
     }
 
+    public synchronized void setVisitorHistoryLimit(int limit) {
+        this.visitorHistoryLimit = Math.max(1, limit);
+    }
+
+    /**
+     * Check if there are visits not yet written to the database.
+     */
+    public synchronized boolean hasPendingVisits() {
+        return !pendingVisits.isEmpty();
+    }
+
     // Ban management
     public Set<UUID> getBannedPlayers() {
-        return Collections.unmodifiableSet(bannedPlayers);
+        return Collections.unmodifiableSet(bannedPlayers.keySet());
     }
 
     public void banPlayer(UUID playerUuid) {
-        bannedPlayers.add(playerUuid);
+        banPlayer(playerUuid, null);
+    }
+
+    public synchronized void banPlayer(UUID playerUuid, UUID bannedBy) {
+        bannedPlayers.put(playerUuid, bannedBy);
+        dirtyBans.add(playerUuid);
+        recompilePermissions();
     }
 
-    public void unbanPlayer(UUID playerUuid) {
+    public synchronized void unbanPlayer(UUID playerUuid) {
         bannedPlayers.remove(playerUuid);
+        dirtyBans.add(playerUuid);
+        recompilePermissions();
     }
 
     public boolean isBanned(UUID playerUuid) {
-        return bannedPlayers.contains(playerUuid);
+        return bannedPlayers.containsKey(playerUuid);
     }
 
     /**
@@ -291,33 +412,148 @@ public class Island {
      */
     public boolean isWithinBounds(Location location) {
         if (location == null) return false;
+        return isWithinBounds(location.getBlockX(), location.getBlockZ());
+    }
 
-        int halfSize = size / 2;
-        double centerX = 0; // Islands are centered at 0,0
-        double centerZ = 0;
-
-        return location.getX() >= centerX - halfSize &&
-               location.getX() <= centerX + halfSize &&
-               location.getZ() >= centerZ - halfSize &&
-               location.getZ() <= centerZ + halfSize;
+    /**
+     * Check if a block column is within the island boundaries.
+     * Islands are centered at 0,0, so this is two comparisons.
+     */
+    public boolean isWithinBounds(int blockX, int blockZ) {
+        int half = halfSize;
+        return Math.abs(blockX) <= half && Math.abs(blockZ) <= half;
     }
 
     /**
      * Check if a player can build on this island.
      */
     public boolean canBuild(UUID playerUuid) {
-        return isMember(playerUuid);
+        return permissions.has(playerUuid, IslandPermission.BUILD);
     }
 
     /**
      * Check if a player can interact with blocks on this island.
      */
     public boolean canInteract(UUID playerUuid) {
-        // Members can always interact
-        if (isMember(playerUuid)) return true;
+        return permissions.has(playerUuid, IslandPermission.INTERACT);
+    }
+
+    /**
+     * Check if a player has a permission on this island.
+     */
+    public boolean hasPermission(UUID playerUuid, IslandPermission permission) {
+        return permissions.has(playerUuid, permission);
+    }
+
+    /**
+     * Rebuild the permission matrix after members, settings or bans changed.
+     */
+    private void recompilePermissions() {
+        this.permissions = IslandPermissions.compile(members, settings, bannedPlayers.keySet());
+    }
 
-        // Check visitor permissions
-        return getBooleanSetting("allow_visitor_interact", true);
+    // Change tracking
+    /**
+     * Check if anything changed since the last save.
+     */
+    public synchronized boolean isDirty() {
+        return coreDirty || !dirtyMembers.isEmpty() || !dirtySettings.isEmpty()
+            || !dirtyBans.isEmpty() || !pendingVisits.isEmpty();
+    }
+
+    /**
+     * Forget all pending changes, e.g. right after loading from the database.
+     */
+    public synchronized void markClean() {
+        coreDirty = false;
+        dirtyMembers.clear();
+        dirtySettings.clear();
+        dirtyBans.clear();
+        pendingVisits.clear();
+    }
+
+    /**
+     * Take a snapshot of everything changed since the last save and mark it clean.
+     * Keys that were removed appear in the delete sets.
+     */
+    synchronized Changes takeChanges() {
+        Changes changes = new Changes(coreDirty);
+        for (UUID uuid : dirtyMembers) {
+            IslandRole role = members.get(uuid);
+            if (role != null) changes.memberUpserts.put(uuid, role);
+            else changes.memberDeletes.add(uuid);
+        }
+        for (String key : dirtySettings) {
+            String value = settings.get(key);
+            if (value != null) changes.settingUpserts.put(key, value);
+            else changes.settingDeletes.add(key);
+        }
+        for (UUID uuid : dirtyBans) {
+            if (bannedPlayers.containsKey(uuid)) {
+                UUID bannedBy = bannedPlayers.get(uuid);
+                changes.banUpserts.put(uuid, bannedBy != null ? bannedBy : getOwner());
+            } else {
+                changes.banDeletes.add(uuid);
+            }
+        }
+        changes.visitorDeltas.putAll(pendingVisits);
+        markClean();
+        return changes;
+    }
+
+    /**
+     * Mark a snapshot's keys dirty again after a failed save.
+     * The current values are written next time.
+     */
+    synchronized void restoreChanges(Changes changes) {
+        coreDirty |= changes.core;
+        dirtyMembers.addAll(changes.memberUpserts.keySet());
+        dirtyMembers.addAll(changes.memberDeletes);
+        dirtySettings.addAll(changes.settingUpserts.keySet());
+        dirtySettings.addAll(changes.settingDeletes);
+        dirtyBans.addAll(changes.banUpserts.keySet());
+        dirtyBans.addAll(changes.banDeletes);
+        changes.visitorDeltas.forEach((uuid, delta) ->
+            pendingVisits.computeIfAbsent(uuid, k -> new VisitDelta()).merge(delta));
+    }
+
+    /**
+     * Rows to write for one save.
+     */
+    static final class Changes {
+        final boolean core;
+        final Map<UUID, IslandRole> memberUpserts = new HashMap<>();
+        final Set<UUID> memberDeletes = new HashSet<>();
+        final Map<String, String> settingUpserts = new HashMap<>();
+        final Set<String> settingDeletes = new HashSet<>();
+        final Map<UUID, UUID> banUpserts = new HashMap<>();
+        final Set<UUID> banDeletes = new HashSet<>();
+        final Map<UUID, VisitDelta> visitorDeltas = new HashMap<>();
+
+        Changes(boolean core) {
+            this.core = core;
+        }
+
+        boolean isEmpty() {
+            return !core && memberUpserts.isEmpty() && memberDeletes.isEmpty()
+                && settingUpserts.isEmpty() && settingDeletes.isEmpty()
+                && banUpserts.isEmpty() && banDeletes.isEmpty() && visitorDeltas.isEmpty();
+        }
+    }
+
+    /**
+     * Visits and time not yet added to a visitor's database row.
+     */
+    static final class VisitDelta {
+        int visits;
+        long seconds;
+        long lastVisit;
+
+        void merge(VisitDelta other) {
+            visits += other.visits;
+            seconds += other.seconds;
+            lastVisit = Math.max(lastVisit, other.lastVisit);
+        }
     }
 
     /**
@@ -348,6 +584,11 @@ public class Island {
             }
         }
 
+        void addTime(long seconds) {
+            totalTimeSeconds += seconds;
+            currentSessionStart = 0;
+        }
+
         public int getVisitCount() {
             return visitCount;
         }
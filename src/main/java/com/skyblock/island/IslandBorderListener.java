@@ -0,0 +1,222 @@
+package com.skyblock.island;
+
+import com.skyblock.SkyblockPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps players inside island borders.
+ *
+ * Each player on an island gets their own {@link WorldBorder} sized to that
+ * island, so the client draws the edge and stops most movement past it by
+ * itself. Moves are only looked at when the player enters a new block, and
+ * while they are in a chunk that lies well inside the island the check ends
+ * after comparing the chunk. Anyone who still ends up outside is pushed back
+ * or, if configured, damaged.
+ */
+public class IslandBorderListener implements Listener {
+
+    private final SkyblockPlugin plugin;
+    private final IslandManager islandManager;
+
+    private final boolean showWarning;
+    private final int warningDistance;
+    private final boolean damageOutside;
+
+    // Border state of every player currently on an island
+    private final Map<UUID, BorderState> states;
+
+    public IslandBorderListener(SkyblockPlugin plugin, IslandManager islandManager) {
+        this.plugin = plugin;
+        this.islandManager = islandManager;
+        this.states = new ConcurrentHashMap<>();
+
+        FileConfiguration config = plugin.getConfigManager().getIslandsConfig();
+        this.showWarning = config.getBoolean("border.show_warning", true);
+        this.warningDistance = Math.max(0, config.getInt("border.warning_distance", 10));
+        this.damageOutside = config.getBoolean("border.damage_outside", false);
+    }
+
+    /**
+     * Re-apply an island's border to everyone on it, e.g. after a size upgrade.
+     * Call from the main thread.
+     */
+    public void refresh(Island island) {
+        World world = Bukkit.getWorld(island.getWorldName());
+        if (world == null) return;
+
+        for (Player player : world.getPlayers()) {
+            apply(player, world);
+        }
+    }
+
+    /**
+     * Give a player the border of the island world they are in, or the normal
+     * world border anywhere else.
+     */
+    private void apply(Player player, World world) {
+        Island island = islandManager.getIslandByWorld(world.getName());
+        if (island == null) {
+            if (states.remove(player.getUniqueId()) != null) {
+                player.setWorldBorder(null);
+            }
+            return;
+        }
+
+        BorderState state = new BorderState(island, island.getHalfSize());
+        states.put(player.getUniqueId(), state);
+
+        WorldBorder border = Bukkit.createWorldBorder();
+        border.setCenter(0.5, 0.5);
+        // Covers blocks -half..half, matching Island#isWithinBounds
+        border.setSize(state.halfSize * 2 + 1);
+        border.setWarningDistance(showWarning ? warningDistance : 0);
+        border.setDamageAmount(0);
+        player.setWorldBorder(border);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location to = event.getTo();
+        if (to == null) return;
+
+        // Looking around or moving within a block changes nothing
+        Location from = event.getFrom();
+        int toX = to.getBlockX();
+        int toZ = to.getBlockZ();
+        if (toX == from.getBlockX() && toZ == from.getBlockZ()) return;
+
+        BorderState state = states.get(event.getPlayer().getUniqueId());
+        if (state == null) return;
+
+        // Deep inside the island, only chunk changes need a closer look
+        int chunkX = toX >> 4;
+        int chunkZ = toZ >> 4;
+        if (chunkX == state.chunkX && chunkZ == state.chunkZ && state.chunkSafe) return;
+        if (chunkX != state.chunkX || chunkZ != state.chunkZ) {
+            state.enterChunk(chunkX, chunkZ, warningDistance);
+            if (state.chunkSafe) return;
+        }
+
+        int distance = state.halfSize - Math.max(Math.abs(toX), Math.abs(toZ));
+        Player player = event.getPlayer();
+
+        if (distance >= 0) {
+            if (showWarning && distance <= warningDistance && !state.warned) {
+                player.sendMessage("§eYou are approaching the edge of the island.");
+            }
+            state.warned = distance <= warningDistance;
+            return;
+        }
+
+        pushBack(player, state, event);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        Location to = event.getTo();
+        if (to == null || to.getWorld() == null || !to.getWorld().equals(event.getFrom().getWorld())) return;
+
+        BorderState state = states.get(event.getPlayer().getUniqueId());
+        if (state == null) return;
+
+        // Ender pearls, chorus fruit and the like may not leave the island
+        if (!state.island.isWithinBounds(to.getBlockX(), to.getBlockZ())
+                && event.getCause() != PlayerTeleportEvent.TeleportCause.PLUGIN
+                && event.getCause() != PlayerTeleportEvent.TeleportCause.COMMAND) {
+            event.setCancelled(true);
+            event.getPlayer().sendMessage("§cYou can't leave the island boundaries!");
+        }
+    }
+
+    private void pushBack(Player player, BorderState state, PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        if (state.island.isWithinBounds(from.getBlockX(), from.getBlockZ())) {
+            event.setTo(from);
+            player.sendMessage("§cYou can't leave the island boundaries!");
+            return;
+        }
+
+        // Already outside, e.g. the island shrank or they flew past the border
+        if (damageOutside) {
+            player.damage(2.0);
+            player.sendMessage("§cYou are outside the island boundaries!");
+        } else {
+            Location spawn = state.island.getSpawnLocation(player.getWorld());
+            Bukkit.getScheduler().runTask(plugin, () -> player.teleport(spawn));
+            player.sendMessage("§cYou were outside the island boundaries!");
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        apply(event.getPlayer(), event.getPlayer().getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        apply(event.getPlayer(), event.getPlayer().getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        World world = event.getRespawnLocation().getWorld();
+        if (world != null) {
+            apply(event.getPlayer(), world);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        states.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * The island a player is on, with its size copied in when they arrived,
+     * and whether the chunk they are in is clear of the warning zone.
+     */
+    private static final class BorderState {
+        final Island island;
+        final int halfSize;
+
+        int chunkX = Integer.MIN_VALUE;
+        int chunkZ = Integer.MIN_VALUE;
+        boolean chunkSafe;
+        boolean warned;
+
+        BorderState(Island island, int halfSize) {
+            this.island = island;
+            this.halfSize = halfSize;
+        }
+
+        void enterChunk(int chunkX, int chunkZ, int warningDistance) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+
+            // Farthest block of the chunk from the center, on each axis
+            int farX = Math.max(Math.abs(chunkX << 4), Math.abs((chunkX << 4) + 15));
+            int farZ = Math.max(Math.abs(chunkZ << 4), Math.abs((chunkZ << 4) + 15));
+            chunkSafe = halfSize - Math.max(farX, farZ) > warningDistance;
+            if (chunkSafe) {
+                warned = false;
+            }
+        }
+    }
+}
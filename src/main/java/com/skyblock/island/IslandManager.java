@@ -1,12 +1,12 @@
 package com.skyblock.island;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import com.skyblock.SkyblockPlugin;
 import com.skyblock.api.events.IslandCreateEvent;
 import com.skyblock.api.events.IslandTeleportEvent;
+import com.skyblock.database.DatabaseManager;
 import com.skyblock.player.PlayerProfile;
 import com.skyblock.player.SkyblockPlayer;
+import com.skyblock.world.PresenceIndex;
 import com.skyblock.world.WorldManager;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -16,7 +16,10 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -24,7 +27,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 
 /**
@@ -32,48 +38,144 @@ import java.util.logging.Level;
  */
 public class IslandManager implements Listener {
 
+    // How long shutdown waits for island saves before the database closes
+    private static final long SHUTDOWN_SAVE_SECONDS = 10;
+
     private final SkyblockPlugin plugin;
     private final WorldManager worldManager;
 
-    // Cache for islands by profile ID
-    private final Cache<Integer, Island> islandCache;
+    // Loaded islands by profile, id, world and member
+    private final IslandRegistry registry;
+
+    // Pending saves per island, so writes for one island never overtake each other
+    private final Map<UUID, CompletableFuture<Void>> saveChains;
 
-    // Map of world name to island
-    private final Map<String, Island> worldToIsland;
+    // Final saves of evicted islands by profile, which loads of the same profile wait for
+    private final Map<Integer, CompletableFuture<Void>> evictionSaves;
 
     // Players currently on islands (tracking for visitor XP)
     private final Map<UUID, IslandVisitSession> visitSessions;
 
+    // Where every online player is, per world kind and per island
+    private final PresenceIndex presenceIndex;
+
+    // Recent visitors kept in memory per island
+    private final int visitorHistoryLimit;
+
+    // Background chunk scans shared by valuation and tile counting
+    private final IslandScanner scanner;
+
+    // Island worth and level
+    private final IslandValuation valuation;
+
+    // Hopper, furnace, chest, spawner and piston counts per island
+    private final TileTracker tileTracker;
+
+    // Live entity counts per island
+    private final EntityTracker entityTracker;
+
+    // Per-player island borders
+    private final IslandBorderListener borders;
+
     public IslandManager(SkyblockPlugin plugin, WorldManager worldManager) {
         this.plugin = plugin;
         this.worldManager = worldManager;
-        this.worldToIsland = new HashMap<>();
-        this.visitSessions = new HashMap<>();
-
-        // Initialize cache
+        this.visitSessions = new ConcurrentHashMap<>();
+        this.saveChains = new ConcurrentHashMap<>();
+        this.evictionSaves = new ConcurrentHashMap<>();
+        this.presenceIndex = new PresenceIndex();
+        this.scanner = new IslandScanner(plugin);
+        this.valuation = new IslandValuation(plugin, this, scanner);
+        this.tileTracker = new TileTracker(plugin, this, scanner);
+        this.entityTracker = new EntityTracker(plugin);
+        this.borders = new IslandBorderListener(plugin, this);
+
+        // Cost sampling reads the live counts instead of walking each world
+        worldManager.getSampler().setEntityCounter(world -> entityTracker.getTotal(world.getName()));
+        worldManager.getSampler().setTileCounter(world -> tileTracker.getTotal(world.getName()));
+
+        // Initialize registry
         int cacheSize = plugin.getConfigManager().getConfig().getInt("cache.island-data-size", 200);
         int cacheExpire = plugin.getConfigManager().getConfig().getInt("cache.island-data-expire", 30);
+        this.registry = new IslandRegistry(cacheSize, TimeUnit.MINUTES.toMillis(cacheExpire));
+
+        this.visitorHistoryLimit = plugin.getConfigManager().getIslandsConfig()
+            .getInt("visitors.max_visitor_history", 100);
+
+        startEvictionTask();
+        startVisitFlushTask();
+    }
 
-        this.islandCache = Caffeine.newBuilder()
-            .maximumSize(cacheSize)
-            .expireAfterAccess(cacheExpire, TimeUnit.MINUTES)
-            .removalListener((key, value, cause) -> {
-                if (value != null) {
-                    saveIsland((Island) value);
+    /**
+     * Write accumulated visit counts and times in one batch per island,
+     * rather than on every visit.
+     */
+    private void startVisitFlushTask() {
+        long interval = plugin.getConfigManager().getIslandsConfig()
+            .getLong("visitors.flush_interval_seconds", 60) * 20L;
+
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            for (Island island : registry.getAll()) {
+                if (island.hasPendingVisits()) {
+                    saveIsland(island);
                 }
-            })
-            .build();
+            }
+        }, interval, interval);
     }
 
     /**
-     * Create a new island for a profile.
+     * Periodically evict idle islands. Islands whose world is loaded or that
+     * have players on them stay, however long ago they were looked up.
+     */
+    private void startEvictionTask() {
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            Map<Island, CompletableFuture<Void>> saves = new HashMap<>();
+            List<Island> evicted = registry.sweep(this::isPinned, System.currentTimeMillis(), island -> {
+                // Registered before the island leaves the registry, so a lookup finds one or the other
+                CompletableFuture<Void> saved = new CompletableFuture<>();
+                evictionSaves.put(island.getProfileId(), saved);
+                saves.put(island, saved);
+            });
+            for (Island island : evicted) {
+                valuation.forget(island);
+                CompletableFuture<Void> saved = saves.get(island);
+                saveIsland(island).whenComplete((v, ex) -> {
+                    evictionSaves.remove(island.getProfileId(), saved);
+                    saved.complete(null);
+                });
+            }
+            if (!evicted.isEmpty()) {
+                plugin.debug("Evicted " + evicted.size() + " idle islands");
+            }
+        }, 1200L, 1200L);
+    }
+
+    private boolean isPinned(Island island) {
+        return worldManager.isWorldLoaded(island.getWorldName()) || presenceIndex.isOccupied(island.getId());
+    }
+
+    /**
+     * Create a new island for a profile. Safe to call from any thread.
      */
     public CompletableFuture<Island> createIsland(int profileId, UUID ownerUuid) {
-        // Generate island data
+        // Claiming a pooled world and firing the create event happen on the main thread
+        return CompletableFuture.supplyAsync(() -> startIsland(profileId, ownerUuid),
+                task -> Bukkit.getScheduler().runTask(plugin, task))
+            .thenCompose(started -> started);
+    }
+
+    /**
+     * Create a new island for a profile. Call from the main thread.
+     */
+    private CompletableFuture<Island> startIsland(int profileId, UUID ownerUuid) {
+        // Generate island data, taking a ready world from the pool when there is one
         UUID islandId = UUID.randomUUID();
-        String worldName = "island_" + islandId.toString().substring(0, 8);
+        String pooledWorld = worldManager.claimPooledWorld();
+        String worldName = pooledWorld != null ? pooledWorld : "island_" + islandId.toString().substring(0, 8);
 
         Island island = new Island(islandId, profileId, worldName);
+        island.setVisitorHistoryLimit(visitorHistoryLimit);
+        island.setSize(plugin.getConfigManager().getIslandsConfig().getInt("islands.default_size", 160));
         island.addMember(ownerUuid, IslandRole.OWNER);
         island.setCreatedAt(System.currentTimeMillis());
         island.setLastAccessed(System.currentTimeMillis());
@@ -83,10 +185,13 @@ public class IslandManager implements Listener {
         Bukkit.getPluginManager().callEvent(event);
 
         if (event.isCancelled()) {
+            if (pooledWorld != null) {
+                worldManager.releasePooledWorld(pooledWorld);
+            }
             return CompletableFuture.completedFuture(null);
         }
 
-        // Create the world
+        // Create the world, or pick up the pooled one that is already loaded
         return worldManager.createIslandWorld(worldName, ownerUuid)
             .thenApply(world -> {
                 if (world == null) {
@@ -98,11 +203,10 @@ public class IslandManager implements Listener {
                 island.setSpawn(0, 100, 0, 0, 0);
 
                 // Save to database
-                saveIslandToDatabase(island);
+                saveIsland(island);
 
                 // Cache the island
-                islandCache.put(profileId, island);
-                worldToIsland.put(worldName, island);
+                registry.add(island);
 
                 plugin.log(Level.INFO, "Created island for profile " + profileId + ": " + worldName);
                 return island;
@@ -114,26 +218,107 @@ public class IslandManager implements Listener {
      */
     public CompletableFuture<Island> getIsland(int profileId) {
         // Check cache first
-        Island cached = islandCache.getIfPresent(profileId);
+        Island cached = registry.getByProfile(profileId);
         if (cached != null) {
             return CompletableFuture.completedFuture(cached);
         }
 
         // Load from database
-        return loadIslandFromDatabase(profileId).thenApply(island -> {
-            if (island != null) {
-                islandCache.put(profileId, island);
-                worldToIsland.put(island.getWorldName(), island);
+        return loadIslandFromDatabase(profileId).thenApply(loaded -> {
+            if (loaded == null) return null;
+
+            // Another load may have won the race; keep whichever was registered first
+            Island island = registry.add(loaded);
+            if (island == loaded) {
+                // Players may already be standing in the world from before it was cached
+                Bukkit.getScheduler().runTask(plugin, () -> refreshPresence(island));
             }
             return island;
         });
     }
 
     /**
-     * Get an island by world name.
+     * Get an island by world name, if it is loaded.
      */
     public Island getIslandByWorld(String worldName) {
-        return worldToIsland.get(worldName);
+        return registry.getByWorld(worldName);
+    }
+
+    /**
+     * Get a loaded island by its id.
+     */
+    public Island getIslandById(UUID islandId) {
+        return registry.getById(islandId);
+    }
+
+    /**
+     * Get the loaded islands a player is a member of.
+     */
+    public List<Island> getLoadedIslandsOf(UUID playerUuid) {
+        return registry.getByMember(playerUuid);
+    }
+
+    /**
+     * Re-index an island after its member list changed.
+     * Call from the main thread.
+     */
+    public void onMembersChanged(Island island) {
+        registry.updateMembers(island);
+        refreshPresence(island);
+    }
+
+    /**
+     * Get the island valuation engine.
+     */
+    public IslandValuation getValuation() {
+        return valuation;
+    }
+
+    /**
+     * Get the island border enforcement.
+     */
+    public IslandBorderListener getBorders() {
+        return borders;
+    }
+
+    /**
+     * Resize an island, e.g. after an upgrade, and move the border of
+     * everyone on it. Capped at islands.max_size. Call from the main thread.
+     */
+    public void setIslandSize(Island island, int size) {
+        int maxSize = plugin.getConfigManager().getIslandsConfig().getInt("islands.max_size", 240);
+        island.setSize(Math.min(size, maxSize));
+        saveIsland(island);
+        borders.refresh(island);
+    }
+
+    /**
+     * Get the per-island tile counts.
+     */
+    public TileTracker getTileTracker() {
+        return tileTracker;
+    }
+
+    /**
+     * Get the per-island entity counts.
+     */
+    public EntityTracker getEntityTracker() {
+        return entityTracker;
+    }
+
+    /**
+     * Get the player presence index.
+     */
+    public PresenceIndex getPresenceIndex() {
+        return presenceIndex;
+    }
+
+    /**
+     * Check if an island has room for another visitor.
+     * Counts the visitors actually present rather than those who arrived by /visit.
+     */
+    public boolean canAcceptVisitor(Island island) {
+        return presenceIndex.getVisitorCount(island.getId()) < island.getGuestLimit();
     }
 
     /**
@@ -204,7 +389,7 @@ public class IslandManager implements Listener {
             }
 
             // Check guest limit
-            if (!island.canAcceptVisitors() && !island.isMember(visitor.getUniqueId())) {
+            if (!island.isMember(visitor.getUniqueId()) && !canAcceptVisitor(island)) {
                 visitor.sendMessage("§cThat island has reached its visitor limit!");
                 return;
             }
@@ -213,6 +398,40 @@ public class IslandManager implements Listener {
         });
     }
 
+    /**
+     * Start loading another player's island and its spawn chunks because a
+     * visit looks likely, e.g. their name was typed after /visit. Islands
+     * the visitor could not enter are left alone.
+     */
+    public void prefetchVisit(Player visitor, Player islandOwner) {
+        if (!worldManager.getPrefetcher().tryGuess(visitor.getUniqueId())) return;
+
+        SkyblockPlayer ownerSb = plugin.getPlayerManager().getSkyblockPlayer(islandOwner);
+        PlayerProfile ownerProfile = ownerSb != null ? ownerSb.getActiveProfile() : null;
+        if (ownerProfile == null) return;
+
+        getIsland(ownerProfile.getId()).thenAccept(island -> {
+            if (island == null) return;
+            if (!island.isMember(visitor.getUniqueId())
+                    && (!island.isPublic() || island.isBanned(visitor.getUniqueId()))) return;
+
+            prefetchIsland(visitor, island);
+        });
+    }
+
+    /**
+     * Load an island world if needed and warm the chunks around its spawn.
+     * The load is made on the player's behalf, so it is dropped if they quit.
+     */
+    private void prefetchIsland(Player player, Island island) {
+        worldManager.loadIslandWorld(island.getWorldName(), player.getUniqueId()).thenAccept(world -> {
+            if (world == null) return;
+
+            Bukkit.getScheduler().runTask(plugin, () ->
+                worldManager.getPrefetcher().prefetch(island.getSpawnLocation(world)));
+        });
+    }
+
     /**
      * Internal teleport method.
      */
@@ -227,24 +446,40 @@ public class IslandManager implements Listener {
 
         island.updateLastAccess();
 
-        worldManager.loadIslandWorld(island.getWorldName()).thenAccept(world -> {
-            if (world == null) {
-                player.sendMessage("§cFailed to load island!");
+        worldManager.loadIslandWorld(island.getWorldName(), player.getUniqueId()).whenComplete((world, error) -> {
+            if (worldManager.handleLoadFailure(player, world, error, "§cFailed to load island!")) {
                 return;
             }
 
             Bukkit.getScheduler().runTask(plugin, () -> {
                 Location spawn = island.getSpawnLocation(world);
-                player.teleport(spawn);
+                worldManager.getPrefetcher().prefetch(spawn).whenComplete((ready, ex) -> {
+                    // The world may have been unloaded while its chunks were loading
+                    if (!player.isOnline()
+                            || worldManager.handleLoadFailure(player, world, ex, "§cFailed to load island!")) {
+                        return;
+                    }
 
-                // Track visit if not owner/member
-                if (!island.isMember(player.getUniqueId())) {
-                    island.addVisitor(player.getUniqueId());
-                    startVisitSession(player.getUniqueId(), island);
+                    boolean member = island.isMember(player.getUniqueId());
 
-                    // Award social XP to island owner
-                    awardSocialXp(island.getOwner(), 5);
-                }
+                    // Re-check on the main thread, others may have arrived while the world loaded
+                    if (!member && !presenceIndex.isOnIsland(player.getUniqueId(), island.getId())
+                            && !canAcceptVisitor(island)) {
+                        player.sendMessage("§cThat island has reached its visitor limit!");
+                        return;
+                    }
+
+                    player.teleport(spawn);
+
+                    // Track visit if not owner/member
+                    if (!member) {
+                        island.addVisitor(player.getUniqueId());
+                        startVisitSession(player.getUniqueId(), island);
+
+                        // Award social XP to island owner
+                        awardSocialXp(island.getOwner(), 5);
+                    }
+                });
             });
         });
     }
@@ -298,8 +533,8 @@ public class IslandManager implements Listener {
             worldManager.deleteWorld(worldName);
 
             // Remove from cache
-            islandCache.invalidate(profileId);
-            worldToIsland.remove(worldName);
+            registry.remove(island);
+            valuation.forget(island);
 
             // Delete from database
             return deleteIslandFromDatabase(island.getId()).thenApply(success -> {
@@ -312,85 +547,175 @@ public class IslandManager implements Listener {
     }
 
     /**
-     * Save an island to the database.
+     * Save an island's pending changes to the database.
+     * Saves of the same island run one after another, and an island with no
+     * changes is skipped without touching the database.
      */
-    public void saveIsland(Island island) {
-        plugin.getDatabaseManager().executeUpdateAsync(conn -> {
-            saveIslandToDatabase(island);
+    public CompletableFuture<Void> saveIsland(Island island) {
+        if (!island.isDirty()) {
+            // Still wait for a write already in flight, so callers can read their own changes
+            CompletableFuture<Void> pending = saveChains.get(island.getId());
+            return pending != null ? pending.handle((v, e) -> null) : CompletableFuture.completedFuture(null);
+        }
+
+        return saveChains.compute(island.getId(), (id, previous) -> {
+            CompletableFuture<Void> base = previous != null
+                ? previous.handle((v, e) -> null)
+                : CompletableFuture.completedFuture(null);
+
+            CompletableFuture<Void> next = base.thenCompose(v -> {
+                // Taken when the write runs, so queued saves collapse into one
+                Island.Changes changes = island.takeChanges();
+                if (changes.isEmpty()) {
+                    return CompletableFuture.<Void>completedFuture(null);
+                }
+                return plugin.getDatabaseManager()
+                    .executeUpdateAsync(conn -> writeChanges(conn, island, changes))
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            island.restoreChanges(changes);
+                        }
+                    });
+            });
+            next.whenComplete((result, ex) -> saveChains.remove(id, next));
+            return next;
         });
     }
 
-    private void saveIslandToDatabase(Island island) {
-        try (Connection conn = plugin.getDatabaseManager().getConnection()) {
-            // Save main island data
-            String sql = """
-                INSERT OR REPLACE INTO islands
-                (id, profile_id, world_name, spawn_x, spawn_y, spawn_z, spawn_yaw, spawn_pitch,
-                 size, created_at, last_accessed, is_public, pvp_enabled, guest_limit)
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """;
-
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, island.getId().toString());
-                stmt.setInt(2, island.getProfileId());
-                stmt.setString(3, island.getWorldName());
-                stmt.setDouble(4, island.getSpawnX());
-                stmt.setDouble(5, island.getSpawnY());
-                stmt.setDouble(6, island.getSpawnZ());
-                stmt.setFloat(7, island.getSpawnYaw());
-                stmt.setFloat(8, island.getSpawnPitch());
-                stmt.setInt(9, island.getSize());
-                stmt.setLong(10, island.getCreatedAt());
-                stmt.setLong(11, island.getLastAccessed());
-                stmt.setBoolean(12, island.isPublic());
-                stmt.setBoolean(13, island.isPvpEnabled());
-                stmt.setInt(14, island.getGuestLimit());
-                stmt.executeUpdate();
+    private void writeChanges(Connection conn, Island island, Island.Changes changes) throws SQLException {
+        DatabaseManager db = plugin.getDatabaseManager();
+        String islandId = island.getId().toString();
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            if (changes.core) {
+                String sql = db.upsertSql("islands", List.of("id"), List.of(
+                    "profile_id", "world_name", "spawn_x", "spawn_y", "spawn_z", "spawn_yaw", "spawn_pitch",
+                    "size", "created_at", "last_accessed", "is_public", "pvp_enabled", "guest_limit",
+                    "worth", "level"));
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, islandId);
+                    stmt.setInt(2, island.getProfileId());
+                    stmt.setString(3, island.getWorldName());
+                    stmt.setDouble(4, island.getSpawnX());
+                    stmt.setDouble(5, island.getSpawnY());
+                    stmt.setDouble(6, island.getSpawnZ());
+                    stmt.setFloat(7, island.getSpawnYaw());
+                    stmt.setFloat(8, island.getSpawnPitch());
+                    stmt.setInt(9, island.getSize());
+                    stmt.setLong(10, island.getCreatedAt());
+                    stmt.setLong(11, island.getLastAccessed());
+                    stmt.setBoolean(12, island.isPublic());
+                    stmt.setBoolean(13, island.isPvpEnabled());
+                    stmt.setInt(14, island.getGuestLimit());
+                    stmt.setDouble(15, island.getWorth());
+                    stmt.setInt(16, island.getLevel());
+                    stmt.executeUpdate();
+                }
             }
 
-            // Save members
-            String deleteMembersSql = "DELETE FROM island_members WHERE island_id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(deleteMembersSql)) {
-                stmt.setString(1, island.getId().toString());
-                stmt.executeUpdate();
+            if (!changes.memberUpserts.isEmpty()) {
+                String sql = db.upsertSql("island_members",
+                    List.of("island_id", "player_uuid"), List.of("joined_at"), List.of("role"));
+                long now = System.currentTimeMillis();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (Map.Entry<UUID, IslandRole> entry : changes.memberUpserts.entrySet()) {
+                        stmt.setString(1, islandId);
+                        stmt.setString(2, entry.getKey().toString());
+                        stmt.setLong(3, now);
+                        stmt.setString(4, entry.getValue().name());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
             }
-
-            String insertMemberSql = "INSERT INTO island_members (island_id, player_uuid, role, joined_at) VALUES (?, ?, ?, ?)";
-            try (PreparedStatement stmt = conn.prepareStatement(insertMemberSql)) {
-                for (Map.Entry<UUID, IslandRole> entry : island.getMembers().entrySet()) {
-                    stmt.setString(1, island.getId().toString());
-                    stmt.setString(2, entry.getKey().toString());
-                    stmt.setString(3, entry.getValue().name());
-                    stmt.setLong(4, System.currentTimeMillis());
-                    stmt.addBatch();
+            deleteKeys(conn, "island_members", "player_uuid", islandId, changes.memberDeletes);
+
+            if (!changes.settingUpserts.isEmpty()) {
+                String sql = db.upsertSql("island_settings",
+                    List.of("island_id", "setting_key"), List.of("setting_value"));
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (Map.Entry<String, String> entry : changes.settingUpserts.entrySet()) {
+                        stmt.setString(1, islandId);
+                        stmt.setString(2, entry.getKey());
+                        stmt.setString(3, entry.getValue());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
                 }
-                stmt.executeBatch();
             }
-
-            // Save settings
-            String deleteSettingsSql = "DELETE FROM island_settings WHERE island_id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(deleteSettingsSql)) {
-                stmt.setString(1, island.getId().toString());
-                stmt.executeUpdate();
+            deleteKeys(conn, "island_settings", "setting_key", islandId, changes.settingDeletes);
+
+            if (!changes.banUpserts.isEmpty()) {
+                String sql = db.upsertSql("island_bans",
+                    List.of("island_id", "banned_uuid"), List.of("banned_by", "banned_at"), List.of());
+                long now = System.currentTimeMillis();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (Map.Entry<UUID, UUID> entry : changes.banUpserts.entrySet()) {
+                        stmt.setString(1, islandId);
+                        stmt.setString(2, entry.getKey().toString());
+                        stmt.setString(3, entry.getValue() != null ? entry.getValue().toString() : islandId);
+                        stmt.setLong(4, now);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
             }
-
-            String insertSettingSql = "INSERT INTO island_settings (island_id, setting_key, setting_value) VALUES (?, ?, ?)";
-            try (PreparedStatement stmt = conn.prepareStatement(insertSettingSql)) {
-                for (Map.Entry<String, String> entry : island.getSettings().entrySet()) {
-                    stmt.setString(1, island.getId().toString());
-                    stmt.setString(2, entry.getKey());
-                    stmt.setString(3, entry.getValue());
-                    stmt.addBatch();
+            deleteKeys(conn, "island_bans", "banned_uuid", islandId, changes.banDeletes);
+
+            if (!changes.visitorDeltas.isEmpty()) {
+                // Visits are added to the stored totals, so the row never has to be read first
+                String sql = db.upsertAccumulateSql("island_visitors", List.of("island_id", "visitor_uuid"),
+                    List.of("visit_count", "total_time_seconds"), List.of("last_visit"));
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (Map.Entry<UUID, Island.VisitDelta> entry : changes.visitorDeltas.entrySet()) {
+                        stmt.setString(1, islandId);
+                        stmt.setString(2, entry.getKey().toString());
+                        stmt.setInt(3, entry.getValue().visits);
+                        stmt.setLong(4, entry.getValue().seconds);
+                        stmt.setLong(5, entry.getValue().lastVisit);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
                 }
-                stmt.executeBatch();
             }
 
+            conn.commit();
         } catch (SQLException e) {
-            plugin.log(Level.SEVERE, "Failed to save island: " + e.getMessage());
+            conn.rollback();
+            plugin.log(Level.SEVERE, "Failed to save island " + islandId + ": " + e.getMessage());
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void deleteKeys(Connection conn, String table, String keyColumn, String islandId,
+                            Collection<?> keys) throws SQLException {
+        if (keys.isEmpty()) return;
+
+        String sql = "DELETE FROM " + table + " WHERE island_id = ? AND " + keyColumn + " = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (Object key : keys) {
+                stmt.setString(1, islandId);
+                stmt.setString(2, key.toString());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
         }
     }
 
+    /**
+     * Read a profile's island. If it was just evicted, the read waits until
+     * its final save is written, so it never sees the island from before.
+     */
     private CompletableFuture<Island> loadIslandFromDatabase(int profileId) {
+        CompletableFuture<Void> evicting = evictionSaves.get(profileId);
+        if (evicting != null) {
+            return evicting.thenCompose(v -> loadIslandFromDatabase(profileId));
+        }
+
         return plugin.getDatabaseManager().executeAsync(conn -> {
             String sql = "SELECT * FROM islands WHERE profile_id = ?";
 
@@ -403,6 +728,7 @@ public class IslandManager implements Listener {
                         String worldName = rs.getString("world_name");
 
                         Island island = new Island(id, profileId, worldName);
+                        island.setVisitorHistoryLimit(visitorHistoryLimit);
                         island.setSpawn(
                             rs.getDouble("spawn_x"),
                             rs.getDouble("spawn_y"),
@@ -416,6 +742,7 @@ public class IslandManager implements Listener {
                         island.setPublic(rs.getBoolean("is_public"));
                         island.setPvpEnabled(rs.getBoolean("pvp_enabled"));
                         island.setGuestLimit(rs.getInt("guest_limit"));
+                        island.setWorth(rs.getDouble("worth"), rs.getInt("level"));
 
                         // Load members
                         loadIslandMembers(conn, island);
@@ -429,6 +756,8 @@ public class IslandManager implements Listener {
                         // Load bans
                         loadIslandBans(conn, island);
 
+                        // Everything just loaded matches the database
+                        island.markClean();
                         return island;
                     }
                 }
@@ -464,9 +793,28 @@ public class IslandManager implements Listener {
     }
 
     private void loadVisitorHistory(Connection conn, Island island) throws SQLException {
-        String sql = "SELECT visitor_uuid, visit_count, total_time_seconds, last_visit FROM island_visitors WHERE island_id = ?";
+        // Only the recent window; older visitors are paged in by getVisitorHistory
+        Map<UUID, Island.VisitorData> recent = queryVisitors(conn, island, visitorHistoryLimit, 0);
+
+        List<UUID> newestFirst = new ArrayList<>(recent.keySet());
+        Collections.reverse(newestFirst);
+        for (UUID uuid : newestFirst) {
+            island.setVisitorHistory(uuid, recent.get(uuid));
+        }
+    }
+
+    private Map<UUID, Island.VisitorData> queryVisitors(Connection conn, Island island, int limit, int offset)
+            throws SQLException {
+        String sql = """
+            SELECT visitor_uuid, visit_count, total_time_seconds, last_visit FROM island_visitors
+            WHERE island_id = ? ORDER BY last_visit DESC LIMIT ? OFFSET ?
+        """;
+
+        Map<UUID, Island.VisitorData> result = new LinkedHashMap<>();
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, island.getId().toString());
+            stmt.setInt(2, limit);
+            stmt.setInt(3, offset);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     UUID uuid = UUID.fromString(rs.getString("visitor_uuid"));
@@ -474,19 +822,42 @@ public class IslandManager implements Listener {
                     data.setVisitCount(rs.getInt("visit_count"));
                     data.setTotalTimeSeconds(rs.getLong("total_time_seconds"));
                     data.setLastVisit(rs.getLong("last_visit"));
-                    island.setVisitorHistory(uuid, data);
+                    result.put(uuid, data);
                 }
             }
         }
+        return result;
+    }
+
+    /**
+     * Get one page of an island's full visitor history, most recent first.
+     * Pending visits are written before the page is read.
+     */
+    public CompletableFuture<VisitorPage> getVisitorHistory(Island island, int page, int pageSize) {
+        return saveIsland(island).thenCompose(v -> plugin.getDatabaseManager().executeAsync(conn -> {
+            int total = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT COUNT(*) FROM island_visitors WHERE island_id = ?")) {
+                stmt.setString(1, island.getId().toString());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) total = rs.getInt(1);
+                }
+            }
+
+            Map<UUID, Island.VisitorData> entries = queryVisitors(conn, island, pageSize, page * pageSize);
+            return new VisitorPage(page, pageSize, total, entries);
+        }));
     }
 
     private void loadIslandBans(Connection conn, Island island) throws SQLException {
-        String sql = "SELECT banned_uuid FROM island_bans WHERE island_id = ?";
+        String sql = "SELECT banned_uuid, banned_by FROM island_bans WHERE island_id = ?";
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, island.getId().toString());
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    island.banPlayer(UUID.fromString(rs.getString("banned_uuid")));
+                    String bannedBy = rs.getString("banned_by");
+                    island.banPlayer(UUID.fromString(rs.getString("banned_uuid")),
+                        bannedBy != null ? UUID.fromString(bannedBy) : null);
                 }
             }
         }
@@ -525,10 +896,7 @@ public class IslandManager implements Listener {
             }
 
             // Update visitor history
-            Island.VisitorData data = session.island.getVisitorHistory().get(visitorUuid);
-            if (data != null) {
-                data.endSession();
-            }
+            session.island.endVisit(visitorUuid, duration / 1000);
         }
     }
 
@@ -544,47 +912,176 @@ public class IslandManager implements Listener {
         }
     }
 
+    /**
+     * Update a player's presence for the world they are now in, and close any
+     * visit that ended by leaving an island.
+     */
+    private void updatePresence(Player player, World world) {
+        UUID uuid = player.getUniqueId();
+        String worldName = world.getName();
+        WorldManager.WorldType type = worldManager.getWorldType(worldName);
+
+        Island island = type == WorldManager.WorldType.ISLAND ? getIslandByWorld(worldName) : null;
+        UUID islandId = island != null ? island.getId() : null;
+        boolean member = island != null && island.isMember(uuid);
+
+        PresenceIndex.Presence previous = presenceIndex.update(uuid, worldName, type, islandId, member);
+        if (previous != null && previous.isVisitor() && !previous.getIslandId().equals(islandId)) {
+            leaveIsland(uuid, previous);
+        }
+    }
+
+    /**
+     * Re-resolve everyone standing in an island's world, e.g. once it is cached
+     * or after its member list changed.
+     */
+    public void refreshPresence(Island island) {
+        World world = Bukkit.getWorld(island.getWorldName());
+        if (world == null) return;
+
+        for (Player player : world.getPlayers()) {
+            updatePresence(player, world);
+        }
+    }
+
+    /**
+     * Track a player who is already online, e.g. after a reload.
+     */
+    public void refreshPresence(Player player) {
+        updatePresence(player, player.getWorld());
+    }
+
+    private void leaveIsland(UUID playerUuid, PresenceIndex.Presence previous) {
+        Island island = getIslandByWorld(previous.getWorldName());
+        if (island != null) {
+            island.removeVisitor(playerUuid);
+        }
+        endVisitSession(playerUuid);
+    }
+
     // Event handlers
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        updatePresence(event.getPlayer(), event.getPlayer().getWorld());
+
+        // A co-op member is already on the island, so it is loaded and likely the next stop
+        for (Island island : registry.getByMember(event.getPlayer().getUniqueId())) {
+            if (worldManager.isWorldLoaded(island.getWorldName())) {
+                prefetchIsland(event.getPlayer(), island);
+            }
+        }
+    }
+
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(PlayerQuitEvent event) {
-        // End any active visit session
-        endVisitSession(event.getPlayer().getUniqueId());
+        UUID uuid = event.getPlayer().getUniqueId();
+
+        // Don't keep loading islands for someone who left
+        worldManager.cancelRequests(uuid);
+        worldManager.getPrefetcher().forget(uuid);
 
-        // Remove from island visitor lists
-        for (Island island : islandCache.asMap().values()) {
-            island.removeVisitor(event.getPlayer().getUniqueId());
+        PresenceIndex.Presence previous = presenceIndex.remove(uuid);
+        if (previous != null && previous.isVisitor()) {
+            leaveIsland(uuid, previous);
+        } else {
+            endVisitSession(uuid);
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        // Index the destination straight away so guest limits see the arrival;
+        // the world change event that follows confirms it
+        Location to = event.getTo();
+        if (to == null || to.getWorld() == null || to.getWorld().equals(event.getFrom().getWorld())) return;
+
+        updatePresence(event.getPlayer(), to.getWorld());
+    }
+
     @EventHandler(priority = EventPriority.MONITOR)
     public void onWorldChange(PlayerChangedWorldEvent event) {
         Player player = event.getPlayer();
-        World from = event.getFrom();
         World to = player.getWorld();
 
-        // End session if leaving an island
-        Island fromIsland = getIslandByWorld(from.getName());
-        if (fromIsland != null && !fromIsland.isMember(player.getUniqueId())) {
-            fromIsland.removeVisitor(player.getUniqueId());
-            endVisitSession(player.getUniqueId());
-        }
+        updatePresence(player, to);
 
         // Update world access time
-        Island toIsland = getIslandByWorld(to.getName());
-        if (toIsland != null) {
+        if (presenceIndex.getIslandId(player.getUniqueId()) != null) {
             worldManager.updateWorldAccess(to.getName());
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        World world = event.getRespawnLocation().getWorld();
+        if (world != null) {
+            updatePresence(event.getPlayer(), world);
+        }
+    }
+
     public void shutdown() {
+        valuation.shutdown();
+        tileTracker.shutdown();
+        scanner.shutdown();
+
+        // End all visit sessions first, so their time is part of the final save
+        for (UUID visitor : new ArrayList<>(visitSessions.keySet())) {
+            endVisitSession(visitor);
+        }
+
         // Save all cached islands
-        for (Island island : islandCache.asMap().values()) {
+        for (Island island : registry.getAll()) {
             saveIsland(island);
         }
 
-        // End all visit sessions
-        for (UUID visitor : new ArrayList<>(visitSessions.keySet())) {
-            endVisitSession(visitor);
+        // The database closes right after this, so wait for every write still in flight
+        List<CompletableFuture<Void>> pending = new ArrayList<>(saveChains.values());
+        pending.addAll(evictionSaves.values());
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0]))
+                .get(SHUTDOWN_SAVE_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            plugin.log(Level.WARNING, "Gave up waiting for island saves after " + SHUTDOWN_SAVE_SECONDS + "s");
+        } catch (ExecutionException e) {
+            // Already logged by the failed write
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One page of visitor history.
+     */
+    public static class VisitorPage {
+        private final int page;
+        private final int pageSize;
+        private final int total;
+        private final Map<UUID, Island.VisitorData> entries;
+
+        VisitorPage(int page, int pageSize, int total, Map<UUID, Island.VisitorData> entries) {
+            this.page = page;
+            this.pageSize = pageSize;
+            this.total = total;
+            this.entries = Collections.unmodifiableMap(entries);
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getTotalPages() {
+            return Math.max(1, (total + pageSize - 1) / pageSize);
+        }
+
+        /**
+         * Visitors on this page, most recent first.
+         */
+        public Map<UUID, Island.VisitorData> getEntries() {
+            return entries;
         }
     }
 
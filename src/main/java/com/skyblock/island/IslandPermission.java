@@ -0,0 +1,21 @@
+package com.skyblock.island;
+
+/**
+ * Actions on an island that can be granted per role.
+ */
+public enum IslandPermission {
+    BUILD,
+    INTERACT,
+    CONTAINERS,
+    ENTITY_INTERACT;
+
+    private final int bit;
+
+    IslandPermission() {
+        this.bit = 1 << ordinal();
+    }
+
+    public int getBit() {
+        return bit;
+    }
+}
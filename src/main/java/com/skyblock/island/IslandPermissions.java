@@ -0,0 +1,100 @@
+package com.skyblock.island;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compiled permission matrix for one island.
+ *
+ * Each row is a bitmask of {@link IslandPermission}s: one row per
+ * {@link IslandRole}, one for visitors (built from the island settings) and an
+ * empty one for banned players. Players resolve to a row through a single map
+ * lookup, so a protection check is one lookup and one bit test. The matrix is
+ * immutable and rebuilt by the island whenever members, settings or bans change.
+ */
+final class IslandPermissions {
+
+    private static final IslandRole[] ROLES = IslandRole.values();
+    private static final int ALL = (1 << IslandPermission.values().length) - 1;
+    private static final int VISITOR_ROW = ROLES.length;
+    private static final int BANNED_ROW = VISITOR_ROW + 1;
+
+    private final int[] rows;
+    private final Map<UUID, Integer> playerRows;
+    private final long flags;
+    private final UUID owner;
+
+    private IslandPermissions(int[] rows, Map<UUID, Integer> playerRows, long flags, UUID owner) {
+        this.rows = rows;
+        this.playerRows = playerRows;
+        this.flags = flags;
+        this.owner = owner;
+    }
+
+    static IslandPermissions compile(Map<UUID, IslandRole> members, Map<String, String> settings, Set<UUID> banned) {
+        long flags = 0;
+        for (IslandSetting setting : IslandSetting.values()) {
+            String value = settings.get(setting.getKey());
+            if (value != null ? Boolean.parseBoolean(value) : setting.getDefaultValue()) {
+                flags |= setting.getBit();
+            }
+        }
+
+        int[] rows = new int[BANNED_ROW + 1];
+        for (IslandRole role : ROLES) {
+            // Every role currently has full access; the row exists so roles can diverge
+            rows[role.ordinal()] = ALL;
+        }
+
+        int visitor = 0;
+        if ((flags & IslandSetting.ALLOW_VISITOR_INTERACT.getBit()) != 0) {
+            visitor |= IslandPermission.INTERACT.getBit();
+        }
+        if ((flags & IslandSetting.ALLOW_VISITOR_CONTAINER_ACCESS.getBit()) != 0) {
+            visitor |= IslandPermission.CONTAINERS.getBit();
+        }
+        if ((flags & IslandSetting.ALLOW_VISITOR_ENTITY_INTERACT.getBit()) != 0) {
+            visitor |= IslandPermission.ENTITY_INTERACT.getBit();
+        }
+        rows[VISITOR_ROW] = visitor;
+        rows[BANNED_ROW] = 0;
+
+        Map<UUID, Integer> playerRows = new HashMap<>();
+        for (UUID uuid : banned) {
+            playerRows.put(uuid, BANNED_ROW);
+        }
+
+        UUID owner = null;
+        for (Map.Entry<UUID, IslandRole> entry : members.entrySet()) {
+            // Membership wins over a stale ban
+            playerRows.put(entry.getKey(), entry.getValue().ordinal());
+            if (entry.getValue() == IslandRole.OWNER && owner == null) {
+                owner = entry.getKey();
+            }
+        }
+
+        return new IslandPermissions(rows, playerRows, flags, owner);
+    }
+
+    boolean has(UUID playerUuid, IslandPermission permission) {
+        return (rows[playerRows.getOrDefault(playerUuid, VISITOR_ROW)] & permission.getBit()) != 0;
+    }
+
+    /**
+     * Get a player's role, or null for visitors and banned players.
+     */
+    IslandRole getRole(UUID playerUuid) {
+        Integer row = playerRows.get(playerUuid);
+        return row != null && row < VISITOR_ROW ? ROLES[row] : null;
+    }
+
+    boolean getFlag(IslandSetting setting) {
+        return (flags & setting.getBit()) != 0;
+    }
+
+    UUID getOwner() {
+        return owner;
+    }
+}
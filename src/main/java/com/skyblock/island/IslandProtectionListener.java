@@ -1,16 +1,20 @@
 package com.skyblock.island;
 
 import com.skyblock.SkyblockPlugin;
+import com.skyblock.world.PresenceIndex;
+import com.skyblock.world.WorldManager;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
 import org.bukkit.entity.Monster;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
@@ -28,10 +32,12 @@ public class IslandProtectionListener implements Listener {
 
     private final SkyblockPlugin plugin;
     private final IslandManager islandManager;
+    private final BlockClassifier blocks;
 
     public IslandProtectionListener(SkyblockPlugin plugin, IslandManager islandManager) {
         this.plugin = plugin;
         this.islandManager = islandManager;
+        this.blocks = BlockClassifier.load(plugin);
     }
 
     /**
@@ -46,12 +52,27 @@ public class IslandProtectionListener implements Listener {
         return islandManager.getIslandByWorld(worldName);
     }
 
+    /**
+     * Resolve the island for something a player did. Players almost always act in
+     * the world they stand in, so their indexed presence answers without looking
+     * at the world at all; anything else falls back to the location.
+     */
+    private Island getIslandAt(Player player, Location location) {
+        PresenceIndex.Presence presence = islandManager.getPresenceIndex().get(player.getUniqueId());
+        if (presence != null && location.getWorld() != null
+                && presence.getWorldName().equals(location.getWorld().getName())) {
+            if (presence.getType() != WorldManager.WorldType.ISLAND) return null;
+            return islandManager.getIslandByWorld(presence.getWorldName());
+        }
+        return getIslandAtLocation(location);
+    }
+
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBlockBreak(BlockBreakEvent event) {
         Player player = event.getPlayer();
         Block block = event.getBlock();
 
-        Island island = getIslandAtLocation(block.getLocation());
+        Island island = getIslandAt(player, block.getLocation());
         if (island == null) return;
 
         if (!island.canBuild(player.getUniqueId())) {
@@ -65,7 +86,7 @@ public class IslandProtectionListener implements Listener {
         Player player = event.getPlayer();
         Block block = event.getBlock();
 
-        Island island = getIslandAtLocation(block.getLocation());
+        Island island = getIslandAt(player, block.getLocation());
         if (island == null) return;
 
         if (!island.canBuild(player.getUniqueId())) {
@@ -78,6 +99,24 @@ public class IslandProtectionListener implements Listener {
             event.setCancelled(true);
             player.sendMessage("§cYou can't build outside your island boundaries!");
         }
+        if (event.isCancelled()) return;
+
+        // Check tile limits
+        TileCategory tile = TileCategory.of(block.getType());
+        if (tile != null) {
+            TileTracker tiles = islandManager.getTileTracker();
+            if (!tiles.hasLimit(tile)) return;
+
+            if (!tiles.isReady(island)) {
+                tiles.seed(island);
+                event.setCancelled(true);
+                player.sendMessage("§cThis island's blocks are still being counted, try again in a moment.");
+            } else if (tiles.getCount(island, tile) >= tiles.getLimit(tile)) {
+                event.setCancelled(true);
+                player.sendMessage("§cThis island has reached its limit of " + tiles.getLimit(tile) + " "
+                    + tile.getDisplayName().toLowerCase() + "!");
+            }
+        }
     }
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
@@ -87,23 +126,35 @@ public class IslandProtectionListener implements Listener {
         Player player = event.getPlayer();
         Block block = event.getClickedBlock();
 
-        Island island = getIslandAtLocation(block.getLocation());
+        Island island = getIslandAt(player, block.getLocation());
         if (island == null) return;
 
-        // Allow certain interactions for visitors
         Material type = block.getType();
-        boolean isInteractable = isInteractableBlock(type);
 
-        if (!island.canInteract(player.getUniqueId()) && !isInteractable) {
+        // Trampling crops counts as breaking them; other physical triggers
+        // such as tripwires go through the interaction checks below
+        if (event.getAction() == Action.PHYSICAL && blocks.is(type, BlockCategory.CROP)) {
+            if (!island.canBuild(player.getUniqueId())) {
+                event.setCancelled(true);
+            }
+            return;
+        }
+
+        // Allow certain interactions for visitors
+        if (!island.canInteract(player.getUniqueId()) && !blocks.is(type, BlockCategory.INTERACTABLE)) {
+            event.setCancelled(true);
+        }
+
+        // Changing repeaters, comparators and the like rewires the island
+        if (blocks.is(type, BlockCategory.REDSTONE) && !island.canBuild(player.getUniqueId())) {
             event.setCancelled(true);
         }
 
         // Block container access for visitors unless allowed
-        if (isContainer(type) && !island.isMember(player.getUniqueId())) {
-            if (!island.getBooleanSetting("allow_visitor_container_access", false)) {
-                event.setCancelled(true);
-                player.sendMessage("§cYou don't have permission to access containers here!");
-            }
+        if (blocks.is(type, BlockCategory.CONTAINER)
+                && !island.hasPermission(player.getUniqueId(), IslandPermission.CONTAINERS)) {
+            event.setCancelled(true);
+            player.sendMessage("§cYou don't have permission to access containers here!");
         }
     }
 
@@ -112,17 +163,15 @@ public class IslandProtectionListener implements Listener {
         Player player = event.getPlayer();
         Entity entity = event.getRightClicked();
 
-        Island island = getIslandAtLocation(entity.getLocation());
+        Island island = getIslandAt(player, entity.getLocation());
         if (island == null) return;
 
         // Block interacting with armor stands, item frames for visitors
-        if (!island.isMember(player.getUniqueId())) {
+        if (!island.hasPermission(player.getUniqueId(), IslandPermission.ENTITY_INTERACT)) {
             String entityType = entity.getType().name();
             if (entityType.equals("ARMOR_STAND") || entityType.equals("ITEM_FRAME") ||
                 entityType.equals("GLOW_ITEM_FRAME")) {
-                if (!island.getBooleanSetting("allow_visitor_entity_interact", false)) {
-                    event.setCancelled(true);
-                }
+                event.setCancelled(true);
             }
         }
     }
@@ -132,7 +181,7 @@ public class IslandProtectionListener implements Listener {
         Player player = event.getPlayer();
         Block block = event.getBlock();
 
-        Island island = getIslandAtLocation(block.getLocation());
+        Island island = getIslandAt(player, block.getLocation());
         if (island == null) return;
 
         if (!island.canBuild(player.getUniqueId())) {
@@ -146,7 +195,7 @@ public class IslandProtectionListener implements Listener {
         Player player = event.getPlayer();
         Block block = event.getBlock();
 
-        Island island = getIslandAtLocation(block.getLocation());
+        Island island = getIslandAt(player, block.getLocation());
         if (island == null) return;
 
         if (!island.canBuild(player.getUniqueId())) {
@@ -159,7 +208,7 @@ public class IslandProtectionListener implements Listener {
     public void onHangingBreak(HangingBreakByEntityEvent event) {
         if (!(event.getRemover() instanceof Player player)) return;
 
-        Island island = getIslandAtLocation(event.getEntity().getLocation());
+        Island island = getIslandAt(player, event.getEntity().getLocation());
         if (island == null) return;
 
         if (!island.canBuild(player.getUniqueId())) {
@@ -172,7 +221,7 @@ public class IslandProtectionListener implements Listener {
     public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
         // Handle PvP
         if (event.getDamager() instanceof Player attacker && event.getEntity() instanceof Player victim) {
-            Island island = getIslandAtLocation(victim.getLocation());
+            Island island = getIslandAt(victim, victim.getLocation());
             if (island != null && !island.isPvpEnabled()) {
                 event.setCancelled(true);
                 attacker.sendMessage("§cPvP is disabled on this island!");
@@ -190,40 +239,18 @@ public class IslandProtectionListener implements Listener {
 
         // Control mob spawning based on settings
         if (entity instanceof Monster) {
-            if (!island.getBooleanSetting("mob_spawning", true)) {
+            if (!island.getFlag(IslandSetting.MOB_SPAWNING)) {
                 event.setCancelled(true);
+                return;
             }
         }
-    }
 
-    /**
-     * Check if a block is interactable (doors, buttons, etc.)
-     */
-    private boolean isInteractableBlock(Material type) {
-        String name = type.name();
-        return name.contains("DOOR") ||
-               name.contains("GATE") ||
-               name.contains("BUTTON") ||
-               name.contains("LEVER") ||
-               name.contains("PRESSURE_PLATE") ||
-               name.equals("BELL") ||
-               name.contains("TRAPDOOR");
-    }
-
-    /**
-     * Check if a block is a container.
-     */
-    private boolean isContainer(Material type) {
-        String name = type.name();
-        return name.contains("CHEST") ||
-               name.contains("BARREL") ||
-               name.contains("SHULKER") ||
-               name.equals("HOPPER") ||
-               name.equals("DROPPER") ||
-               name.equals("DISPENSER") ||
-               name.equals("FURNACE") ||
-               name.equals("BLAST_FURNACE") ||
-               name.equals("SMOKER") ||
-               name.equals("BREWING_STAND");
+        // Keep each island within its entity limits
+        EntityTracker tracker = islandManager.getEntityTracker();
+        if (entity instanceof Item) {
+            tracker.makeRoomForItem(island);
+        } else if (!tracker.canSpawn(island, entity.getType())) {
+            event.setCancelled(true);
+        }
     }
 }
@@ -0,0 +1,201 @@
+package com.skyblock.island;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * All loaded islands, indexed by profile id, island id, world name and member.
+ *
+ * Every index is updated under one lock, so an island is either reachable
+ * through all of its keys or through none of them. Reads are lock-free.
+ * Eviction happens only in {@link #sweep}, which skips islands the caller
+ * reports as pinned (loaded world, players present).
+ */
+public final class IslandRegistry {
+
+    private final Map<Integer, Entry> byProfile = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byWorld = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> byMember = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+    private final long expireMillis;
+
+    public IslandRegistry(int maxSize, long expireMillis) {
+        this.maxSize = maxSize;
+        this.expireMillis = expireMillis;
+    }
+
+    /**
+     * Add an island, unless one is already registered for its profile.
+     *
+     * @return The registered island, which is the existing one if two loads raced
+     */
+    public synchronized Island add(Island island) {
+        Entry existing = byProfile.get(island.getProfileId());
+        if (existing != null) {
+            existing.touch();
+            return existing.island;
+        }
+
+        Entry entry = new Entry(island);
+        byProfile.put(island.getProfileId(), entry);
+        byId.put(island.getId(), entry);
+        byWorld.put(island.getWorldName(), entry);
+        indexMembers(entry);
+        return island;
+    }
+
+    /**
+     * Remove an island from every index.
+     */
+    public synchronized boolean remove(Island island) {
+        Entry entry = byId.get(island.getId());
+        if (entry == null || entry.island != island) return false;
+
+        byProfile.remove(island.getProfileId(), entry);
+        byId.remove(island.getId(), entry);
+        byWorld.remove(island.getWorldName(), entry);
+        unindexMembers(entry);
+        return true;
+    }
+
+    /**
+     * Re-index an island's members after they changed.
+     */
+    public synchronized void updateMembers(Island island) {
+        Entry entry = byId.get(island.getId());
+        if (entry == null || entry.island != island) return;
+
+        unindexMembers(entry);
+        indexMembers(entry);
+    }
+
+    public Island getByProfile(int profileId) {
+        return unwrap(byProfile.get(profileId));
+    }
+
+    public Island getById(UUID islandId) {
+        return unwrap(byId.get(islandId));
+    }
+
+    /**
+     * Get an island by world name. Not counted as an access, since a world
+     * being used keeps its island pinned anyway.
+     */
+    public Island getByWorld(String worldName) {
+        Entry entry = byWorld.get(worldName);
+        return entry != null ? entry.island : null;
+    }
+
+    /**
+     * Loaded islands a player is a member of.
+     */
+    public List<Island> getByMember(UUID playerUuid) {
+        Set<UUID> ids = byMember.get(playerUuid);
+        if (ids == null) return Collections.emptyList();
+
+        List<Island> result = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Island island = getById(id);
+            if (island != null) result.add(island);
+        }
+        return result;
+    }
+
+    public Collection<Island> getAll() {
+        List<Island> result = new ArrayList<>(byId.size());
+        for (Entry entry : byId.values()) {
+            result.add(entry.island);
+        }
+        return result;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Evict islands that have been idle too long, then the least recently used
+     * ones while over capacity. Pinned islands are never evicted.
+     *
+     * @param evicting Called under the lock just before each island is
+     *                 removed, so a lookup never finds it in neither place
+     * @return The evicted islands, so the caller can save them
+     */
+    public synchronized List<Island> sweep(Predicate<Island> pinned, long now, Consumer<Island> evicting) {
+        // Access times keep moving, so sort on a snapshot of them
+        record Candidate(Island island, long lastAccess) {}
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (Entry entry : byId.values()) {
+            if (!pinned.test(entry.island)) {
+                candidates.add(new Candidate(entry.island, entry.lastAccess));
+            }
+        }
+        candidates.sort(Comparator.comparingLong(Candidate::lastAccess));
+
+        List<Island> evicted = new ArrayList<>();
+        int size = byId.size();
+        for (Candidate candidate : candidates) {
+            boolean expired = now - candidate.lastAccess() >= expireMillis;
+            if (!expired && size <= maxSize) break;
+
+            // Candidates come from the index under the same lock, so the removal always succeeds
+            evicting.accept(candidate.island());
+            remove(candidate.island());
+            evicted.add(candidate.island());
+            size--;
+        }
+        return evicted;
+    }
+
+    private void indexMembers(Entry entry) {
+        Set<UUID> members = new HashSet<>(entry.island.getMembers().keySet());
+        for (UUID member : members) {
+            byMember.computeIfAbsent(member, k -> ConcurrentHashMap.newKeySet()).add(entry.island.getId());
+        }
+        entry.indexedMembers = members;
+    }
+
+    private void unindexMembers(Entry entry) {
+        for (UUID member : entry.indexedMembers) {
+            byMember.computeIfPresent(member, (k, ids) -> {
+                ids.remove(entry.island.getId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        entry.indexedMembers = Collections.emptySet();
+    }
+
+    private static Island unwrap(Entry entry) {
+        if (entry == null) return null;
+        entry.touch();
+        return entry.island;
+    }
+
+    private static final class Entry {
+        final Island island;
+        volatile long lastAccess;
+        Set<UUID> indexedMembers = Collections.emptySet();
+
+        Entry(Island island) {
+            this.island = island;
+            touch();
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
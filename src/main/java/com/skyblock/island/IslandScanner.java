@@ -0,0 +1,220 @@
+package com.skyblock.island;
+
+import com.skyblock.SkyblockPlugin;
+import com.skyblock.world.IslandStorage;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reads every block of an island without holding up the main thread.
+ *
+ * Chunks are snapshotted on the main thread, a few per tick, and each
+ * snapshot is handed to a worker pool to be counted. Results are delivered
+ * per chunk, back on the main thread. While a scan runs, callers can ask
+ * whether a chunk was already snapshotted, so block changes made after the
+ * snapshot can be carried over instead of lost.
+ */
+public final class IslandScanner {
+
+    private final SkyblockPlugin plugin;
+    private final ExecutorService workers;
+    private final int chunksPerTick;
+
+    public IslandScanner(SkyblockPlugin plugin) {
+        this.plugin = plugin;
+
+        FileConfiguration config = plugin.getConfigManager().getIslandsConfig();
+        this.chunksPerTick = Math.max(1, config.getInt("scanning.chunks_per_tick", 4));
+
+        int threads = config.getInt("scanning.threads", 0);
+        if (threads <= 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        this.workers = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Start scanning an island's generated chunks. Call from the main thread.
+     *
+     * @param counter Runs on a worker thread, once per chunk
+     */
+    public <T> Scan<T> scan(Island island, World world, ChunkCounter<T> counter) {
+        Scan<T> scan = new Scan<>(island, world, counter);
+        scan.runTaskTimer(plugin, 1L, 1L);
+        return scan;
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Counts something in one chunk snapshot.
+     */
+    @FunctionalInterface
+    public interface ChunkCounter<T> {
+        T count(ChunkSnapshot snapshot, Bounds bounds);
+    }
+
+    /**
+     * Receives every block inside the island bounds of a chunk.
+     */
+    @FunctionalInterface
+    public interface BlockVisitor {
+        void visit(Material type);
+    }
+
+    /**
+     * Block bounds of an island, inclusive on every side.
+     */
+    public record Bounds(int minX, int maxX, int minZ, int maxZ, int minY, int maxY) {
+
+        static Bounds of(Island island, World world) {
+            int half = island.getSize() / 2;
+            return new Bounds(-half, half, -half, half, world.getMinHeight(), world.getMaxHeight() - 1);
+        }
+
+        /**
+         * Visit the blocks of a snapshot that lie inside these bounds,
+         * skipping sections that are entirely air.
+         */
+        public void forEachBlock(ChunkSnapshot snapshot, BlockVisitor visitor) {
+            int baseX = snapshot.getX() << 4;
+            int baseZ = snapshot.getZ() << 4;
+            int fromX = Math.max(0, minX - baseX);
+            int toX = Math.min(15, maxX - baseX);
+            int fromZ = Math.max(0, minZ - baseZ);
+            int toZ = Math.min(15, maxZ - baseZ);
+
+            int sections = (maxY - minY + 1) >> 4;
+            for (int section = 0; section < sections; section++) {
+                // Sky islands are mostly air
+                if (snapshot.isSectionEmpty(section)) continue;
+
+                int fromY = minY + (section << 4);
+                for (int y = fromY; y < fromY + 16; y++) {
+                    for (int x = fromX; x <= toX; x++) {
+                        for (int z = fromZ; z <= toZ; z++) {
+                            visitor.visit(snapshot.getBlockType(x, y, z));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * One scan in progress. Completes with the count of every chunk, keyed by
+     * {@link #chunkKey}, on the main thread.
+     */
+    public final class Scan<T> extends BukkitRunnable {
+        private final Island island;
+        private final World world;
+        private final ChunkCounter<T> counter;
+        private final Bounds bounds;
+        private final CompletableFuture<Map<Long, T>> result = new CompletableFuture<>();
+
+        private final Queue<long[]> pending = new ArrayDeque<>();
+        private final Map<Long, CompletableFuture<T>> counts = new HashMap<>();
+        private final Set<Long> snapshotted = new HashSet<>();
+
+        private Scan(Island island, World world, ChunkCounter<T> counter) {
+            this.island = island;
+            this.world = world;
+            this.counter = counter;
+            this.bounds = Bounds.of(island, world);
+
+            IslandStorage storage = plugin.getWorldManager().getStorage();
+            for (int cx = bounds.minX() >> 4; cx <= bounds.maxX() >> 4; cx++) {
+                for (int cz = bounds.minZ() >> 4; cz <= bounds.maxZ() >> 4; cz++) {
+                    // Chunks never generated hold nothing worth counting; native
+                    // islands keep theirs in the blob rather than region files
+                    if (world.isChunkGenerated(cx, cz)
+                            || storage != null && storage.hasStoredChunk(world.getName(), cx, cz)) {
+                        pending.add(new long[] {cx, cz});
+                    }
+                }
+            }
+        }
+
+        public Island getIsland() {
+            return island;
+        }
+
+        public CompletableFuture<Map<Long, T>> getResult() {
+            return result;
+        }
+
+        /**
+         * Check if a chunk was already captured, so later changes to it are
+         * not part of this scan's result.
+         */
+        public boolean isSnapshotted(long chunk) {
+            return snapshotted.contains(chunk);
+        }
+
+        @Override
+        public void run() {
+            if (Bukkit.getWorld(world.getName()) != world) {
+                abort(new IllegalStateException("Island world was unloaded during the scan"));
+                return;
+            }
+
+            for (int i = 0; i < chunksPerTick && !pending.isEmpty(); i++) {
+                long[] coords = pending.poll();
+                int cx = (int) coords[0];
+                int cz = (int) coords[1];
+
+                ChunkSnapshot snapshot = world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false);
+                long chunk = chunkKey(cx, cz);
+                snapshotted.add(chunk);
+                counts.put(chunk, CompletableFuture.supplyAsync(() -> counter.count(snapshot, bounds), workers));
+            }
+
+            if (pending.isEmpty()) {
+                cancel();
+                CompletableFuture.allOf(counts.values().toArray(new CompletableFuture[0]))
+                    .whenComplete((v, ex) -> Bukkit.getScheduler().runTask(plugin, () -> finish(ex)));
+            }
+        }
+
+        private void finish(Throwable ex) {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+                return;
+            }
+
+            Map<Long, T> totals = new HashMap<>();
+            counts.forEach((chunk, count) -> totals.put(chunk, count.join()));
+            result.complete(totals);
+        }
+
+        /**
+         * Stop the scan and fail its result.
+         */
+        public void abort(Throwable ex) {
+            if (!isCancelled()) {
+                cancel();
+            }
+            result.completeExceptionally(ex);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.skyblock.island;
+
+/**
+ * Boolean island settings, stored as strings in island_settings.
+ */
+public enum IslandSetting {
+    ALLOW_VISITOR_INTERACT("allow_visitor_interact", true),
+    ALLOW_VISITOR_CONTAINER_ACCESS("allow_visitor_container_access", false),
+    ALLOW_VISITOR_ENTITY_INTERACT("allow_visitor_entity_interact", false),
+    MOB_SPAWNING("mob_spawning", true),
+    ANIMAL_SPAWNING("animal_spawning", true);
+
+    private final String key;
+    private final boolean defaultValue;
+
+    IslandSetting(String key, boolean defaultValue) {
+        this.key = key;
+        this.defaultValue = defaultValue;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public boolean getDefaultValue() {
+        return defaultValue;
+    }
+
+    public long getBit() {
+        return 1L << ordinal();
+    }
+
+    public static IslandSetting fromKey(String key) {
+        for (IslandSetting setting : values()) {
+            if (setting.key.equals(key)) {
+                return setting;
+            }
+        }
+        return null;
+    }
+}
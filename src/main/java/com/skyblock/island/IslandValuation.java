@@ -0,0 +1,270 @@
+package com.skyblock.island;
+
+import com.skyblock.SkyblockPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.PistonMoveReaction;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calculates island worth and level.
+ *
+ * A full scan goes through the {@link IslandScanner}, which snapshots chunks
+ * on the main thread and counts block values on worker threads. The result is
+ * kept as one subtotal per chunk. From then on block events (placing,
+ * breaking, explosions, fire, fading, pistons and entities changing blocks)
+ * adjust the subtotals directly, so a rescan is only needed after the world
+ * was changed some other way (resets, schematics, admin tools).
+ *
+ * Tallies and scans are only touched on the main thread.
+ */
+public class IslandValuation implements Listener {
+
+    private final IslandManager islandManager;
+    private final IslandScanner scanner;
+    private final BlockValues values;
+
+    private final double worthPerLevel;
+
+    // Chunk subtotals of every island scanned since it was loaded
+    private final Map<UUID, Tally> tallies;
+
+    // Full scans in progress, with changes to chunks they already captured
+    private final Map<UUID, Scan> scans;
+
+    public IslandValuation(SkyblockPlugin plugin, IslandManager islandManager, IslandScanner scanner) {
+        this.islandManager = islandManager;
+        this.scanner = scanner;
+        this.values = BlockValues.load(plugin);
+        this.tallies = new ConcurrentHashMap<>();
+        this.scans = new HashMap<>();
+        this.worthPerLevel = Math.max(1, plugin.getConfigManager().getIslandsConfig()
+            .getDouble("valuation.worth_per_level", 100));
+    }
+
+    /**
+     * Run a full scan of an island and store the result on it.
+     * Call from the main thread; the island's world must be loaded.
+     *
+     * @return The island's worth, once every chunk has been counted
+     */
+    public CompletableFuture<Double> calculate(Island island) {
+        Scan running = scans.get(island.getId());
+        if (running != null) {
+            return running.result;
+        }
+
+        World world = Bukkit.getWorld(island.getWorldName());
+        if (world == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Island world is not loaded"));
+        }
+
+        Scan scan = new Scan(scanner.scan(island, world, this::count));
+        scans.put(island.getId(), scan);
+
+        scan.chunks.getResult().whenComplete((chunks, ex) -> {
+            if (scans.get(island.getId()) != scan) return;
+            scans.remove(island.getId());
+
+            if (ex != null) {
+                scan.result.completeExceptionally(ex);
+                return;
+            }
+
+            Tally tally = new Tally();
+            chunks.forEach(tally::add);
+            scan.deltas.forEach(tally::add);
+
+            tallies.put(island.getId(), tally);
+            publish(island, tally.total);
+            scan.result.complete(tally.total);
+        });
+        return scan.result;
+    }
+
+    /**
+     * Check if an island has an up-to-date tally that block changes are applied to.
+     */
+    public boolean isTracked(Island island) {
+        return tallies.containsKey(island.getId());
+    }
+
+    public boolean isScanning(Island island) {
+        return scans.containsKey(island.getId());
+    }
+
+    /**
+     * Drop an island's tally, e.g. when it is unloaded or its world was replaced.
+     * The stored worth stays until the next scan.
+     */
+    public void forget(Island island) {
+        tallies.remove(island.getId());
+    }
+
+    public int getLevel(double worth) {
+        return (int) Math.floor(worth / worthPerLevel);
+    }
+
+    public double getWorthPerLevel() {
+        return worthPerLevel;
+    }
+
+    public void shutdown() {
+        for (Scan scan : new ArrayList<>(scans.values())) {
+            scan.chunks.abort(new IllegalStateException("Plugin disabled"));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        Block block = event.getBlockPlaced();
+        double delta = values.get(block.getType()) - values.get(event.getBlockReplacedState().getType());
+        apply(block, delta);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        Block block = event.getBlock();
+        apply(block, -values.get(block.getType()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        removeAll(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        removeAll(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) {
+        Block block = event.getBlock();
+        apply(block, -values.get(block.getType()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) {
+        Block block = event.getBlock();
+        apply(block, values.get(event.getNewState().getType()) - values.get(block.getType()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        Block block = event.getBlock();
+        apply(block, values.get(event.getTo()) - values.get(block.getType()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        move(event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        move(event.getBlocks(), event.getDirection());
+    }
+
+    private void removeAll(List<Block> blocks) {
+        for (Block block : blocks) {
+            apply(block, -values.get(block.getType()));
+        }
+    }
+
+    /**
+     * Blocks pushed or pulled by a piston leave their old spot and, unless
+     * the piston breaks them, land one block further in its direction.
+     */
+    private void move(List<Block> blocks, BlockFace direction) {
+        for (Block block : blocks) {
+            double value = values.get(block.getType());
+            apply(block, -value);
+            if (block.getPistonMoveReaction() != PistonMoveReaction.BREAK) {
+                apply(block.getRelative(direction), value);
+            }
+        }
+    }
+
+    private void apply(Block block, double delta) {
+        if (delta == 0) return;
+
+        Island island = islandManager.getIslandByWorld(block.getWorld().getName());
+        if (island == null || !island.isWithinBounds(block.getLocation())) return;
+
+        long chunk = IslandScanner.chunkKey(block.getX() >> 4, block.getZ() >> 4);
+
+        Scan scan = scans.get(island.getId());
+        if (scan != null && scan.chunks.isSnapshotted(chunk)) {
+            // Counted from a snapshot taken before this change
+            scan.deltas.merge(chunk, delta, Double::sum);
+        }
+
+        Tally tally = tallies.get(island.getId());
+        if (tally != null) {
+            tally.add(chunk, delta);
+            publish(island, tally.total);
+        }
+    }
+
+    private void publish(Island island, double worth) {
+        island.setWorth(worth, getLevel(worth));
+    }
+
+    /**
+     * Sum the block values of one chunk inside the island bounds.
+     */
+    private Double count(ChunkSnapshot snapshot, IslandScanner.Bounds bounds) {
+        double[] total = new double[1];
+        bounds.forEachBlock(snapshot, type -> total[0] += values.get(type));
+        return total[0];
+    }
+
+    /**
+     * Worth of one island, per chunk.
+     */
+    private static final class Tally {
+        final Map<Long, Double> chunks = new HashMap<>();
+        double total;
+
+        void add(long chunk, double delta) {
+            chunks.merge(chunk, delta, Double::sum);
+            total += delta;
+        }
+    }
+
+    /**
+     * A full scan and the block changes that landed in chunks it already captured.
+     */
+    private static final class Scan {
+        final IslandScanner.Scan<Double> chunks;
+        final CompletableFuture<Double> result = new CompletableFuture<>();
+        final Map<Long, Double> deltas = new HashMap<>();
+
+        Scan(IslandScanner.Scan<Double> chunks) {
+            this.chunks = chunks;
+        }
+    }
+}
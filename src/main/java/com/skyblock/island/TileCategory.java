@@ -0,0 +1,49 @@
+package com.skyblock.island;
+
+import org.bukkit.Material;
+
+/**
+ * Tick-heavy blocks counted against island tile limits.
+ */
+public enum TileCategory {
+    HOPPER("hopper", "Hoppers", Material.HOPPER),
+    FURNACE("furnace", "Furnaces", Material.FURNACE, Material.BLAST_FURNACE, Material.SMOKER),
+    CHEST("chest", "Chests", Material.CHEST, Material.TRAPPED_CHEST, Material.BARREL),
+    SPAWNER("spawner", "Spawners", Material.SPAWNER),
+    PISTON("piston", "Pistons", Material.PISTON, Material.STICKY_PISTON);
+
+    private static final TileCategory[] BY_MATERIAL = new TileCategory[Material.values().length];
+
+    static {
+        for (TileCategory category : values()) {
+            for (Material material : category.materials) {
+                BY_MATERIAL[material.ordinal()] = category;
+            }
+        }
+    }
+
+    private final String configKey;
+    private final String displayName;
+    private final Material[] materials;
+
+    TileCategory(String configKey, String displayName, Material... materials) {
+        this.configKey = configKey;
+        this.displayName = displayName;
+        this.materials = materials;
+    }
+
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Get the category of a block type, or null if it is not counted.
+     */
+    public static TileCategory of(Material type) {
+        return BY_MATERIAL[type.ordinal()];
+    }
+}
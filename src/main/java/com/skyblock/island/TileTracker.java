@@ -0,0 +1,226 @@
+package com.skyblock.island;
+
+import com.skyblock.SkyblockPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Counts hoppers, furnaces, chests, spawners and pistons per island.
+ *
+ * Counts are seeded by an {@link IslandScanner} pass when an island world
+ * loads, then kept current from place, break and explosion events. Limits
+ * come from tiles.limits in islands.yml and are checked by the protection
+ * listener before a block is placed. Main thread only.
+ */
+public class TileTracker implements Listener {
+
+    private static final TileCategory[] CATEGORIES = TileCategory.values();
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final SkyblockPlugin plugin;
+    private final IslandManager islandManager;
+    private final IslandScanner scanner;
+    private final int[] limits;
+
+    private final Map<String, Counts> worlds;
+
+    public TileTracker(SkyblockPlugin plugin, IslandManager islandManager, IslandScanner scanner) {
+        this.plugin = plugin;
+        this.islandManager = islandManager;
+        this.scanner = scanner;
+        this.worlds = new HashMap<>();
+
+        this.limits = new int[CATEGORIES.length];
+        ConfigurationSection section = plugin.getConfigManager().getIslandsConfig()
+            .getConfigurationSection("tiles.limits");
+        for (TileCategory category : CATEGORIES) {
+            int limit = section != null ? section.getInt(category.getConfigKey(), -1) : -1;
+            limits[category.ordinal()] = limit >= 0 ? limit : UNLIMITED;
+        }
+    }
+
+    /**
+     * Start counting an island's tiles, unless that already happened.
+     * Call from the main thread; does nothing while the world is not loaded.
+     */
+    public void seed(Island island) {
+        if (worlds.containsKey(island.getWorldName())) return;
+
+        World world = Bukkit.getWorld(island.getWorldName());
+        if (world == null) return;
+
+        Counts counts = new Counts();
+        counts.seeding = scanner.scan(island, world, TileTracker::count);
+        worlds.put(island.getWorldName(), counts);
+
+        counts.seeding.getResult().whenComplete((chunks, ex) -> {
+            if (worlds.get(island.getWorldName()) != counts) return;
+
+            if (ex != null) {
+                // Try again the next time the counts are needed
+                worlds.remove(island.getWorldName());
+                plugin.log(Level.WARNING, "Failed to count tiles on island " + island.getId() + ": " + ex.getMessage());
+                return;
+            }
+
+            for (int[] chunk : chunks.values()) {
+                for (int i = 0; i < chunk.length; i++) {
+                    counts.values[i] += chunk[i];
+                }
+            }
+            counts.seeding = null;
+        });
+    }
+
+    /**
+     * Check if an island's counts are complete.
+     */
+    public boolean isReady(Island island) {
+        Counts counts = worlds.get(island.getWorldName());
+        return counts != null && counts.seeding == null;
+    }
+
+    public int getCount(Island island, TileCategory category) {
+        Counts counts = worlds.get(island.getWorldName());
+        return counts != null ? counts.values[category.ordinal()] : 0;
+    }
+
+    /**
+     * Get the number of counted tiles in an island world.
+     */
+    public int getTotal(String worldName) {
+        Counts counts = worlds.get(worldName);
+        if (counts == null) return 0;
+
+        int total = 0;
+        for (int value : counts.values) {
+            total += value;
+        }
+        return total;
+    }
+
+    public int getLimit(TileCategory category) {
+        return limits[category.ordinal()];
+    }
+
+    public boolean hasLimit(TileCategory category) {
+        return limits[category.ordinal()] != UNLIMITED;
+    }
+
+    public void shutdown() {
+        List<Counts> all = new ArrayList<>(worlds.values());
+        worlds.clear();
+        for (Counts counts : all) {
+            if (counts.seeding != null) {
+                counts.seeding.abort(new IllegalStateException("Plugin disabled"));
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        Island island = islandManager.getIslandByWorld(event.getWorld().getName());
+        if (island != null) {
+            seed(island);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        Counts counts = worlds.remove(event.getWorld().getName());
+        if (counts != null && counts.seeding != null) {
+            counts.seeding.abort(new IllegalStateException("Island world unloaded"));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        Block block = event.getBlockPlaced();
+        adjust(block, event.getBlockReplacedState().getType(), -1);
+        adjust(block, block.getType(), 1);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        adjust(event.getBlock(), event.getBlock().getType(), -1);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        removeAll(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        removeAll(event.blockList());
+    }
+
+    private void removeAll(List<Block> blocks) {
+        for (Block block : blocks) {
+            adjust(block, block.getType(), -1);
+        }
+    }
+
+    private void adjust(Block block, Material type, int delta) {
+        TileCategory category = TileCategory.of(type);
+        if (category == null) return;
+
+        Counts counts = worlds.get(block.getWorld().getName());
+        if (counts == null) return;
+
+        if (counts.seeding != null) {
+            // Chunks not captured yet will be counted with this change already in them
+            long chunk = IslandScanner.chunkKey(block.getX() >> 4, block.getZ() >> 4);
+            if (!counts.seeding.isSnapshotted(chunk)) return;
+        }
+
+        Island island = counts.seeding != null ? counts.seeding.getIsland()
+            : islandManager.getIslandByWorld(block.getWorld().getName());
+        if (island == null || !island.isWithinBounds(block.getLocation())) return;
+
+        counts.values[category.ordinal()] += delta;
+    }
+
+    /**
+     * Count the tiles of one chunk inside the island bounds.
+     */
+    private static int[] count(ChunkSnapshot snapshot, IslandScanner.Bounds bounds) {
+        int[] counts = new int[CATEGORIES.length];
+        bounds.forEachBlock(snapshot, type -> {
+            TileCategory category = TileCategory.of(type);
+            if (category != null) {
+                counts[category.ordinal()]++;
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Tile counts of one island world. While seeding, the values hold only the
+     * changes to chunks the scan already captured; the scan totals are added
+     * when it completes.
+     */
+    private static final class Counts {
+        final int[] values = new int[CATEGORIES.length];
+        IslandScanner.Scan<int[]> seeding;
+    }
+}
@@ -0,0 +1,318 @@
+package com.skyblock.items;
+
+import com.skyblock.SkyblockPlugin;
+import com.skyblock.player.SkyblockPlayer;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockDispenseArmorEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemConsumeEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the custom items each player has equipped.
+ *
+ * Item ids are resolved only when equipment can have changed (held slot,
+ * hand swap, inventory clicks, armor equips, drops, pickups, breaks), so
+ * ability and stat code can read the equipped {@link CustomItem}s without
+ * touching ItemMeta.
+ */
+public class EquipmentTracker implements Listener {
+
+    private final SkyblockPlugin plugin;
+    private final ItemManager itemManager;
+    private final Map<UUID, Equipment> equipment;
+    private final Set<UUID> pendingRefresh;
+
+    public EquipmentTracker(SkyblockPlugin plugin, ItemManager itemManager) {
+        this.plugin = plugin;
+        this.itemManager = itemManager;
+        this.equipment = new ConcurrentHashMap<>();
+        this.pendingRefresh = new HashSet<>();
+    }
+
+    /**
+     * Get a player's tracked equipment, or null if the player is not online.
+     */
+    public Equipment getEquipment(UUID uuid) {
+        Equipment current = equipment.get(uuid);
+        if (current != null && current.version != itemManager.getRegistryVersion() && Bukkit.isPrimaryThread()) {
+            // Items were reloaded; the cached references are stale
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                refresh(player);
+                current = equipment.get(uuid);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Get the custom item in a player's main hand.
+     */
+    public CustomItem getMainHand(Player player) {
+        Equipment current = getEquipment(player.getUniqueId());
+        return current != null ? current.getMainHand() : null;
+    }
+
+    /**
+     * Get the custom item in a player's off hand.
+     */
+    public CustomItem getOffHand(Player player) {
+        Equipment current = getEquipment(player.getUniqueId());
+        return current != null ? current.getOffHand() : null;
+    }
+
+    /**
+     * Get the custom item a player used from one hand, checked against the
+     * stack the event reports. If the cache fell behind the inventory, the
+     * stack is resolved directly and the player is refreshed.
+     */
+    public CustomItem getHeld(Player player, EquipmentSlot hand, ItemStack item) {
+        CustomItem cached = hand == EquipmentSlot.OFF_HAND ? getOffHand(player) : getMainHand(player);
+
+        // Custom items always carry meta and keep their material
+        boolean matches = cached != null ? cached.getMaterial() == item.getType() : !item.hasItemMeta();
+        if (matches) return cached;
+
+        CustomItem actual = resolve(item);
+        if (actual != cached) {
+            scheduleRefresh(player);
+        }
+        return actual;
+    }
+
+    /**
+     * Re-resolve every tracked slot for a player immediately.
+     */
+    public void refresh(Player player) {
+        PlayerInventory inventory = player.getInventory();
+        CustomItem[] slots = new CustomItem[Slot.values().length];
+
+        slots[Slot.MAIN_HAND.ordinal()] = resolve(inventory.getItemInMainHand());
+        slots[Slot.OFF_HAND.ordinal()] = resolve(inventory.getItemInOffHand());
+        slots[Slot.HELMET.ordinal()] = resolve(inventory.getHelmet());
+        slots[Slot.CHESTPLATE.ordinal()] = resolve(inventory.getChestplate());
+        slots[Slot.LEGGINGS.ordinal()] = resolve(inventory.getLeggings());
+        slots[Slot.BOOTS.ordinal()] = resolve(inventory.getBoots());
+
+        update(player.getUniqueId(), slots);
+    }
+
+    /**
+     * Refresh a player on the next tick, after the inventory change has applied.
+     * Multiple requests in the same tick are coalesced.
+     */
+    public void scheduleRefresh(Player player) {
+        if (!pendingRefresh.add(player.getUniqueId())) return;
+
+        if (pendingRefresh.size() == 1) {
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                for (UUID uuid : pendingRefresh) {
+                    Player online = Bukkit.getPlayer(uuid);
+                    if (online != null) refresh(online);
+                }
+                pendingRefresh.clear();
+            });
+        }
+    }
+
+    private CustomItem resolve(ItemStack item) {
+        if (item == null || item.getType().isAir() || !item.hasItemMeta()) return null;
+        return itemManager.getCustomItem(item);
+    }
+
+    private void update(UUID uuid, CustomItem[] slots) {
+        Equipment previous = equipment.get(uuid);
+        equipment.put(uuid, new Equipment(slots, itemManager.getRegistryVersion()));
+
+        if (previous == null || !Arrays.equals(previous.slots, slots)) {
+            SkyblockPlayer sbPlayer = plugin.getPlayerManager().getPlayer(uuid);
+            if (sbPlayer != null) {
+                sbPlayer.invalidateStatsCache();
+            }
+        }
+    }
+
+    // Event handlers
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        refresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        equipment.remove(event.getPlayer().getUniqueId());
+        pendingRefresh.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHeldItemChange(PlayerItemHeldEvent event) {
+        Player player = event.getPlayer();
+        Equipment current = equipment.get(player.getUniqueId());
+        if (current == null) {
+            refresh(player);
+            return;
+        }
+
+        // Only the main hand changes; resolve the new slot directly
+        CustomItem[] slots = current.slots.clone();
+        slots[Slot.MAIN_HAND.ordinal()] = resolve(player.getInventory().getItem(event.getNewSlot()));
+        update(player.getUniqueId(), slots);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        scheduleRefresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        HumanEntity who = event.getWhoClicked();
+        if (who instanceof Player player) {
+            scheduleRefresh(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        HumanEntity who = event.getWhoClicked();
+        if (who instanceof Player player) {
+            scheduleRefresh(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInteract(PlayerInteractEvent event) {
+        // Right-clicking armor equips it without an inventory event
+        ItemStack item = event.getItem();
+        if (item != null && isEquippable(item)) {
+            scheduleRefresh(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDispenseArmor(BlockDispenseArmorEvent event) {
+        LivingEntity target = event.getTargetEntity();
+        if (target instanceof Player player) {
+            scheduleRefresh(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent event) {
+        scheduleRefresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            scheduleRefresh(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent event) {
+        scheduleRefresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onConsume(PlayerItemConsumeEvent event) {
+        scheduleRefresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        Equipment current = equipment.get(event.getPlayer().getUniqueId());
+        if (current != null && (current.getMainHand() != null || current.getOffHand() != null)) {
+            scheduleRefresh(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        scheduleRefresh(event.getPlayer());
+    }
+
+    private boolean isEquippable(ItemStack item) {
+        String name = item.getType().name();
+        return name.endsWith("_HELMET") || name.endsWith("_CHESTPLATE") || name.endsWith("_LEGGINGS")
+                || name.endsWith("_BOOTS") || name.endsWith("_HEAD") || name.endsWith("_SKULL")
+                || name.equals("ELYTRA") || name.equals("CARVED_PUMPKIN");
+    }
+
+    /**
+     * Tracked equipment slots.
+     */
+    public enum Slot {
+        MAIN_HAND,
+        OFF_HAND,
+        HELMET,
+        CHESTPLATE,
+        LEGGINGS,
+        BOOTS
+    }
+
+    /**
+     * An immutable snapshot of a player's equipped custom items.
+     */
+    public static class Equipment {
+        private final CustomItem[] slots;
+        private final int version;
+
+        private Equipment(CustomItem[] slots, int version) {
+            this.slots = slots;
+            this.version = version;
+        }
+
+        public CustomItem get(Slot slot) {
+            return slots[slot.ordinal()];
+        }
+
+        public CustomItem getMainHand() {
+            return slots[Slot.MAIN_HAND.ordinal()];
+        }
+
+        public CustomItem getOffHand() {
+            return slots[Slot.OFF_HAND.ordinal()];
+        }
+
+        /**
+         * Get the armor pieces, helmet first. Empty slots are null.
+         */
+        public CustomItem[] getArmor() {
+            return new CustomItem[]{
+                    slots[Slot.HELMET.ordinal()],
+                    slots[Slot.CHESTPLATE.ordinal()],
+                    slots[Slot.LEGGINGS.ordinal()],
+                    slots[Slot.BOOTS.ordinal()]
+            };
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.skyblock.items;
+
+import com.skyblock.items.rarity.Rarity;
+import com.skyblock.utils.ColorUtils;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable, multi-indexed snapshot of the item registry.
+ *
+ * Category, rarity and material lookups are prebuilt lists, ids and display
+ * names are searchable by prefix through a trie, and a trigram index backs
+ * fuzzy matching. A new catalog is built on every reload and swapped in whole,
+ * so readers never see a half-loaded registry.
+ */
+public final class ItemCatalog {
+
+    private static final ItemCatalog EMPTY = new ItemCatalog(Collections.emptyList());
+
+    private final Map<String, CustomItem> byId;
+    private final List<CustomItem> all;
+    private final Map<ItemCategory, List<CustomItem>> byCategory;
+    private final Map<Rarity, List<CustomItem>> byRarity;
+    private final Map<Material, List<CustomItem>> byMaterial;
+    private final TrieNode prefixIndex;
+    private final Map<String, List<CustomItem>> trigramIndex;
+
+    private ItemCatalog(Collection<CustomItem> items) {
+        List<CustomItem> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(item -> item.getId().toUpperCase(Locale.ROOT)));
+
+        Map<String, CustomItem> ids = new LinkedHashMap<>();
+        Map<ItemCategory, List<CustomItem>> categories = new EnumMap<>(ItemCategory.class);
+        Map<Rarity, List<CustomItem>> rarities = new EnumMap<>(Rarity.class);
+        Map<Material, List<CustomItem>> materials = new EnumMap<>(Material.class);
+        TrieNode trie = new TrieNode();
+        Map<String, List<CustomItem>> trigrams = new HashMap<>();
+
+        for (CustomItem item : sorted) {
+            String id = item.getId().toUpperCase(Locale.ROOT);
+            ids.put(id, item);
+
+            if (item.getCategory() != null) {
+                categories.computeIfAbsent(item.getCategory(), k -> new ArrayList<>()).add(item);
+            }
+            if (item.getRarity() != null) {
+                rarities.computeIfAbsent(item.getRarity(), k -> new ArrayList<>()).add(item);
+            }
+            if (item.getMaterial() != null) {
+                materials.computeIfAbsent(item.getMaterial(), k -> new ArrayList<>()).add(item);
+            }
+
+            for (String key : searchKeys(item)) {
+                trie.insert(key, item);
+                for (String trigram : trigrams(key)) {
+                    List<CustomItem> bucket = trigrams.computeIfAbsent(trigram, k -> new ArrayList<>());
+                    if (bucket.isEmpty() || bucket.get(bucket.size() - 1) != item) {
+                        bucket.add(item);
+                    }
+                }
+            }
+        }
+
+        trie.freeze();
+
+        this.byId = Collections.unmodifiableMap(ids);
+        this.all = List.copyOf(sorted);
+        this.byCategory = freeze(categories);
+        this.byRarity = freeze(rarities);
+        this.byMaterial = freeze(materials);
+        this.prefixIndex = trie;
+        this.trigramIndex = freeze(trigrams);
+    }
+
+    /**
+     * Build a catalog from a set of items.
+     */
+    public static ItemCatalog of(Collection<CustomItem> items) {
+        return items.isEmpty() ? EMPTY : new ItemCatalog(items);
+    }
+
+    public static ItemCatalog empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Get an item by id (case-insensitive).
+     */
+    public CustomItem get(String id) {
+        return byId.get(id.toUpperCase(Locale.ROOT));
+    }
+
+    public List<CustomItem> getAll() {
+        return all;
+    }
+
+    public Set<String> getIds() {
+        return byId.keySet();
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public List<CustomItem> getByCategory(ItemCategory category) {
+        return byCategory.getOrDefault(category, Collections.emptyList());
+    }
+
+    public List<CustomItem> getByRarity(Rarity rarity) {
+        return byRarity.getOrDefault(rarity, Collections.emptyList());
+    }
+
+    public List<CustomItem> getByMaterial(Material material) {
+        return byMaterial.getOrDefault(material, Collections.emptyList());
+    }
+
+    /**
+     * Items whose id or display name starts with the given prefix, in id order.
+     */
+    public List<CustomItem> findByPrefix(String prefix) {
+        TrieNode node = prefixIndex.find(normalize(prefix));
+        return node != null ? node.items : Collections.emptyList();
+    }
+
+    /**
+     * Ids completing a prefix, for tab completion.
+     */
+    public List<String> completeIds(String prefix, int limit) {
+        List<String> result = new ArrayList<>();
+        for (CustomItem item : findByPrefix(prefix)) {
+            result.add(item.getId().toUpperCase(Locale.ROOT));
+            if (result.size() >= limit) break;
+        }
+        return result;
+    }
+
+    /**
+     * Closest matches for a possibly misspelled id or name.
+     * Candidates share at least one trigram and are ranked by edit distance.
+     */
+    public List<CustomItem> findFuzzy(String query, int limit) {
+        String key = normalize(query);
+        if (key.isEmpty()) return Collections.emptyList();
+
+        Map<CustomItem, Integer> shared = new HashMap<>();
+        for (String trigram : trigrams(key)) {
+            for (CustomItem item : trigramIndex.getOrDefault(trigram, Collections.emptyList())) {
+                shared.merge(item, 1, Integer::sum);
+            }
+        }
+
+        List<Map.Entry<CustomItem, Integer>> candidates = new ArrayList<>(shared.entrySet());
+        candidates.sort(Map.Entry.<CustomItem, Integer>comparingByValue().reversed());
+
+        // Only the best trigram matches are worth an edit distance check
+        int considered = Math.min(candidates.size(), Math.max(limit * 4, 16));
+        List<CustomItem> ranked = new ArrayList<>();
+        Map<CustomItem, Integer> distances = new HashMap<>();
+        for (int i = 0; i < considered; i++) {
+            CustomItem item = candidates.get(i).getKey();
+            int best = Integer.MAX_VALUE;
+            for (String candidateKey : searchKeys(item)) {
+                best = Math.min(best, levenshtein(key, candidateKey));
+            }
+            distances.put(item, best);
+            ranked.add(item);
+        }
+
+        ranked.sort(Comparator.comparingInt(distances::get));
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    private static Set<String> searchKeys(CustomItem item) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalize(item.getId()));
+        if (item.getDisplayName() != null) {
+            keys.add(normalize(ColorUtils.stripColor(item.getDisplayName())));
+        }
+        keys.remove("");
+        return keys;
+    }
+
+    /**
+     * Lower-case with spaces and underscores unified, so "Aspect of the End"
+     * and "ASPECT_OF_THE_END" share one key.
+     */
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT).replace(' ', '_');
+    }
+
+    private static Set<String> trigrams(String key) {
+        Set<String> result = new LinkedHashSet<>();
+        String padded = "  " + key + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static <K, V> Map<K, List<V>> freeze(Map<K, List<V>> map) {
+        map.replaceAll((key, list) -> List.copyOf(list));
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Prefix trie node. Each node holds every item below it, so a prefix
+     * lookup is a walk of the prefix length with no subtree traversal.
+     */
+    private static final class TrieNode {
+        private Map<Character, TrieNode> children = new TreeMap<>();
+        private List<CustomItem> items = new ArrayList<>();
+
+        void insert(String key, CustomItem item) {
+            TrieNode node = this;
+            node.add(item);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new TrieNode());
+                node.add(item);
+            }
+        }
+
+        private void add(CustomItem item) {
+            // Items arrive in id order; an item indexed under two keys is kept once
+            if (items.isEmpty() || items.get(items.size() - 1) != item) {
+                items.add(item);
+            }
+        }
+
+        TrieNode find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        void freeze() {
+            items = List.copyOf(items);
+            for (TrieNode child : children.values()) {
+                child.freeze();
+            }
+            children = Collections.unmodifiableMap(children);
+        }
+    }
+}
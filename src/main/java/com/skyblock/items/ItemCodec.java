@@ -0,0 +1,407 @@
+package com.skyblock.items;
+
+import com.skyblock.SkyblockPlugin;
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary format for stored inventories (backpacks, auctions, minion storage).
+ *
+ * Layout: version byte, flags byte, then a body that is deflated when large.
+ * The body is a varint slot count followed by one entry per slot. Custom items
+ * are stored as their registry id, amount, reforge, enchantments and any extra
+ * string PDC entries, and rebuilt from the {@link ItemManager} prototype. Any
+ * item that would not round-trip that way falls back to Bukkit serialization.
+ *
+ * Decoding treats its input as untrusted: any malformed data, including
+ * truncated or corrupt rows, fails with an {@link IOException}.
+ */
+public class ItemCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int FLAG_DEFLATED = 1;
+    private static final int DEFLATE_THRESHOLD = 256;
+    // Largest body a deflated row may inflate to
+    private static final int MAX_BODY = 16 << 20;
+
+    private static final int TAG_EMPTY = 0;
+    private static final int TAG_CUSTOM = 1;
+    private static final int TAG_BUKKIT = 2;
+
+    private final Function<String, ItemStack> prototypes;
+    private final Logger logger;
+    private final NamespacedKey itemIdKey;
+    private final NamespacedKey reforgeKey;
+
+    public ItemCodec(SkyblockPlugin plugin, ItemManager itemManager) {
+        this(plugin, itemManager::createItemStack, plugin.getLogger());
+    }
+
+    /**
+     * @param prototypes Builds a fresh prototype stack for a custom item id, or null if there is none
+     */
+    ItemCodec(Plugin plugin, Function<String, ItemStack> prototypes, Logger logger) {
+        this.prototypes = prototypes;
+        this.logger = logger;
+        this.itemIdKey = new NamespacedKey(plugin, CustomItem.NBT_ITEM_ID);
+        this.reforgeKey = new NamespacedKey(plugin, CustomItem.NBT_REFORGE);
+    }
+
+    /**
+     * Encode a list of slots. Null or air entries are kept as empty slots.
+     */
+    public byte[] encode(List<ItemStack> items) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+
+        writeVarInt(out, items.size());
+        for (ItemStack item : items) {
+            writeItem(out, item);
+        }
+        out.flush();
+
+        byte[] raw = body.toByteArray();
+        int flags = 0;
+        if (raw.length >= DEFLATE_THRESHOLD) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                raw = deflated;
+                flags |= FLAG_DEFLATED;
+            }
+        }
+
+        byte[] result = new byte[raw.length + 2];
+        result[0] = (byte) FORMAT_VERSION;
+        result[1] = (byte) flags;
+        System.arraycopy(raw, 0, result, 2, raw.length);
+        return result;
+    }
+
+    /**
+     * Decode slots written by {@link #encode(List)}. Empty slots decode to null.
+     */
+    public List<ItemStack> decode(byte[] data) throws IOException {
+        if (data.length < 2) throw new IOException("Item data is truncated");
+
+        int version = data[0] & 0xFF;
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IOException("Unsupported item format version " + version);
+        }
+        int flags = data[1] & 0xFF;
+        if ((flags & ~FLAG_DEFLATED) != 0) {
+            throw new IOException("Unknown item format flags " + flags);
+        }
+
+        // Inflated up front, so every length can be checked against what is left
+        byte[] body = (flags & FLAG_DEFLATED) != 0
+            ? inflate(data, 2)
+            : Arrays.copyOfRange(data, 2, data.length);
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(body))) {
+            // Every slot takes at least one byte
+            int count = readCount(in);
+            List<ItemStack> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(readItem(in));
+            }
+            return items;
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid item data", e);
+        }
+    }
+
+    /**
+     * Encode to Base64 for the existing text columns.
+     */
+    public String encodeToString(List<ItemStack> items) throws IOException {
+        return Base64.getEncoder().encodeToString(encode(items));
+    }
+
+    /**
+     * Decode from {@link #encodeToString(List)}.
+     */
+    public List<ItemStack> decodeFromString(String data) throws IOException {
+        try {
+            return decode(Base64.getDecoder().decode(data));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Item data is not valid Base64", e);
+        }
+    }
+
+    private void writeItem(DataOutputStream out, ItemStack item) throws IOException {
+        if (item == null || item.getType().isAir() || item.getAmount() <= 0) {
+            out.writeByte(TAG_EMPTY);
+            return;
+        }
+
+        CustomEntry custom = toCustomEntry(item);
+        if (custom != null) {
+            out.writeByte(TAG_CUSTOM);
+            writeString(out, custom.id);
+            writeVarInt(out, item.getAmount());
+            writeString(out, custom.reforge != null ? custom.reforge : "");
+
+            writeVarInt(out, custom.enchants.size());
+            for (Map.Entry<String, Integer> enchant : custom.enchants.entrySet()) {
+                writeString(out, enchant.getKey());
+                writeVarInt(out, enchant.getValue());
+            }
+
+            writeVarInt(out, custom.pdc.size());
+            for (Map.Entry<String, String> entry : custom.pdc.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+            return;
+        }
+
+        out.writeByte(TAG_BUKKIT);
+        byte[] serialized = serializeBukkit(item);
+        writeVarInt(out, serialized.length);
+        out.write(serialized);
+    }
+
+    private ItemStack readItem(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case TAG_EMPTY:
+                return null;
+            case TAG_CUSTOM: {
+                String id = readString(in);
+                int amount = readVarInt(in);
+                if (amount < 1) throw new IOException("Invalid item amount " + amount);
+                String reforge = readString(in);
+
+                Map<String, Integer> enchants = new LinkedHashMap<>();
+                int enchantCount = readCount(in);
+                for (int i = 0; i < enchantCount; i++) {
+                    enchants.put(readString(in), readVarInt(in));
+                }
+
+                Map<String, String> pdc = new LinkedHashMap<>();
+                int pdcCount = readCount(in);
+                for (int i = 0; i < pdcCount; i++) {
+                    pdc.put(readString(in), readString(in));
+                }
+
+                ItemStack item = buildCustom(id, reforge.isEmpty() ? null : reforge, enchants, pdc);
+                if (item == null) {
+                    logger.log(Level.WARNING, "Stored item " + id + " no longer exists and was dropped");
+                    return null;
+                }
+                item.setAmount(amount);
+                return item;
+            }
+            case TAG_BUKKIT: {
+                byte[] serialized = new byte[readLength(in)];
+                in.readFully(serialized);
+                return deserializeBukkit(serialized);
+            }
+            default:
+                throw new IOException("Unknown item tag " + tag);
+        }
+    }
+
+    /**
+     * Describe an item relative to its prototype, or return null if that
+     * description would not rebuild an identical item.
+     */
+    private CustomEntry toCustomEntry(ItemStack item) {
+        if (!item.hasItemMeta()) return null;
+
+        ItemMeta meta = item.getItemMeta();
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        String id = container.get(itemIdKey, PersistentDataType.STRING);
+        if (id == null) return null;
+
+        ItemStack prototype = prototypes.apply(id);
+        if (prototype == null) return null;
+
+        CustomEntry entry = new CustomEntry(id);
+
+        // Enchantments that differ from the prototype
+        Map<Enchantment, Integer> base = prototype.getEnchantments();
+        for (Map.Entry<Enchantment, Integer> enchant : item.getEnchantments().entrySet()) {
+            if (!enchant.getValue().equals(base.get(enchant.getKey()))) {
+                entry.enchants.put(enchant.getKey().getKey().toString(), enchant.getValue());
+            }
+        }
+
+        // String PDC entries other than the id; anything else is not representable
+        PersistentDataContainer baseContainer = prototype.getItemMeta().getPersistentDataContainer();
+        for (NamespacedKey key : container.getKeys()) {
+            if (key.equals(itemIdKey)) continue;
+            if (!container.has(key, PersistentDataType.STRING)) return null;
+
+            String value = container.get(key, PersistentDataType.STRING);
+            if (key.equals(reforgeKey)) {
+                entry.reforge = value;
+            } else if (!value.equals(baseContainer.get(key, PersistentDataType.STRING))) {
+                entry.pdc.put(key.toString(), value);
+            }
+        }
+
+        // Only trust the compact form if it rebuilds the exact same item
+        ItemStack rebuilt = buildCustom(id, entry.reforge, entry.enchants, entry.pdc);
+        return rebuilt != null && rebuilt.isSimilar(item) ? entry : null;
+    }
+
+    private ItemStack buildCustom(String id, String reforge, Map<String, Integer> enchants, Map<String, String> pdc) {
+        ItemStack item = prototypes.apply(id);
+        if (item == null) return null;
+
+        if (reforge == null && enchants.isEmpty() && pdc.isEmpty()) return item;
+
+        ItemMeta meta = item.getItemMeta();
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        if (reforge != null) {
+            container.set(reforgeKey, PersistentDataType.STRING, reforge);
+        }
+        for (Map.Entry<String, String> entry : pdc.entrySet()) {
+            NamespacedKey key = NamespacedKey.fromString(entry.getKey());
+            if (key != null) {
+                container.set(key, PersistentDataType.STRING, entry.getValue());
+            }
+        }
+        for (Map.Entry<String, Integer> enchant : enchants.entrySet()) {
+            NamespacedKey key = NamespacedKey.fromString(enchant.getKey());
+            Enchantment enchantment = key != null ? Enchantment.getByKey(key) : null;
+            if (enchantment != null) {
+                meta.addEnchant(enchantment, enchant.getValue(), true);
+            }
+        }
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private byte[] serializeBukkit(ItemStack item) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BukkitObjectOutputStream out = new BukkitObjectOutputStream(bytes)) {
+            out.writeObject(item);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ItemStack deserializeBukkit(byte[] data) throws IOException {
+        try (BukkitObjectInputStream in = new BukkitObjectInputStream(new ByteArrayInputStream(data))) {
+            return (ItemStack) in.readObject();
+        } catch (ClassNotFoundException | RuntimeException e) {
+            throw new IOException("Invalid serialized item", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 2);
+        try (OutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Inflate a body without letting a corrupt stream grow past {@link #MAX_BODY}.
+     */
+    private static byte[] inflate(byte[] data, int offset) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length * 4);
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(data, offset, data.length - offset))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+                if (bytes.size() > MAX_BODY) throw new IOException("Item data is too large");
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("VarInt is too long");
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read a byte length, which has to fit in what is left of the input.
+     */
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0 || length > in.available()) throw new IOException("Invalid length " + length);
+        return length;
+    }
+
+    /**
+     * Read an entry count. Entries take at least a byte each, so the count
+     * can't exceed what is left of the input either.
+     */
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = readVarInt(in);
+        if (count < 0 || count > in.available()) throw new IOException("Invalid entry count " + count);
+        return count;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A custom item described relative to its prototype.
+     */
+    private static class CustomEntry {
+        private final String id;
+        private String reforge;
+        private final Map<String, Integer> enchants = new LinkedHashMap<>();
+        private final Map<String, String> pdc = new LinkedHashMap<>();
+
+        private CustomEntry(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.skyblock.items.reforge.Reforge;
 import com.skyblock.items.reforge.ReforgeManager;
 import com.skyblock.items.stats.ItemStats;
 import com.skyblock.items.stats.StatType;
+import com.skyblock.player.SkyblockPlayer;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.ConfigurationSection;
@@ -30,17 +31,22 @@ import java.util.logging.Level;
 public class ItemManager implements Listener {
 
     private final SkyblockPlugin plugin;
-    private final Map<String, CustomItem> itemRegistry;
+    private volatile ItemCatalog catalog;
     private final ReforgeManager reforgeManager;
     private final NamespacedKey itemIdKey;
-    private final Map<UUID, Long> cooldowns;
+    private final Map<String, Prototype> prototypes;
+    private final EquipmentTracker equipmentTracker;
+    private final ItemCodec itemCodec;
+    private int registryVersion;
 
     public ItemManager(SkyblockPlugin plugin) {
         this.plugin = plugin;
-        this.itemRegistry = new HashMap<>();
+        this.catalog = ItemCatalog.empty();
+        this.prototypes = new HashMap<>();
         this.reforgeManager = new ReforgeManager(plugin);
         this.itemIdKey = new NamespacedKey(plugin, CustomItem.NBT_ITEM_ID);
-        this.cooldowns = new HashMap<>();
+        this.equipmentTracker = new EquipmentTracker(plugin, this);
+        this.itemCodec = new ItemCodec(plugin, this);
 
         loadItems();
     }
@@ -61,7 +67,7 @@ public class ItemManager implements Listener {
             return;
         }
 
-        int count = 0;
+        List<CustomItem> items = new ArrayList<>();
         for (String itemId : itemsSection.getKeys(false)) {
             ConfigurationSection itemSection = itemsSection.getConfigurationSection(itemId);
             if (itemSection == null) continue;
@@ -69,15 +75,16 @@ public class ItemManager implements Listener {
             try {
                 CustomItem item = loadItemFromConfig(itemId, itemSection);
                 if (item != null) {
-                    registerItem(item);
-                    count++;
+                    items.add(item);
                 }
             } catch (Exception e) {
                 plugin.log(Level.WARNING, "Failed to load item " + itemId + ": " + e.getMessage());
             }
         }
 
-        plugin.log(Level.INFO, "Loaded " + count + " custom items.");
+        // Build the indexes once and swap them in whole
+        catalog = ItemCatalog.of(items);
+        plugin.log(Level.INFO, "Loaded " + catalog.size() + " custom items.");
 
         // Load reforges
         reforgeManager.loadReforges(config);
@@ -137,38 +144,69 @@ public class ItemManager implements Listener {
     /**
      * Register a custom item.
      */
-    public void registerItem(CustomItem item) {
-        itemRegistry.put(item.getId().toUpperCase(), item);
+    public synchronized void registerItem(CustomItem item) {
+        String id = item.getId().toUpperCase();
+        Map<String, CustomItem> items = new LinkedHashMap<>();
+        for (CustomItem existing : catalog.getAll()) {
+            items.put(existing.getId().toUpperCase(), existing);
+        }
+        items.put(id, item);
+
+        catalog = ItemCatalog.of(items.values());
+        prototypes.remove(id);
     }
 
     /**
      * Get a custom item by ID.
      */
     public CustomItem getItem(String id) {
-        return itemRegistry.get(id.toUpperCase());
+        return catalog.get(id);
     }
 
     /**
      * Get all registered items.
      */
     public Collection<CustomItem> getAllItems() {
-        return itemRegistry.values();
+        return catalog.getAll();
     }
 
     /**
      * Get all item IDs.
      */
     public Set<String> getItemIds() {
-        return itemRegistry.keySet();
+        return catalog.getIds();
+    }
+
+    /**
+     * Get the current item catalog (immutable; replaced on reload).
+     */
+    public ItemCatalog getCatalog() {
+        return catalog;
     }
 
     /**
      * Create an ItemStack from a custom item ID.
+     * Returns a clone of a cached prototype, so the caller may modify it freely.
      */
     public ItemStack createItemStack(String itemId) {
-        CustomItem item = getItem(itemId);
+        String id = itemId.toUpperCase();
+        CustomItem item = catalog.get(id);
         if (item == null) return null;
-        return item.build(itemIdKey);
+
+        Prototype prototype = prototypes.get(id);
+        if (prototype == null || prototype.version != registryVersion || prototype.item != item) {
+            prototype = new Prototype(item, item.build(itemIdKey), registryVersion);
+            prototypes.put(id, prototype);
+        }
+        return prototype.stack.clone();
+    }
+
+    /**
+     * Get the registry version. It changes whenever items are reloaded, so
+     * anything caching {@link CustomItem} references can detect stale entries.
+     */
+    public int getRegistryVersion() {
+        return registryVersion;
     }
 
     /**
@@ -230,9 +268,26 @@ public class ItemManager implements Listener {
                 player.getWorld().dropItemNaturally(player.getLocation(), remaining);
             }
         }
+
+        // Adding to the inventory fires no event, and the item may land in the held slot
+        equipmentTracker.scheduleRefresh(player);
         return true;
     }
 
+    /**
+     * Get the equipment tracker.
+     */
+    public EquipmentTracker getEquipmentTracker() {
+        return equipmentTracker;
+    }
+
+    /**
+     * Get the codec used for stored inventories.
+     */
+    public ItemCodec getItemCodec() {
+        return itemCodec;
+    }
+
     /**
      * Get the reforge manager.
      */
@@ -244,35 +299,39 @@ public class ItemManager implements Listener {
      * Get items by category.
      */
     public List<CustomItem> getItemsByCategory(ItemCategory category) {
-        List<CustomItem> items = new ArrayList<>();
-        for (CustomItem item : itemRegistry.values()) {
-            if (item.getCategory() == category) {
-                items.add(item);
-            }
-        }
-        return items;
+        return catalog.getByCategory(category);
     }
 
     /**
      * Get items by rarity.
      */
     public List<CustomItem> getItemsByRarity(Rarity rarity) {
-        List<CustomItem> items = new ArrayList<>();
-        for (CustomItem item : itemRegistry.values()) {
-            if (item.getRarity() == rarity) {
-                items.add(item);
-            }
-        }
-        return items;
+        return catalog.getByRarity(rarity);
     }
 
     /**
      * Reload items from configuration.
+     * The old catalog stays visible until the new one is fully built.
      */
     public void reload() {
-        itemRegistry.clear();
-        cooldowns.clear();
         loadItems();
+        registryVersion++;
+        prototypes.clear();
+    }
+
+    /**
+     * A built ItemStack for an item, never handed out directly.
+     */
+    private static class Prototype {
+        private final CustomItem item;
+        private final ItemStack stack;
+        private final int version;
+
+        private Prototype(CustomItem item, ItemStack stack, int version) {
+            this.item = item;
+            this.stack = stack;
+            this.version = version;
+        }
     }
 
     // Event handlers for item abilities
@@ -286,7 +345,8 @@ public class ItemManager implements Listener {
 
         if (item == null) return;
 
-        CustomItem customItem = getCustomItem(item);
+        // The tracker already resolved the held items; only a mismatch needs a meta lookup
+        CustomItem customItem = equipmentTracker.getHeld(player, event.getHand(), item);
         if (customItem == null || !customItem.hasAbility()) return;
 
         ItemAbility ability = customItem.getAbility();
@@ -307,14 +367,23 @@ public class ItemManager implements Listener {
 
         if (!triggered) return;
 
-        // Check cooldown
-        String cooldownKey = player.getUniqueId() + ":" + customItem.getId();
-        Long lastUse = cooldowns.get(player.getUniqueId());
-        if (lastUse != null && ability.hasCooldown()) {
-            long remaining = (lastUse + ability.getCooldownSeconds() * 1000) - System.currentTimeMillis();
+        // Check cooldown (tracked per player and per ability)
+        String cooldownKey = "ability:" + customItem.getId().toUpperCase();
+        if (ability.hasCooldown()) {
+            long remaining = plugin.getCooldowns().getRemainingTicks(player.getUniqueId(), cooldownKey);
             if (remaining > 0) {
                 player.sendMessage(plugin.getConfigManager().getMessage("items.ability.cooldown")
-                        .replace("{time}", String.format("%.1f", remaining / 1000.0)));
+                        .replace("{time}", String.format("%.1f", remaining / 20.0)));
+                return;
+            }
+        }
+
+        // Check and deduct mana
+        if (ability.getManaCost() > 0) {
+            SkyblockPlayer sbPlayer = plugin.getPlayerManager().getPlayer(player);
+            if (sbPlayer == null || !sbPlayer.spendMana(ability.getManaCost())) {
+                player.sendMessage(plugin.getConfigManager().getMessage("items.ability.no-mana")
+                        .replace("{cost}", String.valueOf(ability.getManaCost())));
                 return;
             }
         }
@@ -324,7 +393,7 @@ public class ItemManager implements Listener {
 
         // Set cooldown
         if (ability.hasCooldown()) {
-            cooldowns.put(player.getUniqueId(), System.currentTimeMillis());
+            plugin.getCooldowns().set(player.getUniqueId(), cooldownKey, ability.getCooldownSeconds() * 20L);
         }
     }
 
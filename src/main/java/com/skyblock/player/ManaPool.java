@@ -0,0 +1,73 @@
+package com.skyblock.player;
+
+/**
+ * A player's mana, regenerated lazily.
+ *
+ * Only the value at the last update and the tick it was taken are stored.
+ * The current value is derived from the elapsed ticks whenever it is read or
+ * spent, so no task has to touch idle players.
+ */
+public class ManaPool {
+
+    private double value;
+    private long lastUpdateTick;
+    private boolean initialized;
+
+    /**
+     * Get the current mana.
+     *
+     * @param now       Current server tick
+     * @param maxMana   Maximum mana (from intelligence)
+     * @param regenRate Mana regenerated per tick
+     */
+    public synchronized double get(long now, double maxMana, double regenRate) {
+        update(now, maxMana, regenRate);
+        return value;
+    }
+
+    /**
+     * Spend mana if there is enough.
+     *
+     * @return true if the cost was deducted
+     */
+    public synchronized boolean trySpend(double cost, long now, double maxMana, double regenRate) {
+        update(now, maxMana, regenRate);
+        if (value < cost) return false;
+        value -= cost;
+        return true;
+    }
+
+    /**
+     * Ticks until the pool is full, or 0 if it already is.
+     */
+    public synchronized long ticksUntilFull(long now, double maxMana, double regenRate) {
+        update(now, maxMana, regenRate);
+        if (value >= maxMana || regenRate <= 0) return 0;
+        return (long) Math.ceil((maxMana - value) / regenRate);
+    }
+
+    /**
+     * Set the current mana directly.
+     */
+    public synchronized void set(double value, long now) {
+        this.value = Math.max(0, value);
+        this.lastUpdateTick = now;
+        this.initialized = true;
+    }
+
+    private void update(long now, double maxMana, double regenRate) {
+        if (!initialized) {
+            // New pools start full
+            set(maxMana, now);
+            return;
+        }
+
+        long elapsed = now - lastUpdateTick;
+        if (elapsed > 0 && value < maxMana) {
+            value = Math.min(maxMana, value + elapsed * regenRate);
+        }
+        // Max mana can drop when gear is removed
+        value = Math.min(value, maxMana);
+        lastUpdateTick = now;
+    }
+}
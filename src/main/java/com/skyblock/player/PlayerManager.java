@@ -28,11 +28,10 @@ public class PlayerManager implements Listener {
 
     private final SkyblockPlugin plugin;
     private final Cache<UUID, SkyblockPlayer> playerCache;
-    private final Map<UUID, Long> profileSwitchCooldowns;
+    private static final String PROFILE_SWITCH_COOLDOWN = "profile_switch";
 
     public PlayerManager(SkyblockPlugin plugin) {
         this.plugin = plugin;
-        this.profileSwitchCooldowns = new HashMap<>();
 
         // Initialize cache
         int cacheSize = plugin.getConfigManager().getConfig().getInt("cache.player-cache-size", 1000);
@@ -139,6 +138,7 @@ public class PlayerManager implements Listener {
                 int profileId = keys.getInt(1);
                 PlayerProfile profile = new PlayerProfile(profileId, playerUuid, name, now);
                 profile.setPurse(startingCoins);
+                plugin.getEconomyManager().recordCoinFlow("Starting coins", startingCoins);
 
                 // Initialize skills for this profile
                 initializeSkills(conn, profileId);
@@ -179,6 +179,8 @@ public class PlayerManager implements Listener {
             if (rs.next()) {
                 PlayerProfile profile = profileFromResultSet(rs);
                 loadProfileData(conn, profile);
+                plugin.getEconomyManager().applyDeferredCredits(conn, profile);
+                plugin.getEconomyManager().accrueBankInterest(profile);
                 player.setActiveProfile(profile);
             } else {
                 // No active profile, try to find any profile
@@ -190,6 +192,8 @@ public class PlayerManager implements Listener {
                     if (anyRs.next()) {
                         PlayerProfile profile = profileFromResultSet(anyRs);
                         loadProfileData(conn, profile);
+                        plugin.getEconomyManager().applyDeferredCredits(conn, profile);
+                        plugin.getEconomyManager().accrueBankInterest(profile);
                         player.setActiveProfile(profile);
 
                         // Set as active
@@ -243,10 +247,12 @@ public class PlayerManager implements Listener {
         long createdAt = rs.getLong("created_at");
         double purse = rs.getDouble("purse");
         double bank = rs.getDouble("bank_balance");
+        long bankInterestAt = rs.getLong("bank_interest_at");
 
         PlayerProfile profile = new PlayerProfile(id, playerUuid, name, createdAt);
         profile.setPurse(purse);
         profile.setBankBalance(bank);
+        profile.setBankInterestAt(bankInterestAt);
         return profile;
     }
 
@@ -282,10 +288,11 @@ public class PlayerManager implements Listener {
         plugin.getDatabaseManager().executeUpdateAsync(conn -> {
             // Save profile
             try (PreparedStatement stmt = conn.prepareStatement(
-                    "UPDATE profiles SET purse = ?, bank_balance = ? WHERE id = ?")) {
+                    "UPDATE profiles SET purse = ?, bank_balance = ?, bank_interest_at = ? WHERE id = ?")) {
                 stmt.setDouble(1, profile.getPurse());
                 stmt.setDouble(2, profile.getBankBalance());
-                stmt.setInt(3, profile.getId());
+                stmt.setLong(3, profile.getBankInterestAt());
+                stmt.setInt(4, profile.getId());
                 stmt.executeUpdate();
             }
 
@@ -384,8 +391,7 @@ public class PlayerManager implements Listener {
 
         // Check cooldown
         long cooldownSeconds = plugin.getConfigManager().getConfig().getLong("profiles.switch-cooldown", 5);
-        Long lastSwitch = profileSwitchCooldowns.get(uuid);
-        if (lastSwitch != null && System.currentTimeMillis() - lastSwitch < cooldownSeconds * 1000) {
+        if (plugin.getCooldowns().isOnCooldown(uuid, PROFILE_SWITCH_COOLDOWN)) {
             return CompletableFuture.completedFuture(false);
         }
 
@@ -404,6 +410,8 @@ public class PlayerManager implements Listener {
 
                 PlayerProfile newProfile = profileFromResultSet(rs);
                 loadProfileData(conn, newProfile);
+                plugin.getEconomyManager().applyDeferredCredits(conn, newProfile);
+                plugin.getEconomyManager().accrueBankInterest(newProfile);
 
                 // Set as active
                 setProfileActive(conn, uuid, profileId);
@@ -414,7 +422,7 @@ public class PlayerManager implements Listener {
                 Bukkit.getScheduler().runTask(plugin, () -> Bukkit.getPluginManager().callEvent(event));
 
                 sbPlayer.setActiveProfile(newProfile);
-                profileSwitchCooldowns.put(uuid, System.currentTimeMillis());
+                plugin.getCooldowns().set(uuid, PROFILE_SWITCH_COOLDOWN, cooldownSeconds * 20);
 
                 return true;
             }
@@ -436,12 +444,26 @@ public class PlayerManager implements Listener {
                 }
             }
 
+            // Coins held by the profile (including deferred credits) leave the economy
+            double held = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT purse + bank_balance + (SELECT COALESCE(SUM(amount), 0) FROM deferred_credits WHERE profile_id = profiles.id) "
+                            + "FROM profiles WHERE id = ? AND player_uuid = ?")) {
+                stmt.setInt(1, profileId);
+                stmt.setString(2, playerUuid.toString());
+                ResultSet rs = stmt.executeQuery();
+                if (rs.next()) held = rs.getDouble(1);
+            }
+
             // Delete the profile (cascades to related tables)
             try (PreparedStatement stmt = conn.prepareStatement(
                     "DELETE FROM profiles WHERE id = ? AND player_uuid = ?")) {
                 stmt.setInt(1, profileId);
                 stmt.setString(2, playerUuid.toString());
                 int affected = stmt.executeUpdate();
+                if (affected > 0) {
+                    plugin.getEconomyManager().recordCoinFlow("Profile deleted", -held);
+                }
                 return affected > 0;
             }
         });
@@ -458,6 +480,6 @@ public class PlayerManager implements Listener {
         UUID uuid = event.getPlayer().getUniqueId();
         savePlayer(uuid);
         playerCache.invalidate(uuid);
-        profileSwitchCooldowns.remove(uuid);
+        plugin.getCooldowns().clear(uuid, PROFILE_SWITCH_COOLDOWN);
     }
 }
@@ -18,6 +18,7 @@ public class PlayerProfile {
     // Economy
     private double purse;
     private double bankBalance;
+    private long bankInterestAt;
 
     // Skills
     private final Map<String, SkillData> skills;
@@ -74,6 +75,17 @@ public class PlayerProfile {
         this.bankBalance = bankBalance;
     }
 
+    /**
+     * Get the time bank interest was last settled (0 if never).
+     */
+    public long getBankInterestAt() {
+        return bankInterestAt;
+    }
+
+    public void setBankInterestAt(long bankInterestAt) {
+        this.bankInterestAt = bankInterestAt;
+    }
+
     public Map<String, SkillData> getSkills() {
         return skills;
     }
@@ -1,5 +1,10 @@
 package com.skyblock.player;
 
+import com.skyblock.items.stats.ItemStats;
+import com.skyblock.items.stats.StatType;
+
+import java.util.Map;
+
 /**
  * Represents calculated player stats from all sources.
  * Stats are calculated from skills, armor, weapons, pets, accessories, etc.
@@ -340,6 +345,44 @@ public class PlayerStats {
         return baseDamage * strengthMultiplier * critMultiplier;
     }
 
+    /**
+     * Add a single item stat.
+     */
+    public void addStat(StatType type, double amount) {
+        switch (type) {
+            case DAMAGE -> addDamage(amount);
+            case STRENGTH -> addStrength(amount);
+            case CRIT_CHANCE -> addCritChance(amount);
+            case CRIT_DAMAGE -> addCritDamage(amount);
+            case ATTACK_SPEED -> addAttackSpeed(amount);
+            case FEROCITY -> addFerocity(amount);
+            case ABILITY_DAMAGE -> addAbilityDamage(amount);
+            case HEALTH -> addHealth(amount);
+            case DEFENSE -> addDefense(amount);
+            case TRUE_DEFENSE -> addTrueDefense(amount);
+            case SPEED -> addSpeed(amount);
+            case INTELLIGENCE -> addIntelligence(amount);
+            case MAGIC_FIND -> addMagicFind(amount);
+            case PET_LUCK -> addPetLuck(amount);
+            case SEA_CREATURE_CHANCE -> addSeaCreatureChance(amount);
+            case MINING_SPEED -> addMiningSpeed(amount);
+            case MINING_FORTUNE -> addMiningFortune(amount);
+            case FARMING_FORTUNE -> addFarmingFortune(amount);
+            case FORAGING_FORTUNE -> addForagingFortune(amount);
+            case FISHING_SPEED -> addFishingSpeed(amount);
+        }
+    }
+
+    /**
+     * Add all stats from an item.
+     */
+    public void addItemStats(ItemStats stats) {
+        if (stats == null) return;
+        for (Map.Entry<StatType, Double> entry : stats.getStats().entrySet()) {
+            addStat(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Combine stats from another PlayerStats object.
      */
@@ -1,6 +1,13 @@
 package com.skyblock.player;
 
 import com.skyblock.SkyblockPlugin;
+import com.skyblock.items.CustomItem;
+import com.skyblock.items.EquipmentTracker;
+import com.skyblock.items.ItemCategory;
+import com.skyblock.utils.ColorUtils;
+import com.skyblock.utils.TimingWheel;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
@@ -18,6 +25,8 @@ public class SkyblockPlayer {
     private final long firstJoin;
     private PlayerProfile activeProfile;
     private PlayerStats cachedStats;
+    private final ManaPool manaPool = new ManaPool();
+    private TimingWheel.Timer manaDisplayTimer;
 
     public SkyblockPlayer(SkyblockPlugin plugin, UUID uuid, String username, long firstJoin) {
         this.plugin = plugin;
@@ -124,10 +133,10 @@ public class SkyblockPlayer {
     }
 
     /**
-     * Get the player's bank balance.
+     * Get the player's bank balance, including any interest owed.
      */
     public double getBankBalance() {
-        return activeProfile != null ? activeProfile.getBankBalance() : 0;
+        return plugin.getEconomyManager().getBankBalance(this);
     }
 
     /**
@@ -184,6 +193,70 @@ public class SkyblockPlayer {
         }
     }
 
+    /**
+     * Get the player's maximum mana.
+     */
+    public double getMaxMana() {
+        return Math.max(0, getStats().getIntelligence());
+    }
+
+    /**
+     * Get the player's current mana.
+     */
+    public double getMana() {
+        double maxMana = getMaxMana();
+        return manaPool.get(plugin.getTimingWheel().getCurrentTick(), maxMana, getManaRegenPerTick(maxMana));
+    }
+
+    /**
+     * Spend mana if the player has enough.
+     *
+     * @return true if the mana was deducted
+     */
+    public boolean spendMana(double cost) {
+        if (cost <= 0) return true;
+
+        double maxMana = getMaxMana();
+        if (!manaPool.trySpend(cost, plugin.getTimingWheel().getCurrentTick(), maxMana, getManaRegenPerTick(maxMana))) {
+            return false;
+        }
+        showMana();
+        return true;
+    }
+
+    private double getManaRegenPerTick(double maxMana) {
+        double percent = plugin.getConfigManager().getConfig().getDouble("mana.regen-percent", 2.0);
+        return maxMana * percent / 100.0 / 20.0;
+    }
+
+    /**
+     * Show mana in the action bar, then keep refreshing once a second until
+     * it is full. Players with full mana cost nothing.
+     */
+    private void showMana() {
+        if (!plugin.getConfigManager().getConfig().getBoolean("mana.action-bar.enabled", true)) return;
+
+        Player player = getBukkitPlayer();
+        if (player == null) return;
+
+        double maxMana = getMaxMana();
+        String format = plugin.getConfigManager().getConfig().getString("mana.action-bar.format",
+                "&b{mana}/{max_mana}✎ Mana");
+        String message = format
+                .replace("{mana}", String.valueOf((int) getMana()))
+                .replace("{max_mana}", String.valueOf((int) maxMana));
+        player.spigot().sendMessage(ChatMessageType.ACTION_BAR,
+                TextComponent.fromLegacyText(ColorUtils.colorize(message)));
+
+        if (manaDisplayTimer != null) {
+            manaDisplayTimer.cancel();
+            manaDisplayTimer = null;
+        }
+        if (getMana() < maxMana) {
+            manaDisplayTimer = plugin.getTimingWheel().schedule(20, this::showMana);
+        }
+    }
+
     /**
      * Get calculated player stats (cached).
      */
@@ -224,9 +297,25 @@ public class SkyblockPlayer {
             }
         }
 
+        // Add stats from equipped armor and the held item
+        EquipmentTracker.Equipment equipment = plugin.getItemManager().getEquipmentTracker().getEquipment(uuid);
+        if (equipment != null) {
+            for (CustomItem armor : equipment.getArmor()) {
+                if (armor != null) {
+                    stats.addItemStats(armor.getStats());
+                }
+            }
+
+            // Armor and accessories only count when worn or in the accessory bag
+            CustomItem held = equipment.getMainHand();
+            ItemCategory heldCategory = held != null ? held.getCategory() : null;
+            if (held != null && (heldCategory == null
+                    || (!heldCategory.isArmor() && heldCategory != ItemCategory.ACCESSORY))) {
+                stats.addItemStats(held.getStats());
+            }
+        }
+
         // TODO: Phase 2 - Add stats from:
-        // - Equipped armor
-        // - Held weapon
         // - Active pet
         // - Accessories
         // - Fairy souls
@@ -0,0 +1,91 @@
+package com.skyblock.utils;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player cooldowns keyed by an arbitrary string, e.g. "ability:ASPECT_OF_THE_END".
+ * Entries remove themselves through the {@link TimingWheel}, so nothing is swept.
+ */
+public class CooldownTracker {
+
+    private final TimingWheel wheel;
+    private final Map<Key, TimingWheel.Timer> cooldowns;
+
+    public CooldownTracker(TimingWheel wheel) {
+        this.wheel = wheel;
+        this.cooldowns = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Put a player on cooldown, replacing any existing cooldown for the key.
+     */
+    public void set(UUID playerUuid, String key, long ticks) {
+        Key cooldownKey = new Key(playerUuid, key);
+        TimingWheel.Timer[] holder = new TimingWheel.Timer[1];
+        holder[0] = wheel.schedule(ticks, () -> cooldowns.remove(cooldownKey, holder[0]));
+
+        TimingWheel.Timer previous = cooldowns.put(cooldownKey, holder[0]);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Check if a player is on cooldown.
+     */
+    public boolean isOnCooldown(UUID playerUuid, String key) {
+        return getRemainingTicks(playerUuid, key) > 0;
+    }
+
+    /**
+     * Get the ticks left on a cooldown, or 0 if there is none.
+     */
+    public long getRemainingTicks(UUID playerUuid, String key) {
+        TimingWheel.Timer timer = cooldowns.get(new Key(playerUuid, key));
+        if (timer == null || !timer.isPending()) return 0;
+        return Math.max(0, timer.getDeadline() - wheel.getCurrentTick());
+    }
+
+    /**
+     * Clear a single cooldown.
+     */
+    public void clear(UUID playerUuid, String key) {
+        TimingWheel.Timer timer = cooldowns.remove(new Key(playerUuid, key));
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+
+    /**
+     * Clear every cooldown.
+     */
+    public void clearAll() {
+        cooldowns.values().forEach(TimingWheel.Timer::cancel);
+        cooldowns.clear();
+    }
+
+    private static final class Key {
+        private final UUID playerUuid;
+        private final String key;
+
+        private Key(UUID playerUuid, String key) {
+            this.playerUuid = playerUuid;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return playerUuid.equals(other.playerUuid) && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerUuid, key);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.skyblock.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hierarchical timing wheel driven by the server tick.
+ *
+ * Four levels of 64 slots cover 64^4 ticks (about 9.7 days); longer delays are
+ * parked in the top level and re-inserted when they cascade. Scheduling and
+ * cancelling are O(1), and each tick only touches the current slot, so expiries
+ * never require scanning a collection.
+ */
+public final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final Logger logger;
+    private final Timer[][] wheels = new Timer[LEVELS][SLOTS];
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Run a task after the given number of ticks (minimum 1).
+     * The task runs on the thread that calls {@link #tick()}.
+     */
+    public synchronized Timer schedule(long delayTicks, Runnable task) {
+        Timer timer = new Timer(this, currentTick + Math.max(1, delayTicks), task);
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Advance the wheel by one tick and run everything that is due.
+     */
+    public void tick() {
+        List<Timer> due;
+        synchronized (this) {
+            currentTick++;
+
+            // Cascade higher levels whenever the level below wraps around
+            for (int level = 1; level < LEVELS; level++) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) break;
+                int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                Timer timer = detachSlot(level, slot);
+                while (timer != null) {
+                    Timer next = timer.next;
+                    timer.prev = timer.next = null;
+                    insert(timer);
+                    timer = next;
+                }
+            }
+
+            int slot = (int) (currentTick & SLOT_MASK);
+            Timer timer = detachSlot(0, slot);
+            if (timer == null) return;
+
+            due = new ArrayList<>();
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.prev = timer.next = null;
+                timer.wheel = null;
+                due.add(timer);
+                size--;
+                timer = next;
+            }
+        }
+
+        for (Timer timer : due) {
+            try {
+                timer.task.run();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Timer task failed", e);
+            }
+        }
+    }
+
+    /**
+     * Get the number of ticks since the wheel started.
+     */
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Get the number of pending timers.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void insert(Timer timer) {
+        long delta = timer.deadline - currentTick;
+        long target = delta >= MAX_SPAN ? currentTick + MAX_SPAN - 1 : timer.deadline;
+
+        int level = 0;
+        while (level < LEVELS - 1 && Math.max(delta, 0) >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+
+        int slot = (int) ((target >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timer.level = level;
+        timer.slot = slot;
+        timer.next = wheels[level][slot];
+        if (timer.next != null) timer.next.prev = timer;
+        timer.prev = null;
+        wheels[level][slot] = timer;
+    }
+
+    private Timer detachSlot(int level, int slot) {
+        Timer head = wheels[level][slot];
+        wheels[level][slot] = null;
+        return head;
+    }
+
+    private synchronized boolean remove(Timer timer) {
+        if (timer.wheel == null) return false;
+
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            wheels[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) timer.next.prev = timer.prev;
+
+        timer.prev = timer.next = null;
+        timer.wheel = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Handle to a scheduled task.
+     */
+    public static final class Timer {
+        private TimingWheel wheel;
+        private final long deadline;
+        private final Runnable task;
+        private int level;
+        private int slot;
+        private Timer prev;
+        private Timer next;
+
+        private Timer(TimingWheel wheel, long deadline, Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * Cancel the task if it has not run yet.
+         *
+         * @return true if the task was pending and is now cancelled
+         */
+        public boolean cancel() {
+            TimingWheel owner = wheel;
+            return owner != null && owner.remove(this);
+        }
+
+        /**
+         * Get the tick this task is due on.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Check if the task is still waiting to run.
+         */
+        public boolean isPending() {
+            return wheel != null;
+        }
+    }
+}
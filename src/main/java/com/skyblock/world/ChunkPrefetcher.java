@@ -0,0 +1,257 @@
+package com.skyblock.world;
+
+import com.skyblock.SkyblockPlugin;
+import com.skyblock.utils.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the chunks around an island spawn before anyone teleports there.
+ *
+ * As soon as a teleport looks likely, the chunks around the spawn are loaded
+ * a few per tick within a time budget and pinned with plugin chunk tickets.
+ * Teleports wait for the returned future, so the player arrives in chunks
+ * that are already there instead of stalling the tick that moves them. The
+ * tickets are held for a grace window after the chunks are ready, and every
+ * new request for the same spawn extends it.
+ *
+ * Main thread only.
+ */
+public class ChunkPrefetcher {
+
+    private final SkyblockPlugin plugin;
+    private final WorldManager worldManager;
+
+    private final boolean enabled;
+    private final int radius;
+    private final long tickBudgetNanos;
+    private final long graceTicks;
+    private final long cooldownMillis;
+
+    private final Map<String, Prefetch> prefetches;
+    // When each player last had a guess acted on
+    private final Map<UUID, Long> lastGuess;
+    private final Deque<Prefetch> loading;
+    private BukkitTask task;
+
+    private long requests;
+    private long hits;
+
+    public ChunkPrefetcher(SkyblockPlugin plugin, WorldManager worldManager) {
+        this.plugin = plugin;
+        this.worldManager = worldManager;
+        this.prefetches = new HashMap<>();
+        this.loading = new ArrayDeque<>();
+        this.lastGuess = new HashMap<>();
+
+        FileConfiguration config = plugin.getConfigManager().getWorldsConfig();
+        this.enabled = config.getBoolean("worlds.prefetch.enabled", true);
+        this.radius = Math.max(0, config.getInt("worlds.prefetch.radius", 2));
+        this.tickBudgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getLong("worlds.prefetch.tick_budget_ms", 3)));
+        this.graceTicks = Math.max(1, config.getLong("worlds.prefetch.grace_seconds", 15)) * 20L;
+        this.cooldownMillis = Math.max(0, config.getLong("worlds.prefetch.guess_cooldown_seconds", 5)) * 1000L;
+    }
+
+    /**
+     * Check if a guess at where a player is headed, such as a name typed
+     * after /visit, may start a prefetch. Each player gets one per cooldown,
+     * so nobody can load island after island by typing names.
+     */
+    public boolean tryGuess(UUID player) {
+        if (!enabled) return false;
+
+        long now = System.currentTimeMillis();
+        Long last = lastGuess.get(player);
+        if (last != null && now - last < cooldownMillis) return false;
+
+        lastGuess.put(player, now);
+        return true;
+    }
+
+    /**
+     * Forget a player who left.
+     */
+    public void forget(UUID player) {
+        lastGuess.remove(player);
+    }
+
+    /**
+     * Start loading the chunks around a location, or extend the grace window
+     * if they are already loading or held.
+     *
+     * @return Completes on the main thread once the chunks are loaded, or
+     *         exceptionally if the world is unloaded first
+     */
+    public CompletableFuture<Void> prefetch(Location location) {
+        World world = location.getWorld();
+        if (world != null && Bukkit.getWorld(world.getUID()) != world) {
+            return CompletableFuture.failedFuture(unloaded(world));
+        }
+        if (!enabled || world == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        requests++;
+        worldManager.updateWorldAccess(world.getName());
+
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+        String key = world.getName() + ":" + chunkX + ":" + chunkZ;
+
+        Prefetch prefetch = prefetches.get(key);
+        if (prefetch != null && prefetch.world == world) {
+            if (prefetch.ready.isDone()) {
+                hits++;
+                hold(prefetch);
+            }
+            return prefetch.ready;
+        }
+
+        prefetch = new Prefetch(key, world);
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                prefetch.pending.add(new int[] {chunkX + dx, chunkZ + dz});
+            }
+        }
+        prefetches.put(key, prefetch);
+        loading.add(prefetch);
+
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+        return prefetch.ready;
+    }
+
+    /**
+     * Load pending chunks until this tick's budget is spent.
+     */
+    private void tick() {
+        long start = System.nanoTime();
+        while (!loading.isEmpty() && System.nanoTime() - start < tickBudgetNanos) {
+            Prefetch prefetch = loading.peek();
+
+            // The world went away while its chunks were loading
+            if (Bukkit.getWorld(prefetch.world.getUID()) != prefetch.world) {
+                loading.poll();
+                prefetches.remove(prefetch.key, prefetch);
+                prefetch.ready.completeExceptionally(unloaded(prefetch.world));
+                continue;
+            }
+
+            int[] chunk = prefetch.pending.poll();
+            if (chunk != null) {
+                // Adding the ticket loads the chunk
+                prefetch.world.addPluginChunkTicket(chunk[0], chunk[1], plugin);
+                prefetch.pinned.add(chunk);
+                continue;
+            }
+
+            loading.poll();
+            hold(prefetch);
+            prefetch.ready.complete(null);
+        }
+
+        if (loading.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Keep a ready prefetch for another grace window.
+     */
+    private void hold(Prefetch prefetch) {
+        if (prefetch.release != null) {
+            prefetch.release.cancel();
+        }
+        prefetch.release = plugin.getTimingWheel().schedule(graceTicks, () -> release(prefetch));
+    }
+
+    private void release(Prefetch prefetch) {
+        prefetches.remove(prefetch.key, prefetch);
+        loading.remove(prefetch);
+        if (prefetch.release != null) {
+            prefetch.release.cancel();
+        }
+
+        if (Bukkit.getWorld(prefetch.world.getUID()) != prefetch.world) {
+            prefetch.ready.completeExceptionally(unloaded(prefetch.world));
+            return;
+        }
+        for (int[] chunk : prefetch.pinned) {
+            prefetch.world.removePluginChunkTicket(chunk[0], chunk[1], plugin);
+        }
+        prefetch.ready.complete(null);
+    }
+
+    private static IllegalStateException unloaded(World world) {
+        return new IllegalStateException("World " + world.getName() + " was unloaded");
+    }
+
+    /**
+     * Check if any spawn in a world is loading or held.
+     */
+    public boolean isActive(String worldName) {
+        for (Prefetch prefetch : prefetches.values()) {
+            if (prefetch.world.getName().equals(worldName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of spawns currently loading or held.
+     */
+    public int getActiveCount() {
+        return prefetches.size();
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * Get the number of requests whose chunks were already loaded.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    public void shutdown() {
+        for (Prefetch prefetch : new ArrayList<>(prefetches.values())) {
+            release(prefetch);
+        }
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private static final class Prefetch {
+        final String key;
+        final World world;
+        final Deque<int[]> pending = new ArrayDeque<>();
+        final List<int[]> pinned = new ArrayList<>();
+        final CompletableFuture<Void> ready = new CompletableFuture<>();
+        TimingWheel.Timer release;
+
+        Prefetch(String key, World world) {
+            this.key = key;
+            this.world = world;
+        }
+    }
+}
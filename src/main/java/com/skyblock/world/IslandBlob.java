@@ -0,0 +1,114 @@
+package com.skyblock.world;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * All chunks of one island world in the native format.
+ *
+ * Layout: magic, format version, lowest block height, then a deflated body
+ * holding the chunk count followed by each chunk's coordinates and data.
+ * Chunks may be read by generation threads while a save replaces them.
+ */
+public class IslandBlob {
+
+    private static final int MAGIC = 0x53424931; // "SBI1"
+    public static final int FORMAT_VERSION = 1;
+
+    private final int minY;
+    private final Map<Long, IslandChunk> chunks;
+
+    public IslandBlob(int minY) {
+        this.minY = minY;
+        this.chunks = new ConcurrentHashMap<>();
+    }
+
+    public static long chunkKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public IslandChunk getChunk(int x, int z) {
+        return chunks.get(chunkKey(x, z));
+    }
+
+    /**
+     * Store a chunk, or drop it if there is nothing in it.
+     */
+    public void putChunk(int x, int z, IslandChunk chunk) {
+        if (chunk.isEmpty()) {
+            chunks.remove(chunkKey(x, z));
+        } else {
+            chunks.put(chunkKey(x, z), chunk);
+        }
+    }
+
+    /**
+     * Check if the blob holds a chunk. Chunks it holds may have no region
+     * data, so {@link org.bukkit.World#isChunkGenerated} misses them.
+     */
+    public boolean hasChunk(int x, int z) {
+        return chunks.containsKey(chunkKey(x, z));
+    }
+
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    public byte[] toBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(bytes);
+        header.writeInt(MAGIC);
+        header.writeByte(FORMAT_VERSION);
+        header.writeInt(minY);
+        header.flush();
+
+        try (DataOutputStream out = new DataOutputStream(
+                new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_SPEED)))) {
+            Map<Long, IslandChunk> copy = Map.copyOf(chunks);
+            out.writeInt(copy.size());
+            for (Map.Entry<Long, IslandChunk> entry : copy.entrySet()) {
+                out.writeLong(entry.getKey());
+                entry.getValue().write(out);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    public static IslandBlob fromBytes(byte[] data) throws IOException {
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(data));
+        if (header.readInt() != MAGIC) {
+            throw new IOException("Not an island world file");
+        }
+        int version = header.readUnsignedByte();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IOException("Unsupported island world format version " + version);
+        }
+
+        IslandBlob blob = new IslandBlob(header.readInt());
+        try (DataInputStream in = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(data, 9, data.length - 9)))) {
+            int count = in.readInt();
+            if (count < 0) throw new IOException("Invalid chunk count " + count);
+            for (int i = 0; i < count; i++) {
+                blob.chunks.put(in.readLong(), IslandChunk.read(in));
+            }
+            // Reading to the end checks the trailer, so a cut off file is caught
+            if (in.read() != -1) throw new IOException("Unexpected data after the last chunk");
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt island world file", e);
+        }
+        return blob;
+    }
+}
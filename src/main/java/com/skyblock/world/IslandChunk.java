@@ -0,0 +1,415 @@
+package com.skyblock.world;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.block.Biome;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.generator.ChunkGenerator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One chunk of an island in the native format.
+ *
+ * Only sections that hold blocks are kept. Each section is a palette of block
+ * data strings plus the block indices packed into longs, using as few bits
+ * per block as the palette needs; a section of a single block type stores no
+ * indices at all. Biomes are kept the same way at 4x4x4 resolution. Block
+ * entity state and entities are stored as opaque records that
+ * {@link IslandStorage} captures and restores on the main thread.
+ */
+public class IslandChunk {
+
+    private static final int BLOCKS = 4096;
+    private static final int BIOMES = 64;
+    // Largest block entity or entity record a stored chunk may hold
+    private static final int MAX_RECORD = 16 << 20;
+
+    private final List<Section> sections;
+    private final List<TileData> tiles;
+    private final List<EntityData> entities;
+
+    public IslandChunk(List<Section> sections, List<TileData> tiles, List<EntityData> entities) {
+        this.sections = sections;
+        this.tiles = tiles;
+        this.entities = entities;
+    }
+
+    /**
+     * Build a chunk from a snapshot. Safe off the main thread.
+     *
+     * @param minY Lowest block height of the world
+     */
+    public static IslandChunk fromSnapshot(ChunkSnapshot snapshot, int minY, int sectionCount,
+                                           List<TileData> tiles, List<EntityData> entities) {
+        List<Section> sections = new ArrayList<>();
+        for (int index = 0; index < sectionCount; index++) {
+            if (snapshot.isSectionEmpty(index)) continue;
+
+            Section section = Section.fromSnapshot(snapshot, index, minY + (index << 4));
+            if (section != null) {
+                sections.add(section);
+            }
+        }
+        return new IslandChunk(sections, tiles, entities);
+    }
+
+    public boolean isEmpty() {
+        return sections.isEmpty() && tiles.isEmpty() && entities.isEmpty();
+    }
+
+    public List<TileData> getTiles() {
+        return tiles;
+    }
+
+    public List<EntityData> getEntities() {
+        return entities;
+    }
+
+    /**
+     * Place this chunk's blocks into a chunk being generated.
+     */
+    public void generate(ChunkGenerator.ChunkData data, int minY) {
+        for (Section section : sections) {
+            section.generate(data, minY + (section.index << 4));
+        }
+    }
+
+    /**
+     * Get the biome at a block, or null if the section is not stored.
+     */
+    public Biome getBiome(int x, int y, int z, int minY) {
+        int index = (y - minY) >> 4;
+        for (Section section : sections) {
+            if (section.index == index) {
+                return section.getBiome(x & 15, y & 15, z & 15);
+            }
+        }
+        return null;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeShort(sections.size());
+        for (Section section : sections) {
+            section.write(out);
+        }
+
+        out.writeShort(tiles.size());
+        for (TileData tile : tiles) {
+            out.writeByte(tile.x());
+            out.writeInt(tile.y());
+            out.writeByte(tile.z());
+            out.writeByte(tile.kind());
+            out.writeInt(tile.payload().length);
+            out.write(tile.payload());
+        }
+
+        out.writeShort(entities.size());
+        for (EntityData entity : entities) {
+            out.writeDouble(entity.x());
+            out.writeDouble(entity.y());
+            out.writeDouble(entity.z());
+            out.writeFloat(entity.yaw());
+            out.writeFloat(entity.pitch());
+            writeLongString(out, entity.data());
+        }
+    }
+
+    public static IslandChunk read(DataInputStream in) throws IOException {
+        int sectionCount = in.readUnsignedShort();
+        List<Section> sections = new ArrayList<>(sectionCount);
+        for (int i = 0; i < sectionCount; i++) {
+            sections.add(Section.read(in));
+        }
+
+        int tileCount = in.readUnsignedShort();
+        List<TileData> tiles = new ArrayList<>(tileCount);
+        for (int i = 0; i < tileCount; i++) {
+            int x = in.readUnsignedByte();
+            int y = in.readInt();
+            int z = in.readUnsignedByte();
+            if (x > 15 || z > 15) throw new IOException("Block entity outside its chunk at " + x + ", " + z);
+            int kind = in.readUnsignedByte();
+            byte[] payload = new byte[readLength(in)];
+            in.readFully(payload);
+            tiles.add(new TileData(x, y, z, kind, payload));
+        }
+
+        int entityCount = in.readUnsignedShort();
+        List<EntityData> entities = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            entities.add(new EntityData(in.readDouble(), in.readDouble(), in.readDouble(),
+                in.readFloat(), in.readFloat(), readLongString(in)));
+        }
+
+        return new IslandChunk(sections, tiles, entities);
+    }
+
+    private static void writeLongString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readLongString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_RECORD) throw new IOException("Invalid record length " + length);
+        return length;
+    }
+
+    /**
+     * Position of a block within its section, in storage order.
+     */
+    private static int blockIndex(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    /**
+     * Number of bits needed to store indices into a palette of the given size.
+     */
+    private static int bitsFor(int paletteSize) {
+        return paletteSize <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(paletteSize - 1);
+    }
+
+    /**
+     * Number of longs {@link #pack} uses for the given number of entries.
+     */
+    private static int packedLength(int entries, int bits) {
+        if (bits == 0) return 0;
+
+        int perLong = 64 / bits;
+        return (entries + perLong - 1) / perLong;
+    }
+
+    /**
+     * Pack indices into longs. Entries never span two longs.
+     */
+    private static long[] pack(int[] values, int bits) {
+        if (bits == 0) return new long[0];
+
+        int perLong = 64 / bits;
+        long[] packed = new long[packedLength(values.length, bits)];
+        for (int i = 0; i < values.length; i++) {
+            packed[i / perLong] |= (long) values[i] << ((i % perLong) * bits);
+        }
+        return packed;
+    }
+
+    private static int unpack(long[] packed, int bits, int i) {
+        if (bits == 0) return 0;
+
+        int perLong = 64 / bits;
+        return (int) ((packed[i / perLong] >>> ((i % perLong) * bits)) & ((1L << bits) - 1));
+    }
+
+    /**
+     * One 16x16x16 section with blocks in it.
+     */
+    public static final class Section {
+        final int index;
+        final String[] palette;
+        final int bits;
+        final long[] data;
+        final String[] biomePalette;
+        final int[] biomes;
+
+        // Palettes resolved on first use; generation threads may race, which is harmless
+        private BlockData[] resolved;
+        private Biome[] resolvedBiomes;
+
+        Section(int index, String[] palette, long[] data, String[] biomePalette, int[] biomes) {
+            this.index = index;
+            this.palette = palette;
+            this.bits = bitsFor(palette.length);
+            this.data = data;
+            this.biomePalette = biomePalette;
+            this.biomes = biomes;
+        }
+
+        static Section fromSnapshot(ChunkSnapshot snapshot, int index, int baseY) {
+            Map<BlockData, Integer> ids = new HashMap<>();
+            List<String> palette = new ArrayList<>();
+            int[] blocks = new int[BLOCKS];
+            boolean solid = false;
+
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        BlockData block = snapshot.getBlockData(x, baseY + y, z);
+                        Integer id = ids.get(block);
+                        if (id == null) {
+                            id = palette.size();
+                            ids.put(block, id);
+                            palette.add(block.getAsString());
+                            solid |= !block.getMaterial().isAir();
+                        }
+                        blocks[blockIndex(x, y, z)] = id;
+                    }
+                }
+            }
+            if (!solid) return null;
+
+            Map<Biome, Integer> biomeIds = new HashMap<>();
+            List<String> biomePalette = new ArrayList<>();
+            int[] biomes = new int[BIOMES];
+            for (int y = 0; y < 4; y++) {
+                for (int z = 0; z < 4; z++) {
+                    for (int x = 0; x < 4; x++) {
+                        Biome biome = snapshot.getBiome(x << 2, baseY + (y << 2), z << 2);
+                        Integer id = biomeIds.get(biome);
+                        if (id == null) {
+                            id = biomePalette.size();
+                            biomeIds.put(biome, id);
+                            biomePalette.add(biome.name());
+                        }
+                        biomes[(y << 4) | (z << 2) | x] = id;
+                    }
+                }
+            }
+
+            return new Section(index, palette.toArray(new String[0]), pack(blocks, bitsFor(palette.size())),
+                biomePalette.toArray(new String[0]), biomes);
+        }
+
+        void generate(ChunkGenerator.ChunkData chunk, int baseY) {
+            BlockData[] blocks = resolve();
+
+            if (bits == 0) {
+                if (!blocks[0].getMaterial().isAir()) {
+                    chunk.setRegion(0, baseY, 0, 16, baseY + 16, 16, blocks[0]);
+                }
+                return;
+            }
+
+            for (int i = 0; i < BLOCKS; i++) {
+                BlockData block = blocks[unpack(data, bits, i)];
+                if (block.getMaterial().isAir()) continue;
+                chunk.setBlock(i & 15, baseY + (i >> 8), (i >> 4) & 15, block);
+            }
+        }
+
+        Biome getBiome(int x, int y, int z) {
+            Biome[] palette = resolvedBiomes;
+            if (palette == null) {
+                palette = new Biome[biomePalette.length];
+                for (int i = 0; i < palette.length; i++) {
+                    try {
+                        palette[i] = Biome.valueOf(biomePalette[i]);
+                    } catch (IllegalArgumentException e) {
+                        // Biome removed in a newer version, falls back to the default
+                        palette[i] = null;
+                    }
+                }
+                resolvedBiomes = palette;
+            }
+            return palette[biomes[((y >> 2) << 4) | ((z >> 2) << 2) | (x >> 2)]];
+        }
+
+        private BlockData[] resolve() {
+            BlockData[] blocks = resolved;
+            if (blocks == null) {
+                blocks = new BlockData[palette.length];
+                for (int i = 0; i < palette.length; i++) {
+                    try {
+                        blocks[i] = Bukkit.createBlockData(palette[i]);
+                    } catch (IllegalArgumentException e) {
+                        // Block removed in a newer version
+                        blocks[i] = Material.AIR.createBlockData();
+                    }
+                }
+                resolved = blocks;
+            }
+            return blocks;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeByte(index);
+            out.writeShort(palette.length);
+            for (String entry : palette) {
+                out.writeUTF(entry);
+            }
+            out.writeShort(data.length);
+            for (long value : data) {
+                out.writeLong(value);
+            }
+
+            out.writeByte(biomePalette.length);
+            for (String entry : biomePalette) {
+                out.writeUTF(entry);
+            }
+            if (biomePalette.length > 1) {
+                for (int biome : biomes) {
+                    out.writeByte(biome);
+                }
+            }
+        }
+
+        static Section read(DataInputStream in) throws IOException {
+            int index = in.readUnsignedByte();
+            String[] palette = new String[in.readUnsignedShort()];
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = in.readUTF();
+            }
+            if (palette.length == 0) throw new IOException("Section " + index + " has an empty palette");
+
+            int bits = bitsFor(palette.length);
+            long[] data = new long[in.readUnsignedShort()];
+            if (data.length != packedLength(BLOCKS, bits)) {
+                throw new IOException("Section " + index + " holds " + data.length + " longs for " + bits + " bits per block");
+            }
+            for (int i = 0; i < data.length; i++) {
+                data[i] = in.readLong();
+            }
+            for (int i = 0; i < BLOCKS; i++) {
+                if (unpack(data, bits, i) >= palette.length) {
+                    throw new IOException("Section " + index + " refers past its block palette");
+                }
+            }
+
+            String[] biomePalette = new String[in.readUnsignedByte()];
+            for (int i = 0; i < biomePalette.length; i++) {
+                biomePalette[i] = in.readUTF();
+            }
+            if (biomePalette.length == 0) throw new IOException("Section " + index + " has an empty biome palette");
+
+            int[] biomes = new int[BIOMES];
+            if (biomePalette.length > 1) {
+                for (int i = 0; i < BIOMES; i++) {
+                    biomes[i] = in.readUnsignedByte();
+                    if (biomes[i] >= biomePalette.length) {
+                        throw new IOException("Section " + index + " refers past its biome palette");
+                    }
+                }
+            }
+
+            return new Section(index, palette, data, biomePalette, biomes);
+        }
+    }
+
+    /**
+     * State of one block entity. The payload format depends on the kind and
+     * is only read by {@link IslandStorage}.
+     */
+    public record TileData(int x, int y, int z, int kind, byte[] payload) {
+    }
+
+    /**
+     * One entity: where it stands and its serialized state.
+     */
+    public record EntityData(double x, double y, double z, float yaw, float pitch, String data) {
+    }
+}
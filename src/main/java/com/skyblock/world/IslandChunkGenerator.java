@@ -0,0 +1,86 @@
+package com.skyblock.world;
+
+import org.bukkit.block.Biome;
+import org.bukkit.generator.BiomeProvider;
+import org.bukkit.generator.ChunkGenerator;
+import org.bukkit.generator.WorldInfo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds island chunks from an {@link IslandBlob}. Chunks the blob does not
+ * hold come out empty, so a world with an empty blob is a void world.
+ */
+public class IslandChunkGenerator extends ChunkGenerator {
+
+    private static final List<Biome> BIOMES = Arrays.stream(Biome.values())
+        .filter(biome -> biome != Biome.CUSTOM)
+        .toList();
+
+    private final IslandBlob blob;
+
+    public IslandChunkGenerator(IslandBlob blob) {
+        this.blob = blob;
+    }
+
+    public IslandBlob getBlob() {
+        return blob;
+    }
+
+    @Override
+    public void generateNoise(WorldInfo worldInfo, Random random, int chunkX, int chunkZ, ChunkData chunkData) {
+        IslandChunk chunk = blob.getChunk(chunkX, chunkZ);
+        if (chunk != null) {
+            chunk.generate(chunkData, blob.getMinY());
+        }
+    }
+
+    @Override
+    public BiomeProvider getDefaultBiomeProvider(WorldInfo worldInfo) {
+        return new BiomeProvider() {
+            @Override
+            public Biome getBiome(WorldInfo worldInfo, int x, int y, int z) {
+                IslandChunk chunk = blob.getChunk(x >> 4, z >> 4);
+                Biome biome = chunk != null ? chunk.getBiome(x, y, z, blob.getMinY()) : null;
+                return biome != null ? biome : Biome.THE_VOID;
+            }
+
+            @Override
+            public List<Biome> getBiomes(WorldInfo worldInfo) {
+                return BIOMES;
+            }
+        };
+    }
+
+    @Override
+    public boolean shouldGenerateNoise() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateSurface() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateCaves() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateDecorations() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateMobs() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateStructures() {
+        return false;
+    }
+}
@@ -0,0 +1,551 @@
+package com.skyblock.world;
+
+import com.skyblock.SkyblockPlugin;
+import com.skyblock.items.ItemCodec;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.DyeColor;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Container;
+import org.bukkit.block.CreatureSpawner;
+import org.bukkit.block.Sign;
+import org.bukkit.block.sign.Side;
+import org.bukkit.block.sign.SignSide;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntitySnapshot;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.inventory.BlockInventoryHolder;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Stores island worlds in the native {@link IslandBlob} format.
+ *
+ * While an island is loaded it behaves like any other world and the server
+ * saves it to region files as usual. When it is unloaded, every chunk that
+ * is loaded or has region data is captured into the blob, the blob is
+ * written to disk or the database, and only then are the region, entity and
+ * POI folders deleted. The next load builds chunks straight from the blob
+ * through an {@link IslandChunkGenerator}, and this listener puts back block
+ * entity state and entities as each chunk is generated. A crash before the
+ * blob is written leaves the region files in place, so nothing is lost. Once
+ * it is written, a marker in the world folder says the region files are
+ * stale; a crash before they are deleted leaves the marker, and the next
+ * load deletes them first, so they never shadow the newer blob.
+ *
+ * Block entities keep container contents, sign text and spawner settings;
+ * other block entity data is not carried over.
+ */
+public class IslandStorage implements Listener {
+
+    private static final int TILE_INVENTORY = 1;
+    private static final int TILE_SIGN = 2;
+    private static final int TILE_SPAWNER = 3;
+
+    private static final String[] ANVIL_FOLDERS = {"region", "entities", "poi"};
+    // Present while the region files are older than the stored blob
+    private static final String STALE_MARKER = "anvil.stale";
+
+    private final SkyblockPlugin plugin;
+    private final boolean useDatabase;
+    private final File directory;
+
+    // Generators of loaded native worlds, by world name
+    private final Map<String, IslandChunkGenerator> generators;
+
+    public IslandStorage(SkyblockPlugin plugin) {
+        this.plugin = plugin;
+        this.generators = new ConcurrentHashMap<>();
+        this.useDatabase = "database".equalsIgnoreCase(plugin.getConfigManager().getWorldsConfig()
+            .getString("worlds.islands.native.store", "file"));
+        this.directory = new File(plugin.getDataFolder(), "islands");
+        if (!useDatabase) {
+            directory.mkdirs();
+        }
+    }
+
+    /**
+     * Read a stored island world, first deleting region files left over from
+     * an unload that did not finish. Blocks; call off the main thread.
+     *
+     * @return The blob, or null if the world was never stored natively
+     */
+    public IslandBlob read(String worldName) throws IOException {
+        if (new File(worldDir(worldName), STALE_MARKER).exists()) {
+            plugin.log(Level.WARNING, "Dropping stale region files of island world " + worldName);
+            deleteAnvilData(worldName);
+        }
+
+        byte[] data = useDatabase ? readFromDatabase(worldName) : readFromFile(worldName);
+        return data != null ? IslandBlob.fromBytes(data) : null;
+    }
+
+    /**
+     * Create the generator a native island world is opened with.
+     *
+     * @param blob The stored world, or null for a new one
+     */
+    public IslandChunkGenerator createGenerator(String worldName, IslandBlob blob) {
+        IslandChunkGenerator generator = new IslandChunkGenerator(blob != null ? blob : new IslandBlob(0));
+        generators.put(worldName, generator);
+        return generator;
+    }
+
+    public boolean isNative(String worldName) {
+        return generators.containsKey(worldName);
+    }
+
+    /**
+     * Check if a native world's blob holds a chunk.
+     */
+    public boolean hasStoredChunk(String worldName, int x, int z) {
+        IslandChunkGenerator generator = generators.get(worldName);
+        return generator != null && generator.getBlob().hasChunk(x, z);
+    }
+
+    /**
+     * Capture a loaded island world into its blob and write it. Call from the
+     * main thread before unloading the world; the world must stay loaded
+     * until the returned future completes, which happens on the main thread.
+     *
+     * Chunks are captured over as many ticks as it takes, spending at most
+     * the given time per tick, so storing a large island never stalls a tick.
+     * The world should be empty, so nothing in it moves in between.
+     *
+     * @param tickBudgetNanos Time to spend capturing chunks each tick
+     * @return True once the blob is stored, false if storing failed
+     */
+    public CompletableFuture<Boolean> save(World world, long tickBudgetNanos) {
+        String worldName = world.getName();
+        IslandChunkGenerator generator = generators.get(worldName);
+        IslandBlob previous = generator != null ? generator.getBlob() : null;
+
+        int minY = world.getMinHeight();
+        int sectionCount = (world.getMaxHeight() - minY) >> 4;
+
+        // Everything the server holds newer than the blob
+        Set<Long> keys = new HashSet<>(findAnvilChunks(world.getWorldFolder()));
+        for (Chunk chunk : world.getLoadedChunks()) {
+            keys.add(IslandBlob.chunkKey(chunk.getX(), chunk.getZ()));
+        }
+
+        Iterator<Long> pending = keys.iterator();
+        List<Captured> captured = new ArrayList<>(keys.size());
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        Bukkit.getScheduler().runTaskTimer(plugin, task -> {
+            long start = System.nanoTime();
+            while (pending.hasNext() && System.nanoTime() - start < tickBudgetNanos) {
+                long key = pending.next();
+                Chunk chunk = world.getChunkAt((int) (key >> 32), (int) key);
+                captured.add(new Captured(chunk.getX(), chunk.getZ(),
+                    chunk.getChunkSnapshot(false, true, false), captureTiles(chunk), captureEntities(chunk)));
+            }
+            if (!pending.hasNext()) {
+                task.cancel();
+                store(worldName, previous, minY, sectionCount, captured, result);
+            }
+        }, 1L, 1L);
+        return result;
+    }
+
+    /**
+     * Build the blob from captured chunks and write it in the background.
+     */
+    private void store(String worldName, IslandBlob previous, int minY, int sectionCount,
+                       List<Captured> captured, CompletableFuture<Boolean> result) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            boolean stored;
+            try {
+                long start = System.currentTimeMillis();
+                IslandBlob blob = previous != null && previous.getMinY() == minY ? previous : new IslandBlob(minY);
+                for (Captured chunk : captured) {
+                    blob.putChunk(chunk.x(), chunk.z(), IslandChunk.fromSnapshot(chunk.snapshot(), minY,
+                        sectionCount, chunk.tiles(), chunk.entities()));
+                }
+
+                byte[] data = blob.toBytes();
+                if (useDatabase) {
+                    writeToDatabase(worldName, data);
+                } else {
+                    writeToFile(worldName, data);
+                }
+                // From here on the blob is newer than anything in the region files
+                Files.write(new File(worldDir(worldName), STALE_MARKER).toPath(), new byte[0]);
+                stored = true;
+                plugin.debug("Stored island world " + worldName + ": " + blob.getChunkCount() + " chunks, "
+                    + (data.length / 1024) + " KB in " + (System.currentTimeMillis() - start) + "ms");
+            } catch (Exception e) {
+                plugin.log(Level.SEVERE, "Failed to store island world " + worldName + ": " + e.getMessage());
+                stored = false;
+            }
+
+            boolean success = stored;
+            Bukkit.getScheduler().runTask(plugin, () -> result.complete(success));
+        });
+    }
+
+    /**
+     * Remove the region files of an unloaded world whose blob is stored,
+     * and forget its generator. Blocks; safe off the main thread.
+     */
+    public void dropAnvilData(String worldName) {
+        generators.remove(worldName);
+        deleteAnvilData(worldName);
+    }
+
+    /**
+     * Keep the region files of a stored world that stayed loaded after all.
+     * The server goes on saving to them, so they are no longer stale.
+     */
+    public void keepAnvilData(String worldName) {
+        new File(worldDir(worldName), STALE_MARKER).delete();
+    }
+
+    /**
+     * Delete the region folders, then the marker, so a crash in between
+     * still leaves the marker for the next load.
+     */
+    private void deleteAnvilData(String worldName) {
+        File worldDir = worldDir(worldName);
+        for (String folder : ANVIL_FOLDERS) {
+            deleteDirectory(new File(worldDir, folder));
+        }
+        new File(worldDir, STALE_MARKER).delete();
+    }
+
+    private File worldDir(String worldName) {
+        return new File(Bukkit.getWorldContainer(), worldName);
+    }
+
+    /**
+     * Forget a world that was unloaded without storing it.
+     */
+    public void forget(String worldName) {
+        generators.remove(worldName);
+    }
+
+    /**
+     * Delete a stored island world. Blocks; call off the main thread.
+     */
+    public void delete(String worldName) {
+        generators.remove(worldName);
+        try {
+            if (useDatabase) {
+                try (Connection conn = plugin.getDatabaseManager().getConnection();
+                     PreparedStatement stmt = conn.prepareStatement("DELETE FROM island_worlds WHERE world_name = ?")) {
+                    stmt.setString(1, worldName);
+                    stmt.executeUpdate();
+                }
+            } else {
+                Files.deleteIfExists(fileOf(worldName).toPath());
+            }
+        } catch (Exception e) {
+            plugin.log(Level.WARNING, "Failed to delete stored island world " + worldName + ": " + e.getMessage());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        if (!event.isNewChunk()) return;
+
+        IslandChunkGenerator generator = generators.get(event.getWorld().getName());
+        if (generator == null) return;
+
+        Chunk chunk = event.getChunk();
+        IslandChunk stored = generator.getBlob().getChunk(chunk.getX(), chunk.getZ());
+        if (stored == null) return;
+
+        for (IslandChunk.TileData tile : stored.getTiles()) {
+            try {
+                restoreTile(chunk.getBlock(tile.x(), tile.y(), tile.z()).getState(), tile);
+            } catch (Exception e) {
+                plugin.log(Level.WARNING, "Failed to restore block entity in " + event.getWorld().getName()
+                    + " at " + ((chunk.getX() << 4) + tile.x()) + ", " + tile.y() + ", " + ((chunk.getZ() << 4) + tile.z())
+                    + ": " + e.getMessage());
+            }
+        }
+
+        World world = event.getWorld();
+        for (IslandChunk.EntityData entity : stored.getEntities()) {
+            try {
+                EntitySnapshot snapshot = Bukkit.getEntityFactory().createEntitySnapshot(entity.data());
+                // Spawns the entity as well
+                snapshot.createEntity(new Location(world, entity.x(), entity.y(), entity.z(), entity.yaw(), entity.pitch()));
+            } catch (Exception e) {
+                plugin.log(Level.WARNING, "Failed to restore entity in " + world.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private List<IslandChunk.TileData> captureTiles(Chunk chunk) {
+        List<IslandChunk.TileData> tiles = new ArrayList<>();
+        for (BlockState state : chunk.getTileEntities()) {
+            try {
+                byte[] payload;
+                int kind;
+                if (state instanceof Container container) {
+                    kind = TILE_INVENTORY;
+                    payload = itemCodec().encode(Arrays.asList(container.getSnapshotInventory().getContents()));
+                } else if (state instanceof BlockInventoryHolder holder) {
+                    kind = TILE_INVENTORY;
+                    payload = itemCodec().encode(Arrays.asList(holder.getInventory().getContents()));
+                } else if (state instanceof Sign sign) {
+                    kind = TILE_SIGN;
+                    payload = writeSign(sign);
+                } else if (state instanceof CreatureSpawner spawner) {
+                    kind = TILE_SPAWNER;
+                    payload = writeSpawner(spawner);
+                } else {
+                    continue;
+                }
+                tiles.add(new IslandChunk.TileData(state.getX() & 15, state.getY(), state.getZ() & 15, kind, payload));
+            } catch (IOException e) {
+                plugin.log(Level.WARNING, "Failed to store block entity at " + state.getX() + ", "
+                    + state.getY() + ", " + state.getZ() + ": " + e.getMessage());
+            }
+        }
+        return tiles;
+    }
+
+    private List<IslandChunk.EntityData> captureEntities(Chunk chunk) {
+        List<IslandChunk.EntityData> entities = new ArrayList<>();
+        for (Entity entity : chunk.getEntities()) {
+            if (entity instanceof Player || !entity.isPersistent()) continue;
+
+            EntitySnapshot snapshot = entity.createSnapshot();
+            if (snapshot == null) continue;
+
+            Location location = entity.getLocation();
+            entities.add(new IslandChunk.EntityData(location.getX(), location.getY(), location.getZ(),
+                location.getYaw(), location.getPitch(), snapshot.getAsString()));
+        }
+        return entities;
+    }
+
+    private void restoreTile(BlockState state, IslandChunk.TileData tile) throws IOException {
+        switch (tile.kind()) {
+            case TILE_INVENTORY -> {
+                List<ItemStack> items = itemCodec().decode(tile.payload());
+                if (state instanceof Container container) {
+                    setContents(container.getSnapshotInventory(), items);
+                    container.update(true, false);
+                } else if (state instanceof BlockInventoryHolder holder) {
+                    setContents(holder.getInventory(), items);
+                }
+            }
+            case TILE_SIGN -> {
+                if (state instanceof Sign sign) {
+                    readSign(sign, tile.payload());
+                    sign.update(true, false);
+                }
+            }
+            case TILE_SPAWNER -> {
+                if (state instanceof CreatureSpawner spawner) {
+                    readSpawner(spawner, tile.payload());
+                    spawner.update(true, false);
+                }
+            }
+            default -> {
+                // Written by a newer version
+            }
+        }
+    }
+
+    private void setContents(Inventory inventory, List<ItemStack> items) {
+        ItemStack[] contents = new ItemStack[inventory.getSize()];
+        for (int i = 0; i < Math.min(contents.length, items.size()); i++) {
+            contents[i] = items.get(i);
+        }
+        inventory.setContents(contents);
+    }
+
+    private byte[] writeSign(Sign sign) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Side side : Side.values()) {
+            SignSide signSide = sign.getSide(side);
+            for (String line : signSide.getLines()) {
+                out.writeUTF(line);
+            }
+            out.writeBoolean(signSide.isGlowingText());
+            out.writeUTF(signSide.getColor() != null ? signSide.getColor().name() : "");
+        }
+        out.writeBoolean(sign.isWaxed());
+        return bytes.toByteArray();
+    }
+
+    private void readSign(Sign sign, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        for (Side side : Side.values()) {
+            SignSide signSide = sign.getSide(side);
+            for (int line = 0; line < 4; line++) {
+                signSide.setLine(line, in.readUTF());
+            }
+            signSide.setGlowingText(in.readBoolean());
+            String color = in.readUTF();
+            if (!color.isEmpty()) {
+                signSide.setColor(DyeColor.valueOf(color));
+            }
+        }
+        sign.setWaxed(in.readBoolean());
+    }
+
+    private byte[] writeSpawner(CreatureSpawner spawner) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(spawner.getSpawnedType() != null ? spawner.getSpawnedType().name() : "");
+        out.writeInt(spawner.getDelay());
+        out.writeInt(spawner.getMinSpawnDelay());
+        out.writeInt(spawner.getMaxSpawnDelay());
+        out.writeInt(spawner.getSpawnCount());
+        out.writeInt(spawner.getMaxNearbyEntities());
+        out.writeInt(spawner.getRequiredPlayerRange());
+        out.writeInt(spawner.getSpawnRange());
+        return bytes.toByteArray();
+    }
+
+    private void readSpawner(CreatureSpawner spawner, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String type = in.readUTF();
+        if (!type.isEmpty()) {
+            spawner.setSpawnedType(EntityType.valueOf(type));
+        }
+        spawner.setDelay(in.readInt());
+        // Max first, so the new min is never above the old max
+        int minDelay = in.readInt();
+        spawner.setMaxSpawnDelay(in.readInt());
+        spawner.setMinSpawnDelay(minDelay);
+        spawner.setSpawnCount(in.readInt());
+        spawner.setMaxNearbyEntities(in.readInt());
+        spawner.setRequiredPlayerRange(in.readInt());
+        spawner.setSpawnRange(in.readInt());
+    }
+
+    private ItemCodec itemCodec() {
+        return plugin.getItemManager().getItemCodec();
+    }
+
+    /**
+     * List the chunks that have data in a world's region or entity files,
+     * read from the location table at the start of each file.
+     */
+    private Set<Long> findAnvilChunks(File worldDir) {
+        Set<Long> keys = new HashSet<>();
+        for (String folder : new String[]{"region", "entities"}) {
+            File[] files = new File(worldDir, folder).listFiles((dir, name) -> name.endsWith(".mca"));
+            if (files == null) continue;
+
+            for (File file : files) {
+                String[] parts = file.getName().split("\\.");
+                if (parts.length != 4) continue;
+
+                try (RandomAccessFile region = new RandomAccessFile(file, "r")) {
+                    int regionX = Integer.parseInt(parts[1]);
+                    int regionZ = Integer.parseInt(parts[2]);
+                    if (region.length() < 4096) continue;
+
+                    for (int i = 0; i < 1024; i++) {
+                        if (region.readInt() != 0) {
+                            keys.add(IslandBlob.chunkKey((regionX << 5) + (i & 31), (regionZ << 5) + (i >> 5)));
+                        }
+                    }
+                } catch (IOException | NumberFormatException e) {
+                    plugin.log(Level.WARNING, "Failed to read region file " + file.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+        return keys;
+    }
+
+    private File fileOf(String worldName) {
+        return new File(directory, worldName + ".sbi");
+    }
+
+    private byte[] readFromFile(String worldName) throws IOException {
+        File file = fileOf(worldName);
+        return file.exists() ? Files.readAllBytes(file.toPath()) : null;
+    }
+
+    private void writeToFile(String worldName, byte[] data) throws IOException {
+        File file = fileOf(worldName);
+        File temp = new File(directory, worldName + ".sbi.tmp");
+        Files.write(temp.toPath(), data);
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private byte[] readFromDatabase(String worldName) throws IOException {
+        try (Connection conn = plugin.getDatabaseManager().getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT data FROM island_worlds WHERE world_name = ?")) {
+            stmt.setString(1, worldName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getBytes("data") : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private void writeToDatabase(String worldName, byte[] data) throws IOException {
+        String sql = plugin.getDatabaseManager().upsertSql("island_worlds",
+            List.of("world_name"), List.of("data", "updated_at"));
+        try (Connection conn = plugin.getDatabaseManager().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, worldName);
+            stmt.setBytes(2, data);
+            stmt.setLong(3, System.currentTimeMillis());
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private void deleteDirectory(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                deleteDirectory(file);
+            }
+        }
+        dir.delete();
+    }
+
+    /**
+     * One chunk captured on the main thread, waiting to be encoded.
+     */
+    private record Captured(int x, int z, ChunkSnapshot snapshot,
+                            List<IslandChunk.TileData> tiles, List<IslandChunk.EntityData> entities) {
+    }
+}
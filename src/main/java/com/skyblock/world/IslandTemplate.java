@@ -0,0 +1,83 @@
+package com.skyblock.world;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The island template world packed into memory.
+ *
+ * Reading the template once and writing every new island straight from the
+ * packed bytes skips walking and re-reading the template directory for each
+ * copy. The files are plain copies, not links: the server rewrites region
+ * files in place, so a hard link would let one island's edits leak into the
+ * template and every other island sharing it.
+ */
+public class IslandTemplate {
+
+    private final List<Entry> entries;
+    private final long totalBytes;
+
+    private IslandTemplate(List<Entry> entries, long totalBytes) {
+        this.entries = entries;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * Pack a template directory, or return null if it is missing or larger than the limit.
+     */
+    public static IslandTemplate pack(File directory, long maxBytes) throws IOException {
+        if (!directory.isDirectory()) {
+            return null;
+        }
+
+        Path root = directory.toPath();
+        List<Entry> entries = new ArrayList<>();
+        long total = 0;
+
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                if (!Files.isRegularFile(path)) continue;
+
+                // Skip session.lock and uid.dat, same as a directory copy
+                String name = path.getFileName().toString();
+                if (name.equals("session.lock") || name.equals("uid.dat")) continue;
+
+                total += Files.size(path);
+                if (total > maxBytes) {
+                    return null;
+                }
+                entries.add(new Entry(root.relativize(path).toString(), Files.readAllBytes(path)));
+            }
+        }
+
+        return new IslandTemplate(entries, total);
+    }
+
+    /**
+     * Write the template into a new world directory.
+     */
+    public void writeTo(File target) throws IOException {
+        Path root = target.toPath();
+        for (Entry entry : entries) {
+            Path path = root.resolve(entry.path());
+            Files.createDirectories(path.getParent());
+            Files.write(path, entry.data());
+        }
+    }
+
+    public int getFileCount() {
+        return entries.size();
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private record Entry(String path, byte[] data) {
+    }
+}
@@ -0,0 +1,195 @@
+package com.skyblock.world;
+
+import com.skyblock.SkyblockPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.logging.Level;
+
+/**
+ * Keeps a few island worlds created and loaded before anyone needs them.
+ *
+ * New islands claim a ready world instead of copying the template and
+ * creating the world while the player waits. The pool is refilled one world
+ * at a time, and only while the server keeps up and no other island world
+ * is loading, so refills stay out of the way of join waves.
+ *
+ * Unclaimed worlds carry a marker file. They survive restarts and are
+ * loaded back into the pool before any new world is made.
+ */
+public class IslandWorldPool {
+
+    private static final String MARKER = ".skyblock-pool";
+
+    private final SkyblockPlugin plugin;
+    private final WorldManager worldManager;
+
+    private final int size;
+    private final int refillIntervalSeconds;
+    private final long maxSecondMillis;
+
+    // Loaded worlds waiting to be claimed
+    private final Deque<String> ready;
+    // Unclaimed worlds left on disk by an earlier run, main thread only
+    private final Deque<String> dormant;
+
+    private BukkitTask task;
+    private boolean refilling;
+    private long lastBeat;
+    private long lastSecondMillis;
+    private int seconds;
+
+    public IslandWorldPool(SkyblockPlugin plugin, WorldManager worldManager) {
+        this.plugin = plugin;
+        this.worldManager = worldManager;
+        this.ready = new ConcurrentLinkedDeque<>();
+        this.dormant = new ArrayDeque<>();
+
+        FileConfiguration config = plugin.getConfigManager().getWorldsConfig();
+        this.size = Math.max(0, config.getInt("worlds.pool.size", 2));
+        this.refillIntervalSeconds = Math.max(1, config.getInt("worlds.pool.refill_interval_seconds", 5));
+        this.maxSecondMillis = Math.max(1000, config.getLong("worlds.pool.max_second_millis", 1100));
+
+        if (size > 0) {
+            findDormant();
+            lastBeat = System.currentTimeMillis();
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 20L, 20L);
+        }
+    }
+
+    private void findDormant() {
+        File[] dirs = Bukkit.getWorldContainer().listFiles(file ->
+            file.isDirectory() && file.getName().startsWith("island_") && new File(file, MARKER).exists());
+        if (dirs == null) return;
+
+        for (File dir : dirs) {
+            dormant.add(dir.getName());
+        }
+        if (!dormant.isEmpty()) {
+            plugin.log(Level.INFO, "Found " + dormant.size() + " unclaimed pooled island worlds");
+        }
+    }
+
+    /**
+     * Runs every second. Measures how long that second really took and
+     * refills when the server is keeping up.
+     */
+    private void tick() {
+        long now = System.currentTimeMillis();
+        lastSecondMillis = now - lastBeat;
+        lastBeat = now;
+
+        if (++seconds % refillIntervalSeconds != 0) return;
+        if (lastSecondMillis > maxSecondMillis) return;
+
+        refill();
+    }
+
+    private void refill() {
+        if (refilling || ready.size() >= size) return;
+        if (worldManager.getStateCounts().get(WorldManager.WorldState.LOADING) > 0) return;
+
+        refilling = true;
+
+        String reused = dormant.poll();
+        if (reused != null) {
+            open(reused, false);
+            return;
+        }
+
+        String worldName = newWorldName();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            boolean fromTemplate;
+            try {
+                fromTemplate = worldManager.prepareWorldFiles(worldName);
+                File dir = new File(Bukkit.getWorldContainer(), worldName);
+                dir.mkdirs();
+                new File(dir, MARKER).createNewFile();
+            } catch (IOException e) {
+                plugin.log(Level.WARNING, "Failed to prepare pooled island world " + worldName + ": " + e.getMessage());
+                Bukkit.getScheduler().runTask(plugin, () -> refilling = false);
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(plugin, () -> open(worldName, !fromTemplate));
+        });
+    }
+
+    private void open(String worldName, boolean voidWorld) {
+        try {
+            World world = worldManager.createIslandBukkitWorld(worldName, voidWorld, null);
+            if (world != null) {
+                ready.add(worldName);
+                plugin.debug("Pooled island world " + worldName + " (" + ready.size() + "/" + size + ")");
+            } else {
+                plugin.log(Level.WARNING, "Failed to create pooled island world " + worldName);
+            }
+        } catch (Exception e) {
+            plugin.log(Level.WARNING, "Failed to create pooled island world " + worldName + ": " + e.getMessage());
+        } finally {
+            refilling = false;
+        }
+    }
+
+    private String newWorldName() {
+        String worldName;
+        do {
+            worldName = "island_" + UUID.randomUUID().toString().substring(0, 8);
+        } while (new File(Bukkit.getWorldContainer(), worldName).exists());
+        return worldName;
+    }
+
+    /**
+     * Take a ready world out of the pool. Call from the main thread.
+     *
+     * @return The world's name, or null if the pool is empty
+     */
+    String claim() {
+        String worldName;
+        while ((worldName = ready.pollFirst()) != null) {
+            if (Bukkit.getWorld(worldName) == null) continue;
+
+            new File(new File(Bukkit.getWorldContainer(), worldName), MARKER).delete();
+            return worldName;
+        }
+        return null;
+    }
+
+    /**
+     * Put a claimed world back, e.g. when island creation was cancelled.
+     */
+    void giveBack(String worldName) {
+        try {
+            new File(new File(Bukkit.getWorldContainer(), worldName), MARKER).createNewFile();
+        } catch (IOException e) {
+            plugin.log(Level.WARNING, "Failed to mark " + worldName + " as pooled: " + e.getMessage());
+        }
+        ready.addFirst(worldName);
+    }
+
+    public boolean isPooled(String worldName) {
+        return ready.contains(worldName);
+    }
+
+    public int getReadyCount() {
+        return ready.size();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+        }
+    }
+}
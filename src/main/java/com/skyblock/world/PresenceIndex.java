@@ -0,0 +1,198 @@
+package com.skyblock.world;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of where every online player currently is.
+ *
+ * For each player it stores the kind of world they are in and, on an island,
+ * which island and whether they are a member or a visitor. For each island it
+ * keeps the members and visitors currently present. All lookups are O(1) and
+ * the index may be read from any thread; updates for one player are atomic.
+ */
+public final class PresenceIndex {
+
+    private final Map<UUID, Presence> players;
+    private final Map<UUID, IslandOccupants> islands;
+    private final Map<WorldManager.WorldType, Set<UUID>> byType;
+
+    public PresenceIndex() {
+        this.players = new ConcurrentHashMap<>();
+        this.islands = new ConcurrentHashMap<>();
+        this.byType = new EnumMap<>(WorldManager.WorldType.class);
+        for (WorldManager.WorldType type : WorldManager.WorldType.values()) {
+            byType.put(type, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Record that a player is now in the given world.
+     *
+     * @param type     World kind, or null for worlds the plugin does not manage
+     * @param islandId Island owning the world, or null if not an island (or not loaded yet)
+     * @param member   Whether the player is a member of that island
+     * @return The player's previous presence, or null if they had none
+     */
+    public Presence update(UUID playerUuid, String worldName, WorldManager.WorldType type,
+                           UUID islandId, boolean member) {
+        Presence next = new Presence(worldName, type, islandId, member);
+        Presence[] previous = new Presence[1];
+
+        players.compute(playerUuid, (uuid, current) -> {
+            previous[0] = current;
+            if (current != null) {
+                detach(uuid, current);
+            }
+            attach(uuid, next);
+            return next;
+        });
+        return previous[0];
+    }
+
+    /**
+     * Forget a player, e.g. on quit.
+     *
+     * @return The player's last presence, or null if they had none
+     */
+    public Presence remove(UUID playerUuid) {
+        Presence[] previous = new Presence[1];
+        players.computeIfPresent(playerUuid, (uuid, current) -> {
+            previous[0] = current;
+            detach(uuid, current);
+            return null;
+        });
+        return previous[0];
+    }
+
+    public Presence get(UUID playerUuid) {
+        return players.get(playerUuid);
+    }
+
+    /**
+     * Get the kind of world a player is in, or null if unknown or unmanaged.
+     */
+    public WorldManager.WorldType getWorldType(UUID playerUuid) {
+        Presence presence = players.get(playerUuid);
+        return presence != null ? presence.getType() : null;
+    }
+
+    /**
+     * Get the island a player is standing on, or null.
+     */
+    public UUID getIslandId(UUID playerUuid) {
+        Presence presence = players.get(playerUuid);
+        return presence != null ? presence.getIslandId() : null;
+    }
+
+    public boolean isOnIsland(UUID playerUuid, UUID islandId) {
+        return islandId != null && islandId.equals(getIslandId(playerUuid));
+    }
+
+    /**
+     * Players currently in a kind of world.
+     */
+    public Set<UUID> getPlayers(WorldManager.WorldType type) {
+        return Collections.unmodifiableSet(byType.get(type));
+    }
+
+    public Set<UUID> getMembersPresent(UUID islandId) {
+        IslandOccupants occupants = islands.get(islandId);
+        return occupants != null ? Collections.unmodifiableSet(occupants.members) : Collections.emptySet();
+    }
+
+    public Set<UUID> getVisitorsPresent(UUID islandId) {
+        IslandOccupants occupants = islands.get(islandId);
+        return occupants != null ? Collections.unmodifiableSet(occupants.visitors) : Collections.emptySet();
+    }
+
+    public int getVisitorCount(UUID islandId) {
+        IslandOccupants occupants = islands.get(islandId);
+        return occupants != null ? occupants.visitors.size() : 0;
+    }
+
+    /**
+     * Check if anyone at all is on an island.
+     */
+    public boolean isOccupied(UUID islandId) {
+        return islands.containsKey(islandId);
+    }
+
+    private void attach(UUID playerUuid, Presence presence) {
+        if (presence.getType() != null) {
+            byType.get(presence.getType()).add(playerUuid);
+        }
+        if (presence.getIslandId() != null) {
+            // Add inside compute so a concurrent detach cannot drop the entry in between
+            islands.compute(presence.getIslandId(), (id, occupants) -> {
+                IslandOccupants result = occupants != null ? occupants : new IslandOccupants();
+                (presence.isMember() ? result.members : result.visitors).add(playerUuid);
+                return result;
+            });
+        }
+    }
+
+    private void detach(UUID playerUuid, Presence presence) {
+        if (presence.getType() != null) {
+            byType.get(presence.getType()).remove(playerUuid);
+        }
+        if (presence.getIslandId() != null) {
+            islands.computeIfPresent(presence.getIslandId(), (id, occupants) -> {
+                occupants.members.remove(playerUuid);
+                occupants.visitors.remove(playerUuid);
+                // Drop empty islands so isOccupied stays a single lookup
+                return occupants.isEmpty() ? null : occupants;
+            });
+        }
+    }
+
+    /**
+     * Where a single player is.
+     */
+    public static final class Presence {
+        private final String worldName;
+        private final WorldManager.WorldType type;
+        private final UUID islandId;
+        private final boolean member;
+
+        private Presence(String worldName, WorldManager.WorldType type, UUID islandId, boolean member) {
+            this.worldName = worldName;
+            this.type = type;
+            this.islandId = islandId;
+            this.member = member;
+        }
+
+        public String getWorldName() {
+            return worldName;
+        }
+
+        public WorldManager.WorldType getType() {
+            return type;
+        }
+
+        public UUID getIslandId() {
+            return islandId;
+        }
+
+        public boolean isMember() {
+            return member;
+        }
+
+        public boolean isVisitor() {
+            return islandId != null && !member;
+        }
+    }
+
+    private static final class IslandOccupants {
+        final Set<UUID> members = ConcurrentHashMap.newKeySet();
+        final Set<UUID> visitors = ConcurrentHashMap.newKeySet();
+
+        boolean isEmpty() {
+            return members.isEmpty() && visitors.isEmpty();
+        }
+    }
+}
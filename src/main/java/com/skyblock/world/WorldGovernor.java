@@ -0,0 +1,216 @@
+package com.skyblock.world;
+
+import com.skyblock.SkyblockPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps the number and estimated memory of loaded island worlds in check.
+ *
+ * Loaded island worlds are kept in least-recently-used order. Every check,
+ * empty worlds that sat idle past auto_unload_minutes are evicted, and while
+ * more worlds are loaded than max_loaded, or their estimated memory is over
+ * budget, the coldest empty worlds go too. A world that was used within the
+ * last recent_use_seconds, has chunks being prefetched for a teleport, or has
+ * a load somebody is still waiting on is pinned and never picked, the same
+ * way islands in use are kept in the registry. Evictions run one at a time, and
+ * each unload spreads its work over several ticks (see
+ * {@link WorldManager#unloadIslandWorld(String)}), so a wave of evictions
+ * never lands in a single tick.
+ *
+ * Memory is an estimate from the latest {@link WorldSampler} figures: a fixed
+ * cost per world plus a cost per loaded chunk and per entity.
+ */
+public class WorldGovernor {
+
+    private final SkyblockPlugin plugin;
+    private final WorldManager worldManager;
+
+    private final int maxLoaded;
+    private final long idleMillis;
+    private final long recentUseMillis;
+    private final long budgetBytes;
+    private final long worldBytes;
+    private final long chunkBytes;
+    private final long entityBytes;
+
+    // Loaded island worlds, coldest first
+    private final LinkedHashMap<String, Long> lru;
+    private final Deque<String> queue;
+
+    private CompletableFuture<Void> current;
+    private long estimatedBytes;
+    private long evictions;
+    private final BukkitTask task;
+
+    public WorldGovernor(SkyblockPlugin plugin, WorldManager worldManager) {
+        this.plugin = plugin;
+        this.worldManager = worldManager;
+        this.lru = new LinkedHashMap<>(16, 0.75f, true);
+        this.queue = new ArrayDeque<>();
+
+        FileConfiguration config = plugin.getConfigManager().getWorldsConfig();
+        // Older configs set the limit in islands.yml
+        int fallback = plugin.getConfigManager().getIslandsConfig().getInt("islands.max_loaded_islands", 50);
+        this.maxLoaded = Math.max(1, config.getInt("worlds.islands.max_loaded", fallback));
+        this.idleMillis = Math.max(1, config.getLong("worlds.islands.auto_unload_minutes", 10)) * 60_000L;
+        this.recentUseMillis = Math.max(0, config.getLong("worlds.governor.recent_use_seconds", 30)) * 1000L;
+        this.budgetBytes = config.getLong("worlds.governor.memory_budget_mb", 2048) * 1024 * 1024;
+        this.worldBytes = config.getLong("worlds.governor.estimate.world_kb", 2048) * 1024;
+        this.chunkBytes = config.getLong("worlds.governor.estimate.chunk_kb", 64) * 1024;
+        this.entityBytes = config.getLong("worlds.governor.estimate.entity_kb", 4) * 1024;
+
+        long interval = Math.max(1, config.getLong("worlds.governor.check_interval_seconds", 5)) * 20L;
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::check, interval, interval);
+    }
+
+    /**
+     * Mark a world as just used. Safe to call from any thread.
+     */
+    public synchronized void touch(String worldName) {
+        lru.put(worldName, System.currentTimeMillis());
+    }
+
+    /**
+     * Stop tracking a world that was unloaded or deleted.
+     */
+    public synchronized void forget(String worldName) {
+        lru.remove(worldName);
+    }
+
+    /**
+     * Queue a world for unloading, e.g. when it is over its cost budget.
+     * Call from the main thread.
+     */
+    public void evict(String worldName) {
+        if (!queue.contains(worldName)) {
+            queue.add(worldName);
+        }
+        startNext();
+    }
+
+    private void check() {
+        // Copied, since reading an access ordered map counts as a use
+        List<Map.Entry<String, Long>> order = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<String, Long> entry : lru.entrySet()) {
+                order.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        int count = 0;
+        long memory = 0;
+        long total = 0;
+        List<Map.Entry<String, Long>> empty = new ArrayList<>();
+
+        for (Map.Entry<String, Long> entry : order) {
+            World world = Bukkit.getWorld(entry.getKey());
+            if (world == null) continue;
+
+            long estimate = estimate(world);
+            total += estimate;
+
+            // Worlds already on their way out don't count against the limits
+            if (queue.contains(entry.getKey())
+                || worldManager.getWorldState(entry.getKey()) != WorldManager.WorldState.LOADED) continue;
+
+            count++;
+            memory += estimate;
+            if (!world.getPlayers().isEmpty()) {
+                // Occupied worlds are as warm as it gets
+                touch(entry.getKey());
+            } else if (!isPinned(entry.getKey(), entry.getValue(), now)) {
+                empty.add(entry);
+            }
+        }
+        estimatedBytes = total;
+
+        // Coldest empty worlds first, until every limit holds
+        for (Map.Entry<String, Long> entry : empty) {
+            String worldName = entry.getKey();
+            boolean idle = now - entry.getValue() > idleMillis;
+            if (!idle && count <= maxLoaded && memory <= budgetBytes) continue;
+
+            World world = Bukkit.getWorld(worldName);
+            if (world == null) continue;
+
+            queue.add(worldName);
+            count--;
+            memory -= estimate(world);
+        }
+
+        startNext();
+    }
+
+    /**
+     * Check if an empty world is still about to be used: someone is on the
+     * way there or just left.
+     */
+    private boolean isPinned(String worldName, long lastUse, long now) {
+        return now - lastUse < recentUseMillis
+            || worldManager.getPrefetcher().isActive(worldName)
+            || worldManager.hasPendingRequests(worldName);
+    }
+
+    /**
+     * Start the next queued unload once the previous one is done.
+     */
+    private void startNext() {
+        if (current != null) return;
+
+        String worldName = queue.poll();
+        if (worldName == null) return;
+
+        evictions++;
+        current = worldManager.unloadIslandWorld(worldName);
+        current.whenComplete((v, ex) -> {
+            current = null;
+            // At most one unload starts per tick
+            Bukkit.getScheduler().runTask(plugin, this::startNext);
+        });
+    }
+
+    private long estimate(World world) {
+        WorldSampler.Sample sample = worldManager.getSampler().getLatest(world.getName());
+        if (sample != null) {
+            return worldBytes + sample.getChunks() * chunkBytes + sample.getEntities() * entityBytes;
+        }
+        return worldBytes + world.getLoadedChunks().length * chunkBytes;
+    }
+
+    public int getMaxLoaded() {
+        return maxLoaded;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public int getQueued() {
+        return queue.size() + (current != null ? 1 : 0);
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void shutdown() {
+        task.cancel();
+        queue.clear();
+    }
+}
@@ -6,28 +6,59 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 /**
  * Manages world creation, loading, and unloading.
- * Supports both standard Bukkit worlds and SlimeWorldManager (if available).
+ * Island worlds are kept in the native {@link IslandStorage} format while
+ * unloaded, or as standard Bukkit worlds.
+ *
+ * Every island world moves through UNLOADED, LOADING, LOADED and UNLOADING.
+ * Requests for a world that is already loading share its future, which is
+ * completed from the main thread once the world exists; nothing blocks
+ * waiting for it.
  */
 public class WorldManager {
 
     private final SkyblockPlugin plugin;
     private final Map<String, WorldData> loadedWorlds;
-    private final Map<String, Long> worldLastAccess;
+
+    // Lifecycle of every island world the plugin has touched
+    private final Map<String, ManagedWorld> lifecycles;
+    private final LifecycleMetrics metrics;
+
+    // Per-world cost sampling and throttling
+    private final WorldSampler sampler;
+
+    // Island worlds created ahead of time, and the template they are copied from
+    private final IslandWorldPool pool;
+    private volatile IslandTemplate template;
+
+    // Native island format, or null when islands are kept as region files
+    private final IslandStorage storage;
+
+    // Least recently used order and unloading of island worlds
+    private final WorldGovernor governor;
+
+    // Spawn chunks loaded ahead of teleports
+    private final ChunkPrefetcher prefetcher;
 
     // Configuration
     private String hubWorldName;
     private String islandTemplateWorld;
     private String gardenTemplateWorld;
-    private boolean useSlimeWorlds;
-    private int autoUnloadMinutes;
-    private int maxLoadedIslands;
+    private int loadTimeoutSeconds;
+    private long unloadBudgetNanos;
 
     // SlimeWorldManager integration (optional)
     private boolean slimeWorldManagerAvailable;
@@ -36,13 +67,18 @@ public class WorldManager {
     public WorldManager(SkyblockPlugin plugin) {
         this.plugin = plugin;
         this.loadedWorlds = new ConcurrentHashMap<>();
-        this.worldLastAccess = new ConcurrentHashMap<>();
+        this.lifecycles = new ConcurrentHashMap<>();
+        this.metrics = new LifecycleMetrics();
 
         loadConfig();
         checkSlimeWorldManager();
-
-        // Start world unload task
-        startUnloadTask();
+        this.storage = "native".equalsIgnoreCase(plugin.getConfigManager().getWorldsConfig()
+            .getString("worlds.islands.storage", "native")) ? new IslandStorage(plugin) : null;
+        this.sampler = new WorldSampler(plugin, this);
+        packTemplate();
+        this.pool = new IslandWorldPool(plugin, this);
+        this.governor = new WorldGovernor(plugin, this);
+        this.prefetcher = new ChunkPrefetcher(plugin, this);
     }
 
     private void loadConfig() {
@@ -51,9 +87,32 @@ public class WorldManager {
         hubWorldName = config.getString("worlds.hub.world_name", "world_hub");
         islandTemplateWorld = config.getString("worlds.islands.template_world", "island_template");
         gardenTemplateWorld = config.getString("worlds.garden.template_world", "garden_template");
-        useSlimeWorlds = config.getBoolean("worlds.islands.use_slime_worlds", false);
-        autoUnloadMinutes = config.getInt("worlds.islands.auto_unload_minutes", 10);
-        maxLoadedIslands = config.getInt("worlds.islands.max_loaded", 50);
+        loadTimeoutSeconds = Math.max(1, config.getInt("worlds.islands.load_timeout_seconds", 30));
+        unloadBudgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getLong("worlds.governor.tick_budget_ms", 5)));
+    }
+
+    /**
+     * Read the island template into memory in the background.
+     * Copies fall back to the template directory until it is done.
+     */
+    private void packTemplate() {
+        FileConfiguration config = plugin.getConfigManager().getWorldsConfig();
+        if (!config.getBoolean("worlds.pool.cache_template", true)) return;
+
+        long maxBytes = config.getLong("worlds.pool.template_cache_mb", 64) * 1024 * 1024;
+        File templateDir = new File(Bukkit.getWorldContainer(), islandTemplateWorld);
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                template = IslandTemplate.pack(templateDir, maxBytes);
+                if (template != null) {
+                    plugin.log(Level.INFO, "Cached island template: " + template.getFileCount() + " files, "
+                        + (template.getTotalBytes() / 1024) + " KB");
+                }
+            } catch (Exception e) {
+                plugin.log(Level.WARNING, "Failed to cache island template: " + e.getMessage());
+            }
+        });
     }
 
     private void checkSlimeWorldManager() {
@@ -106,156 +165,492 @@ public class WorldManager {
 
     /**
      * Create a new island world for a player.
+     * Completes on the main thread once the world is loaded, or with null on failure.
      */
     public CompletableFuture<World> createIslandWorld(String worldName, UUID ownerUuid) {
-        return CompletableFuture.supplyAsync(() -> {
+        ManagedWorld managed = lifecycles.computeIfAbsent(worldName, ManagedWorld::new);
+        CompletableFuture<World> load;
+        synchronized (managed) {
+            CompletableFuture<World> existing = join(managed, null);
+            if (existing != null) {
+                return existing;
+            }
+            if (managed.state == WorldState.UNLOADING) {
+                return managed.unload.thenCompose(v -> createIslandWorld(worldName, ownerUuid));
+            }
+            load = beginLoad(managed);
+            managed.pinned = true;
+        }
+
+        metrics.creates.incrementAndGet();
+
+        // Copy the template off the main thread, then create the world on it
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            boolean fromTemplate = false;
             try {
-                if (useSlimeWorlds && slimeWorldManagerAvailable) {
-                    return createSlimeWorld(worldName, ownerUuid);
-                } else {
-                    return createBukkitWorld(worldName, ownerUuid);
-                }
+                fromTemplate = prepareWorldFiles(worldName);
             } catch (Exception e) {
-                plugin.log(Level.SEVERE, "Failed to create island world: " + e.getMessage());
-                e.printStackTrace();
-                return null;
+                plugin.log(Level.SEVERE, "Failed to copy island template for " + worldName + ": " + e.getMessage());
             }
-        }).thenApplyAsync(world -> world, runnable -> Bukkit.getScheduler().runTask(plugin, runnable));
+
+            boolean voidWorld = !fromTemplate;
+            Bukkit.getScheduler().runTask(plugin, () -> finishLoad(managed, load,
+                () -> createIslandBukkitWorld(worldName, voidWorld, null)));
+        });
+
+        return load;
     }
 
-    private World createBukkitWorld(String worldName, UUID ownerUuid) {
-        // Check if template exists
-        File templateDir = new File(Bukkit.getWorldContainer(), islandTemplateWorld);
+    /**
+     * Write the template into a new world directory. Safe off the main thread.
+     *
+     * @return False if there is no template and the world should be a void world
+     */
+    boolean prepareWorldFiles(String worldName) throws IOException {
         File targetDir = new File(Bukkit.getWorldContainer(), worldName);
 
-        if (templateDir.exists()) {
-            // Copy template
-            copyDirectory(templateDir, targetDir);
+        IslandTemplate cached = template;
+        if (cached != null) {
+            cached.writeTo(targetDir);
+            return true;
+        }
 
-            // Delete uid.dat to allow loading as new world
-            File uidFile = new File(targetDir, "uid.dat");
-            if (uidFile.exists()) {
-                uidFile.delete();
-            }
+        File templateDir = new File(Bukkit.getWorldContainer(), islandTemplateWorld);
+        if (!templateDir.exists()) {
+            return false;
         }
 
-        // Create or load the world
-        final World[] result = new World[1];
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            WorldCreator creator = new WorldCreator(worldName);
+        copyDirectory(templateDir, targetDir);
 
-            if (!templateDir.exists()) {
-                // Create void world if no template
-                creator.type(WorldType.FLAT);
-                creator.generatorSettings("{\"layers\": [], \"biome\": \"the_void\"}");
-                creator.generateStructures(false);
-            }
+        // Delete uid.dat to allow loading as new world
+        File uidFile = new File(targetDir, "uid.dat");
+        if (uidFile.exists()) {
+            uidFile.delete();
+        }
+        return true;
+    }
 
-            result[0] = creator.createWorld();
+    /**
+     * Create or open an island world on the main thread.
+     *
+     * @param blob The stored island for native storage, or null if there is none
+     */
+    World createIslandBukkitWorld(String worldName, boolean voidWorld, IslandBlob blob) {
+        WorldCreator creator = new WorldCreator(worldName);
+        if (storage != null) {
+            // Chunks without region data are built from the stored island, or stay empty
+            creator.generator(storage.createGenerator(worldName, blob));
+        } else if (voidWorld) {
+            // Create void world if no template
+            creator.type(WorldType.FLAT);
+            creator.generatorSettings("{\"layers\": [], \"biome\": \"the_void\"}");
+            creator.generateStructures(false);
+        }
 
-            if (result[0] != null) {
-                setupIslandWorld(result[0]);
-                loadedWorlds.put(worldName, new WorldData(worldName, WorldType.ISLAND, result[0]));
-                worldLastAccess.put(worldName, System.currentTimeMillis());
-            }
-        });
+        World world = creator.createWorld();
+        if (world != null) {
+            setupIslandWorld(world);
+        } else if (storage != null) {
+            storage.forget(worldName);
+        }
+        return world;
+    }
 
-        // Wait for world creation
-        int attempts = 0;
-        while (result[0] == null && attempts < 100) {
-            try {
-                Thread.sleep(50);
-                attempts++;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
+    /**
+     * Take a ready world from the pool for a new island. The world is loaded
+     * and managed like any other island world from then on. Call from the
+     * main thread.
+     *
+     * @return The world's name, or null if the pool is empty
+     */
+    public String claimPooledWorld() {
+        String worldName = pool.claim();
+        if (worldName == null) return null;
+
+        World world = Bukkit.getWorld(worldName);
+        ManagedWorld managed = lifecycles.computeIfAbsent(worldName, ManagedWorld::new);
+        synchronized (managed) {
+            managed.state = WorldState.LOADED;
+            loadedWorlds.put(worldName, new WorldData(worldName, WorldType.ISLAND, world));
+            governor.touch(worldName);
         }
 
-        return result[0];
+        metrics.pooled.incrementAndGet();
+        return worldName;
     }
 
-    private World createSlimeWorld(String worldName, UUID ownerUuid) {
-        // SlimeWorldManager integration
-        // This is a placeholder - actual implementation depends on ASWM API version
-        plugin.log(Level.INFO, "Creating SlimeWorld: " + worldName);
-
-        // Fall back to Bukkit world if SWM fails
-        return createBukkitWorld(worldName, ownerUuid);
+    /**
+     * Return a claimed world that ended up unused.
+     */
+    public void releasePooledWorld(String worldName) {
+        lifecycles.remove(worldName);
+        loadedWorlds.remove(worldName);
+        governor.forget(worldName);
+        pool.giveBack(worldName);
     }
 
     /**
      * Load an existing island world.
+     * Completes on the main thread with the world, or with null if it does not exist.
      */
     public CompletableFuture<World> loadIslandWorld(String worldName) {
-        // Check if already loaded
-        WorldData existing = loadedWorlds.get(worldName);
-        if (existing != null && existing.getWorld() != null) {
-            worldLastAccess.put(worldName, System.currentTimeMillis());
-            return CompletableFuture.completedFuture(existing.getWorld());
+        return loadIslandWorld(worldName, null);
+    }
+
+    /**
+     * Load an island world on behalf of a player. If the player quits before it
+     * is ready, their future is cancelled, and the load itself is dropped when
+     * nobody else is waiting for it.
+     */
+    public CompletableFuture<World> loadIslandWorld(String worldName, UUID requester) {
+        ManagedWorld managed = lifecycles.computeIfAbsent(worldName, ManagedWorld::new);
+        CompletableFuture<World> load;
+        CompletableFuture<World> request;
+        synchronized (managed) {
+            CompletableFuture<World> existing = join(managed, requester);
+            if (existing != null) {
+                return existing;
+            }
+            if (managed.state == WorldState.UNLOADING) {
+                // Let the unload finish, then load it again
+                return managed.unload.thenCompose(v -> loadIslandWorld(worldName, requester));
+            }
+            load = beginLoad(managed);
+            request = attach(managed, requester);
         }
 
-        return CompletableFuture.supplyAsync(() -> {
+        metrics.loads.incrementAndGet();
+
+        if (storage == null) {
+            Bukkit.getScheduler().runTask(plugin, () -> finishLoad(managed, load, () -> {
+                File worldDir = new File(Bukkit.getWorldContainer(), worldName);
+                return worldDir.exists() ? new WorldCreator(worldName).createWorld() : null;
+            }));
+            return request;
+        }
+
+        // Read the stored island off the main thread, then open the world on it
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            IslandBlob blob;
             try {
-                // Check if world folder exists
+                blob = storage.read(worldName);
+            } catch (Exception e) {
+                // Opening it anyway would overwrite the stored island with an empty one
+                plugin.log(Level.SEVERE, "Failed to read stored island world " + worldName + ": " + e.getMessage());
+                Bukkit.getScheduler().runTask(plugin, () -> finishLoad(managed, load, () -> null));
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(plugin, () -> finishLoad(managed, load, () -> {
                 File worldDir = new File(Bukkit.getWorldContainer(), worldName);
-                if (!worldDir.exists()) {
-                    return null;
-                }
+                return worldDir.exists() || blob != null ? createIslandBukkitWorld(worldName, false, blob) : null;
+            }));
+        });
 
-                final World[] result = new World[1];
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    WorldCreator creator = new WorldCreator(worldName);
-                    result[0] = creator.createWorld();
+        return request;
+    }
 
-                    if (result[0] != null) {
-                        setupIslandWorld(result[0]);
-                        loadedWorlds.put(worldName, new WorldData(worldName, WorldType.ISLAND, result[0]));
-                        worldLastAccess.put(worldName, System.currentTimeMillis());
-                    }
-                });
+    /**
+     * Attach a request to a world that is loaded or loading.
+     * Caller holds the lock.
+     *
+     * @return The requester's future, or null if a new load has to be started
+     */
+    private CompletableFuture<World> join(ManagedWorld managed, UUID requester) {
+        if (managed.state == WorldState.LOADED) {
+            World world = Bukkit.getWorld(managed.name);
+            if (world != null) {
+                governor.touch(managed.name);
+                return CompletableFuture.completedFuture(world);
+            }
+            // Unloaded behind our back
+            loadedWorlds.remove(managed.name);
+            managed.state = WorldState.UNLOADED;
+            return null;
+        }
+        if (managed.state != WorldState.LOADING) {
+            return null;
+        }
 
-                // Wait for world load
-                int attempts = 0;
-                while (result[0] == null && attempts < 100) {
-                    Thread.sleep(50);
-                    attempts++;
+        metrics.deduplicated.incrementAndGet();
+        return attach(managed, requester);
+    }
+
+    /**
+     * Give a requester a future for the current load. Caller holds the lock.
+     */
+    private CompletableFuture<World> attach(ManagedWorld managed, UUID requester) {
+        if (requester == null) {
+            // Nobody to cancel on behalf of, so the load always runs to the end
+            managed.pinned = true;
+            return managed.load;
+        }
+        return managed.requests.computeIfAbsent(requester, k -> managed.load.thenApply(world -> world));
+    }
+
+    /**
+     * Cancel everything a player is waiting for, e.g. when they quit.
+     */
+    public void cancelRequests(UUID requester) {
+        for (ManagedWorld managed : lifecycles.values()) {
+            CompletableFuture<World> request;
+            CompletableFuture<World> dropped = null;
+            synchronized (managed) {
+                request = managed.requests.remove(requester);
+                if (request == null) continue;
+
+                if (managed.state == WorldState.LOADING && managed.requests.isEmpty()
+                        && !managed.pinned && !managed.started) {
+                    // Nobody is waiting any more; the main thread step will skip the load
+                    managed.cancelled = true;
+                    managed.state = WorldState.UNLOADED;
+                    dropped = managed.load;
+                    metrics.cancelled.incrementAndGet();
                 }
+            }
 
-                return result[0];
-            } catch (Exception e) {
-                plugin.log(Level.WARNING, "Failed to load island world: " + worldName);
-                return null;
+            request.cancel(false);
+            if (dropped != null) {
+                dropped.cancel(false);
             }
-        });
+        }
+    }
+
+    /**
+     * Move a world to LOADING with a fresh future and arm its timeout.
+     * Caller holds the lock.
+     */
+    private CompletableFuture<World> beginLoad(ManagedWorld managed) {
+        CompletableFuture<World> load = new CompletableFuture<>();
+        managed.state = WorldState.LOADING;
+        managed.load = load;
+        managed.started = false;
+        managed.cancelled = false;
+        managed.pinned = false;
+        managed.requestedAt = System.currentTimeMillis();
+        managed.requests.clear();
+
+        CompletableFuture.delayedExecutor(loadTimeoutSeconds, TimeUnit.SECONDS)
+            .execute(() -> timeOut(managed, load));
+        return load;
+    }
+
+    private void timeOut(ManagedWorld managed, CompletableFuture<World> load) {
+        synchronized (managed) {
+            // Once the main thread started creating the world it finishes in the same tick
+            if (managed.load != load || load.isDone() || managed.started) return;
+            managed.cancelled = true;
+            managed.state = WorldState.UNLOADED;
+            managed.requests.clear();
+        }
+
+        metrics.timeouts.incrementAndGet();
+        plugin.log(Level.WARNING, "Timed out loading island world " + managed.name
+            + " after " + loadTimeoutSeconds + "s");
+        load.completeExceptionally(new TimeoutException("Timed out loading " + managed.name));
     }
 
     /**
-     * Unload an island world.
+     * Main thread step of a load: create the world, record it and complete
+     * the future, unless the load was cancelled or timed out meanwhile.
      */
-    public void unloadIslandWorld(String worldName) {
+    private void finishLoad(ManagedWorld managed, CompletableFuture<World> load, Supplier<World> creator) {
+        synchronized (managed) {
+            if (managed.load != load || managed.cancelled) return;
+            managed.started = true;
+        }
+
+        World world = null;
+        try {
+            world = creator.get();
+        } catch (Exception e) {
+            plugin.log(Level.SEVERE, "Failed to load island world " + managed.name + ": " + e.getMessage());
+        }
+
+        synchronized (managed) {
+            if (world != null) {
+                setupIslandWorld(world);
+                loadedWorlds.put(managed.name, new WorldData(managed.name, WorldType.ISLAND, world));
+                governor.touch(managed.name);
+                managed.state = WorldState.LOADED;
+                metrics.recordLoadTime(System.currentTimeMillis() - managed.requestedAt);
+            } else {
+                managed.state = WorldState.UNLOADED;
+                metrics.failures.incrementAndGet();
+            }
+            managed.requests.clear();
+        }
+        load.complete(world);
+    }
+
+    /**
+     * Unload an island world. Call from the main thread.
+     *
+     * The work is spread over several ticks, each kept within the unload
+     * tick budget: native worlds are captured a few chunks at a time, other
+     * worlds have their chunks saved and unloaded a few at a time, so the
+     * final world unload has little left to do. Unloading is called off if
+     * a player arrives in the meantime.
+     *
+     * Most unloads should go through {@link WorldGovernor#evict(String)},
+     * which runs them one at a time.
+     *
+     * @return Completes on the main thread once the world is unloaded or stays loaded
+     */
+    public CompletableFuture<Void> unloadIslandWorld(String worldName) {
+        ManagedWorld managed = lifecycles.get(worldName);
         WorldData worldData = loadedWorlds.get(worldName);
-        if (worldData == null || worldData.getWorld() == null) {
-            return;
+        if (managed == null || worldData == null || worldData.getWorld() == null) {
+            return CompletableFuture.completedFuture(null);
         }
 
         World world = worldData.getWorld();
 
         // Don't unload if players are present
         if (!world.getPlayers().isEmpty()) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
-        // Teleport any remaining entities/save data
-        world.save();
+        CompletableFuture<Void> unload = new CompletableFuture<>();
+        synchronized (managed) {
+            if (managed.state != WorldState.LOADED) {
+                return managed.unload != null ? managed.unload : CompletableFuture.completedFuture(null);
+            }
+            managed.state = WorldState.UNLOADING;
+            managed.unload = unload;
+        }
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            if (Bukkit.unloadWorld(world, true)) {
-                loadedWorlds.remove(worldName);
-                worldLastAccess.remove(worldName);
-                plugin.log(Level.INFO, "Unloaded island world: " + worldName);
+        // Spawn chunks stop ticking, so nothing changes in them once captured or saved
+        boolean keepSpawn = world.getKeepSpawnInMemory();
+        world.setKeepSpawnInMemory(false);
+
+        CompletableFuture<Boolean> prepared = storage != null && storage.isNative(worldName)
+            // Store the island while the world is still loaded; it stays UNLOADING until then
+            ? storage.save(world, unloadBudgetNanos)
+            : drainChunks(world).thenApply(v -> false);
+        prepared.thenAccept(stored -> {
+            finishUnload(managed, world, unload, stored);
+            // Someone arrived and the world stays, so it keeps its spawn as before
+            if (Bukkit.getWorld(world.getUID()) == world) {
+                world.setKeepSpawnInMemory(keepSpawn);
             }
         });
+        return unload;
+    }
+
+    /**
+     * Save and unload the chunks of an empty world within the tick budget,
+     * carrying on over as many ticks as it takes. Stops early if a player
+     * arrives. Spawn chunks only go if the world no longer keeps them in
+     * memory. Completes on the main thread.
+     */
+    private CompletableFuture<Void> drainChunks(World world) {
+        CompletableFuture<Void> drained = new CompletableFuture<>();
+        Deque<Chunk> chunks = new ArrayDeque<>(Arrays.asList(world.getLoadedChunks()));
+
+        Bukkit.getScheduler().runTaskTimer(plugin, task -> {
+            long start = System.nanoTime();
+            while (!chunks.isEmpty() && System.nanoTime() - start < unloadBudgetNanos) {
+                if (!world.getPlayers().isEmpty()) {
+                    chunks.clear();
+                    break;
+                }
+                Chunk chunk = chunks.poll();
+                if (chunk.isLoaded() && !chunk.isForceLoaded()) {
+                    chunk.unload(true);
+                }
+            }
+            if (chunks.isEmpty()) {
+                task.cancel();
+                drained.complete(null);
+            }
+        }, 1L, 1L);
+        return drained;
+    }
+
+    /**
+     * Unload a world that is UNLOADING. A stored native world is unloaded
+     * without saving and its region files are dropped; anything else is
+     * saved to region files as usual.
+     */
+    private void finishUnload(ManagedWorld managed, World world, CompletableFuture<Void> unload, boolean stored) {
+        String worldName = managed.name;
+
+        // Someone may have arrived while the island was being stored
+        boolean unloaded = world.getPlayers().isEmpty() && Bukkit.unloadWorld(world, !stored);
+        if (!unloaded) {
+            if (stored) {
+                // The server keeps saving to region files, so they are current again
+                storage.keepAnvilData(worldName);
+            }
+            synchronized (managed) {
+                managed.state = WorldState.LOADED;
+            }
+            unload.complete(null);
+            return;
+        }
+
+        loadedWorlds.remove(worldName);
+        governor.forget(worldName);
+        metrics.unloads.incrementAndGet();
+        plugin.log(Level.INFO, "Unloaded island world: " + worldName);
+
+        if (stored) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                storage.dropAnvilData(worldName);
+                Bukkit.getScheduler().runTask(plugin, () -> completeUnload(managed, unload));
+            });
+            return;
+        }
+
+        if (storage != null) {
+            storage.forget(worldName);
+        }
+        completeUnload(managed, unload);
+    }
+
+    private void completeUnload(ManagedWorld managed, CompletableFuture<Void> unload) {
+        synchronized (managed) {
+            managed.state = WorldState.UNLOADED;
+        }
+        unload.complete(null);
+    }
+
+    /**
+     * Check if anyone is still waiting on a load of an island world.
+     */
+    public boolean hasPendingRequests(String worldName) {
+        ManagedWorld managed = lifecycles.get(worldName);
+        if (managed == null) return false;
+        synchronized (managed) {
+            return managed.state == WorldState.LOADING || !managed.requests.isEmpty();
+        }
+    }
+
+    /**
+     * Get the lifecycle state of an island world.
+     */
+    public WorldState getWorldState(String worldName) {
+        ManagedWorld managed = lifecycles.get(worldName);
+        return managed != null ? managed.state : WorldState.UNLOADED;
+    }
+
+    /**
+     * Count island worlds in each lifecycle state.
+     */
+    public Map<WorldState, Integer> getStateCounts() {
+        Map<WorldState, Integer> counts = new EnumMap<>(WorldState.class);
+        for (WorldState state : WorldState.values()) {
+            counts.put(state, 0);
+        }
+        for (ManagedWorld managed : lifecycles.values()) {
+            counts.merge(managed.state, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    public LifecycleMetrics getMetrics() {
+        return metrics;
     }
 
     /**
@@ -290,59 +685,55 @@ public class WorldManager {
         player.teleport(spawn);
     }
 
+    /**
+     * Handle the outcome of a player's island world load, telling them if
+     * it failed. A cancelled load means the player quit, so nobody is told.
+     *
+     * @param failureMessage Sent when the world failed to load or does not exist
+     * @return True if the load failed and there is no world to use
+     */
+    public boolean handleLoadFailure(Player player, World world, Throwable error, String failureMessage) {
+        Throwable ex = error instanceof CompletionException ? error.getCause() : error;
+        if (ex instanceof CancellationException) {
+            // The player quit while the island was loading
+            return true;
+        }
+        if (ex instanceof TimeoutException) {
+            player.sendMessage("§cLoading the island took too long, please try again!");
+            return true;
+        }
+        if (ex != null || world == null) {
+            player.sendMessage(failureMessage);
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Teleport a player to an island.
      */
     public void teleportToIsland(Player player, String worldName, Location spawnLocation) {
-        loadIslandWorld(worldName).thenAccept(world -> {
-            if (world == null) {
-                player.sendMessage("§cFailed to load island!");
+        loadIslandWorld(worldName, player.getUniqueId()).whenComplete((world, error) -> {
+            if (handleLoadFailure(player, world, error, "§cFailed to load island!")) {
                 return;
             }
 
+            // Already loaded worlds complete on the calling thread
             Bukkit.getScheduler().runTask(plugin, () -> {
                 Location loc = spawnLocation != null ?
                     spawnLocation.clone() :
                     new Location(world, 0, 100, 0);
                 loc.setWorld(world);
-                player.teleport(loc);
+                prefetcher.prefetch(loc).whenComplete((ready, ex) -> {
+                    // The world may have been unloaded while its chunks were loading
+                    if (player.isOnline() && !handleLoadFailure(player, world, ex, "§cFailed to load island!")) {
+                        player.teleport(loc);
+                    }
+                });
             });
         });
     }
 
-    /**
-     * Start the automatic world unload task.
-     */
-    private void startUnloadTask() {
-        long intervalTicks = autoUnloadMinutes * 60 * 20L; // Convert minutes to ticks
-
-        Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            long now = System.currentTimeMillis();
-            long unloadThreshold = autoUnloadMinutes * 60 * 1000L;
-
-            List<String> toUnload = new ArrayList<>();
-
-            for (Map.Entry<String, Long> entry : worldLastAccess.entrySet()) {
-                String worldName = entry.getKey();
-                WorldData worldData = loadedWorlds.get(worldName);
-
-                if (worldData != null && worldData.getType() == WorldType.ISLAND) {
-                    World world = worldData.getWorld();
-
-                    // Check if world should be unloaded
-                    if (world != null && world.getPlayers().isEmpty() &&
-                        now - entry.getValue() > unloadThreshold) {
-                        toUnload.add(worldName);
-                    }
-                }
-            }
-
-            for (String worldName : toUnload) {
-                unloadIslandWorld(worldName);
-            }
-        }, intervalTicks, intervalTicks);
-    }
-
     /**
      * Copy a directory recursively.
      */
@@ -376,6 +767,12 @@ public class WorldManager {
      * Delete a world directory.
      */
     public boolean deleteWorld(String worldName) {
+        // Forget the lifecycle so waiting requests fail instead of getting a deleted world
+        ManagedWorld removed = lifecycles.remove(worldName);
+        if (removed != null) {
+            removed.abort();
+        }
+
         // Unload first
         WorldData worldData = loadedWorlds.get(worldName);
         if (worldData != null && worldData.getWorld() != null) {
@@ -387,7 +784,11 @@ public class WorldManager {
         }
 
         loadedWorlds.remove(worldName);
-        worldLastAccess.remove(worldName);
+        governor.forget(worldName);
+
+        if (storage != null) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> storage.delete(worldName));
+        }
 
         // Delete world folder
         File worldDir = new File(Bukkit.getWorldContainer(), worldName);
@@ -411,7 +812,7 @@ public class WorldManager {
      */
     public void updateWorldAccess(String worldName) {
         if (loadedWorlds.containsKey(worldName)) {
-            worldLastAccess.put(worldName, System.currentTimeMillis());
+            governor.touch(worldName);
         }
     }
 
@@ -423,6 +824,26 @@ public class WorldManager {
                loadedWorlds.get(worldName).getWorld() != null;
     }
 
+    /**
+     * Get the kind of a world by name, or null if the plugin does not manage it.
+     */
+    public WorldType getWorldType(String worldName) {
+        WorldData data = loadedWorlds.get(worldName);
+        if (data != null) {
+            return data.getType();
+        }
+        if (worldName.equals(hubWorldName)) {
+            return WorldType.HUB;
+        }
+        if (worldName.startsWith("island_")) {
+            return WorldType.ISLAND;
+        }
+        if (worldName.startsWith("garden_")) {
+            return WorldType.GARDEN;
+        }
+        return null;
+    }
+
     /**
      * Get the number of loaded island worlds.
      */
@@ -440,7 +861,43 @@ public class WorldManager {
         return slimeWorldManagerAvailable;
     }
 
+    /**
+     * Get the island world cost sampler.
+     */
+    public WorldSampler getSampler() {
+        return sampler;
+    }
+
+    public IslandWorldPool getPool() {
+        return pool;
+    }
+
+    public WorldGovernor getGovernor() {
+        return governor;
+    }
+
+    public ChunkPrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+
+    /**
+     * Get the native island storage, or null if islands are kept as region files.
+     */
+    public IslandStorage getStorage() {
+        return storage;
+    }
+
     public void shutdown() {
+        sampler.shutdown();
+        pool.shutdown();
+        governor.shutdown();
+        prefetcher.shutdown();
+
+        // Nothing may finish loading after this
+        for (ManagedWorld managed : lifecycles.values()) {
+            managed.abort();
+        }
+
         // Save and unload all island worlds
         for (WorldData worldData : loadedWorlds.values()) {
             if (worldData.getType() == WorldType.ISLAND && worldData.getWorld() != null) {
@@ -458,6 +915,112 @@ public class WorldManager {
         GARDEN
     }
 
+    /**
+     * Lifecycle states of an island world.
+     */
+    public enum WorldState {
+        UNLOADED,
+        LOADING,
+        LOADED,
+        UNLOADING
+    }
+
+    /**
+     * Lifecycle of one island world. Fields are guarded by the instance lock.
+     */
+    private static final class ManagedWorld {
+        final String name;
+        volatile WorldState state = WorldState.UNLOADED;
+
+        CompletableFuture<World> load;
+        CompletableFuture<Void> unload = CompletableFuture.completedFuture(null);
+        long requestedAt;
+
+        // Players waiting for the current load, with their own futures
+        final Map<UUID, CompletableFuture<World>> requests = new HashMap<>();
+        // Someone without a requester id is waiting, so quitting players can't cancel it
+        boolean pinned;
+        // Set once the main thread started creating the world; too late to cancel
+        boolean started;
+        boolean cancelled;
+
+        ManagedWorld(String name) {
+            this.name = name;
+        }
+
+        synchronized void abort() {
+            cancelled = true;
+            if (load != null && !load.isDone()) {
+                load.cancel(false);
+            }
+            requests.clear();
+        }
+    }
+
+    /**
+     * Counters of island world loads and unloads since startup.
+     */
+    public static class LifecycleMetrics {
+        private final AtomicLong loads = new AtomicLong();
+        private final AtomicLong creates = new AtomicLong();
+        private final AtomicLong pooled = new AtomicLong();
+        private final AtomicLong deduplicated = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong cancelled = new AtomicLong();
+        private final AtomicLong unloads = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong totalLoadMillis = new AtomicLong();
+        private final AtomicLong maxLoadMillis = new AtomicLong();
+
+        void recordLoadTime(long millis) {
+            completed.incrementAndGet();
+            totalLoadMillis.addAndGet(millis);
+            maxLoadMillis.accumulateAndGet(millis, Math::max);
+        }
+
+        public long getLoads() {
+            return loads.get();
+        }
+
+        public long getCreates() {
+            return creates.get();
+        }
+
+        public long getPooled() {
+            return pooled.get();
+        }
+
+        public long getDeduplicated() {
+            return deduplicated.get();
+        }
+
+        public long getTimeouts() {
+            return timeouts.get();
+        }
+
+        public long getFailures() {
+            return failures.get();
+        }
+
+        public long getCancelled() {
+            return cancelled.get();
+        }
+
+        public long getUnloads() {
+            return unloads.get();
+        }
+
+        public long getAverageLoadMillis() {
+            long count = completed.get();
+            return count > 0 ? totalLoadMillis.get() / count : 0;
+        }
+
+        public long getMaxLoadMillis() {
+            return maxLoadMillis.get();
+        }
+    }
+
     /**
      * Data class for loaded worlds.
      */
@@ -0,0 +1,342 @@
+package com.skyblock.world;
+
+import com.skyblock.SkyblockPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Mob;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+
+/**
+ * Estimates how much each loaded island world costs the server.
+ *
+ * Every sample reads the world's entity, tile and loaded chunk counts and
+ * folds them into one weighted cost score, kept in a ring per world so the
+ * report can show the recent average and peak rather than a single spike.
+ * Entity and tile counts come from counters the island code registers, so a
+ * sample never walks a world's entity list.
+ *
+ * Optionally, an island whose average score stays over budget is throttled:
+ * its mobs lose their AI until the score drops back, and it is unloaded as
+ * soon as nobody is on it. Main thread only.
+ */
+public class WorldSampler implements Listener {
+
+    private final SkyblockPlugin plugin;
+    private final WorldManager worldManager;
+
+    // Cost weights per entity, tile and loaded chunk
+    private final double entityWeight;
+    private final double tileWeight;
+    private final double chunkWeight;
+    private final int historySize;
+
+    // Throttling
+    private final boolean throttleEnabled;
+    private final double budget;
+    private final boolean freezeMobAi;
+    private final boolean unloadWhenEmpty;
+
+    private ToIntFunction<World> entityCounter = world -> world.getEntities().size();
+    private ToIntFunction<World> tileCounter = world -> 0;
+
+    private final Map<String, History> histories;
+    private final Set<String> throttled;
+
+    public WorldSampler(SkyblockPlugin plugin, WorldManager worldManager) {
+        this.plugin = plugin;
+        this.worldManager = worldManager;
+        this.histories = new HashMap<>();
+        this.throttled = new HashSet<>();
+
+        FileConfiguration config = plugin.getConfigManager().getWorldsConfig();
+        this.entityWeight = config.getDouble("sampling.weights.entity", 1.0);
+        this.tileWeight = config.getDouble("sampling.weights.tile", 0.5);
+        this.chunkWeight = config.getDouble("sampling.weights.chunk", 2.0);
+        this.historySize = Math.max(1, config.getInt("sampling.history_size", 60));
+        this.throttleEnabled = config.getBoolean("sampling.throttle.enabled", false);
+        this.budget = config.getDouble("sampling.throttle.budget", 500);
+        this.freezeMobAi = config.getBoolean("sampling.throttle.freeze_mob_ai", true);
+        this.unloadWhenEmpty = config.getBoolean("sampling.throttle.unload_when_empty", true);
+
+        long interval = Math.max(1, config.getLong("sampling.interval_seconds", 10)) * 20L;
+        Bukkit.getScheduler().runTaskTimer(plugin, this::sample, interval, interval);
+    }
+
+    /**
+     * Replace how entities are counted, e.g. with live per-island counts.
+     */
+    public void setEntityCounter(ToIntFunction<World> entityCounter) {
+        this.entityCounter = entityCounter;
+    }
+
+    /**
+     * Replace how tile entities are counted. Tiles are not counted by default.
+     */
+    public void setTileCounter(ToIntFunction<World> tileCounter) {
+        this.tileCounter = tileCounter;
+    }
+
+    /**
+     * Take one sample of every loaded island world.
+     */
+    private void sample() {
+        Set<String> seen = new HashSet<>();
+
+        for (World world : Bukkit.getWorlds()) {
+            String name = world.getName();
+            if (worldManager.getWorldType(name) != WorldManager.WorldType.ISLAND) continue;
+            seen.add(name);
+
+            int entities = entityCounter.applyAsInt(world);
+            int tiles = tileCounter.applyAsInt(world);
+            int chunks = world.getLoadedChunks().length;
+            double score = entities * entityWeight + tiles * tileWeight + chunks * chunkWeight;
+
+            History history = histories.computeIfAbsent(name, k -> new History(historySize));
+            history.add(entities, tiles, chunks, score);
+
+            if (throttleEnabled) {
+                updateThrottle(world, history);
+            }
+        }
+
+        // Forget worlds that are gone
+        histories.keySet().retainAll(seen);
+        throttled.retainAll(seen);
+    }
+
+    private void updateThrottle(World world, History history) {
+        String name = world.getName();
+        double average = history.getAverage();
+
+        if (!throttled.contains(name)) {
+            // Only act on a full window, so one busy sample after loading does not count
+            if (!history.isFull() || average <= budget) return;
+
+            throttled.add(name);
+            plugin.log(Level.WARNING, "Island world " + name + " is over its cost budget ("
+                + Math.round(average) + " > " + Math.round(budget) + "), throttling");
+            if (freezeMobAi) {
+                setMobAi(world, false);
+            }
+        } else if (average < budget * 0.8) {
+            // Some headroom, so a world hovering at the budget does not flap
+            throttled.remove(name);
+            plugin.log(Level.INFO, "Island world " + name + " is back under its cost budget");
+            if (freezeMobAi) {
+                setMobAi(world, true);
+            }
+            return;
+        }
+
+        if (unloadWhenEmpty && world.getPlayers().isEmpty()) {
+            worldManager.getGovernor().evict(name);
+        }
+    }
+
+    private void setMobAi(World world, boolean aware) {
+        for (LivingEntity entity : world.getLivingEntities()) {
+            if (entity instanceof Mob mob) {
+                mob.setAware(aware);
+            }
+        }
+    }
+
+    /**
+     * Check if a world is currently throttled.
+     */
+    public boolean isThrottled(String worldName) {
+        return throttled.contains(worldName);
+    }
+
+    public double getBudget() {
+        return throttleEnabled ? budget : -1;
+    }
+
+    /**
+     * Get the latest sample of a world, or null if it was never sampled.
+     */
+    public Sample getLatest(String worldName) {
+        History history = histories.get(worldName);
+        return history != null ? history.toSample(worldName) : null;
+    }
+
+    /**
+     * Get the island worlds with the highest average cost.
+     */
+    public List<Sample> getTop(int limit) {
+        List<Sample> result = new ArrayList<>(histories.size());
+        histories.forEach((name, history) -> result.add(history.toSample(name)));
+        result.sort(Comparator.comparingDouble(Sample::getAverageScore).reversed());
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    /**
+     * Give every throttled world its mob AI back, e.g. on shutdown.
+     */
+    public void shutdown() {
+        if (freezeMobAi) {
+            for (String name : throttled) {
+                World world = Bukkit.getWorld(name);
+                if (world != null) {
+                    setMobAi(world, true);
+                }
+            }
+        }
+        throttled.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onCreatureSpawn(CreatureSpawnEvent event) {
+        if (freezeMobAi && throttled.contains(event.getLocation().getWorld().getName())
+                && event.getEntity() instanceof Mob mob) {
+            mob.setAware(false);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        // Awareness is saved with the entity; never store a throttled mob frozen
+        if (!freezeMobAi || !throttled.contains(event.getWorld().getName())) return;
+
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof Mob mob) {
+                mob.setAware(true);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        String name = event.getWorld().getName();
+        if (freezeMobAi && throttled.remove(name)) {
+            setMobAi(event.getWorld(), true);
+        }
+        histories.remove(name);
+    }
+
+    /**
+     * Ring of the most recent samples of one world.
+     */
+    private static final class History {
+        final double[] scores;
+        int next;
+        int size;
+
+        int entities;
+        int tiles;
+        int chunks;
+
+        History(int capacity) {
+            this.scores = new double[capacity];
+        }
+
+        void add(int entities, int tiles, int chunks, double score) {
+            this.entities = entities;
+            this.tiles = tiles;
+            this.chunks = chunks;
+            scores[next] = score;
+            next = (next + 1) % scores.length;
+            size = Math.min(size + 1, scores.length);
+        }
+
+        boolean isFull() {
+            return size == scores.length;
+        }
+
+        double getLatest() {
+            return scores[(next - 1 + scores.length) % scores.length];
+        }
+
+        double getAverage() {
+            if (size == 0) return 0;
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += scores[i];
+            }
+            return sum / size;
+        }
+
+        double getPeak() {
+            double peak = 0;
+            for (int i = 0; i < size; i++) {
+                peak = Math.max(peak, scores[i]);
+            }
+            return peak;
+        }
+
+        Sample toSample(String worldName) {
+            return new Sample(worldName, entities, tiles, chunks, getLatest(), getAverage(), getPeak());
+        }
+    }
+
+    /**
+     * Cost figures of one island world.
+     */
+    public static class Sample {
+        private final String worldName;
+        private final int entities;
+        private final int tiles;
+        private final int chunks;
+        private final double score;
+        private final double averageScore;
+        private final double peakScore;
+
+        public Sample(String worldName, int entities, int tiles, int chunks,
+                      double score, double averageScore, double peakScore) {
+            this.worldName = worldName;
+            this.entities = entities;
+            this.tiles = tiles;
+            this.chunks = chunks;
+            this.score = score;
+            this.averageScore = averageScore;
+            this.peakScore = peakScore;
+        }
+
+        public String getWorldName() {
+            return worldName;
+        }
+
+        public int getEntities() {
+            return entities;
+        }
+
+        public int getTiles() {
+            return tiles;
+        }
+
+        public int getChunks() {
+            return chunks;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public double getAverageScore() {
+            return averageScore;
+        }
+
+        public double getPeakScore() {
+            return peakScore;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.skyblock.items;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Randomized encode/decode round trips for {@link ItemCodec}, plus the ways
+ * stored rows go bad: truncation, corruption and hostile lengths.
+ */
+class ItemCodecTest {
+
+    private static final String[] REFORGES = {"sharp", "spicy", "legendary", "fabled"};
+    private static final Enchantment[] ENCHANTS = {
+        Enchantment.DAMAGE_ALL, Enchantment.LOOT_BONUS_MOBS, Enchantment.FIRE_ASPECT, Enchantment.DURABILITY
+    };
+    private static final Material[] VANILLA = {
+        Material.STONE, Material.DIAMOND, Material.OAK_LOG, Material.IRON_SWORD, Material.WHEAT_SEEDS
+    };
+
+    private Plugin plugin;
+    private NamespacedKey itemIdKey;
+    private NamespacedKey reforgeKey;
+    private NamespacedKey booksKey;
+    private Map<String, ItemStack> catalog;
+    private ItemCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        MockBukkit.mock();
+        plugin = MockBukkit.createMockPlugin();
+        itemIdKey = new NamespacedKey(plugin, CustomItem.NBT_ITEM_ID);
+        reforgeKey = new NamespacedKey(plugin, CustomItem.NBT_REFORGE);
+        booksKey = new NamespacedKey(plugin, "hot_potato_books");
+
+        catalog = new HashMap<>();
+        catalog.put("ASPECT_OF_THE_END", prototype("ASPECT_OF_THE_END", Material.DIAMOND_SWORD, "Aspect of the End"));
+        catalog.put("ENCHANTED_DIAMOND", prototype("ENCHANTED_DIAMOND", Material.DIAMOND, "Enchanted Diamond"));
+        catalog.put("FARMING_TALISMAN", prototype("FARMING_TALISMAN", Material.PLAYER_HEAD, "Farming Talisman"));
+
+        codec = new ItemCodec(plugin, id -> {
+            ItemStack prototype = catalog.get(id);
+            return prototype != null ? prototype.clone() : null;
+        }, Logger.getLogger("ItemCodecTest"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    private ItemStack prototype(String id, Material material, String name) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(name);
+        meta.setLore(List.of("A test item", "RARE"));
+        meta.getPersistentDataContainer().set(itemIdKey, PersistentDataType.STRING, id);
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    @Test
+    void customItemWithReforgeEnchantsAndPdcRoundTrips() throws IOException {
+        ItemStack item = catalog.get("ASPECT_OF_THE_END").clone();
+        ItemMeta meta = item.getItemMeta();
+        meta.getPersistentDataContainer().set(reforgeKey, PersistentDataType.STRING, "spicy");
+        meta.getPersistentDataContainer().set(booksKey, PersistentDataType.STRING, "10");
+        meta.addEnchant(Enchantment.DAMAGE_ALL, 6, true);
+        item.setItemMeta(meta);
+
+        byte[] encoded = codec.encode(List.of(item));
+        List<ItemStack> decoded = codec.decode(encoded);
+
+        assertEquals(1, decoded.size());
+        assertSame(item, decoded.get(0));
+        // Stored relative to the prototype, so far smaller than the full item
+        assertTrue(encoded.length < 128, "Custom item took " + encoded.length + " bytes");
+    }
+
+    @Test
+    void vanillaItemsFallBackToBukkitSerialization() throws IOException {
+        ItemStack plain = new ItemStack(Material.COBBLESTONE, 64);
+        ItemStack named = new ItemStack(Material.IRON_PICKAXE);
+        ItemMeta meta = named.getItemMeta();
+        meta.setDisplayName("Trusty Pick");
+        meta.addEnchant(Enchantment.DIG_SPEED, 3, true);
+        named.setItemMeta(meta);
+
+        List<ItemStack> decoded = codec.decode(codec.encode(List.of(plain, named)));
+
+        assertSame(plain, decoded.get(0));
+        assertSame(named, decoded.get(1));
+    }
+
+    @Test
+    void customItemsMissingFromTheRegistry() throws IOException {
+        ItemStack item = catalog.get("ENCHANTED_DIAMOND").clone();
+        byte[] encoded = codec.encode(List.of(item));
+
+        // Removed from the registry after it was stored
+        catalog.remove("ENCHANTED_DIAMOND");
+        assertNull(codec.decode(encoded).get(0));
+
+        // Unknown when stored: kept whole rather than dropped
+        List<ItemStack> decoded = codec.decode(codec.encode(List.of(item)));
+        assertSame(item, decoded.get(0));
+    }
+
+    @Test
+    void emptySlotsDecodeToNull() throws IOException {
+        List<ItemStack> items = Arrays.asList(null, new ItemStack(Material.AIR), new ItemStack(Material.STONE, 3), null);
+
+        List<ItemStack> decoded = codec.decode(codec.encode(items));
+
+        assertEquals(4, decoded.size());
+        assertNull(decoded.get(0));
+        assertNull(decoded.get(1));
+        assertSame(items.get(2), decoded.get(2));
+        assertNull(decoded.get(3));
+    }
+
+    @Test
+    void largeInventoriesAreDeflated() throws IOException {
+        List<ItemStack> items = new ArrayList<>();
+        for (int i = 0; i < 54; i++) {
+            ItemStack item = new ItemStack(Material.OAK_LOG, 64);
+            ItemMeta meta = item.getItemMeta();
+            meta.setDisplayName("Log");
+            item.setItemMeta(meta);
+            items.add(item);
+        }
+
+        byte[] encoded = codec.encode(items);
+        assertEquals(1, encoded[1] & 1, "Expected the deflated flag");
+
+        List<ItemStack> decoded = codec.decode(encoded);
+        for (int i = 0; i < items.size(); i++) {
+            assertSame(items.get(i), decoded.get(i));
+        }
+    }
+
+    @Test
+    void randomInventoriesRoundTrip() throws IOException {
+        Random random = new Random(0x5B1);
+        for (int round = 0; round < 200; round++) {
+            List<ItemStack> items = randomItems(random);
+
+            List<ItemStack> decoded = codec.decode(codec.encode(items));
+
+            assertEquals(items.size(), decoded.size());
+            for (int i = 0; i < items.size(); i++) {
+                ItemStack expected = items.get(i);
+                if (expected == null || expected.getType().isAir()) {
+                    assertNull(decoded.get(i), "Round " + round + " slot " + i);
+                } else {
+                    assertSame(expected, decoded.get(i));
+                }
+            }
+            assertEquals(items.size(), codec.decodeFromString(codec.encodeToString(items)).size());
+        }
+    }
+
+    @Test
+    void truncatedInputFailsWithIOException() throws IOException {
+        Random random = new Random(0x7A1);
+        for (int round = 0; round < 20; round++) {
+            List<ItemStack> items = randomItems(random);
+            items.add(catalog.get("ASPECT_OF_THE_END").clone());
+            byte[] encoded = codec.encode(items);
+
+            for (int length = 0; length < encoded.length; length++) {
+                byte[] truncated = Arrays.copyOf(encoded, length);
+                assertThrows(IOException.class, () -> codec.decode(truncated),
+                    "Round " + round + " decoded " + length + " of " + encoded.length + " bytes");
+            }
+        }
+    }
+
+    @Test
+    void corruptInputNeverThrowsAnythingButIOException() throws IOException {
+        Random random = new Random(0xC0DE);
+        for (int round = 0; round < 500; round++) {
+            byte[] data = codec.encode(randomItems(random));
+            int flips = 1 + random.nextInt(4);
+            for (int i = 0; i < flips && data.length > 0; i++) {
+                data[random.nextInt(data.length)] ^= (byte) (1 << random.nextInt(8));
+            }
+            decodeOrIOException(data);
+        }
+
+        for (int round = 0; round < 500; round++) {
+            byte[] data = new byte[2 + random.nextInt(64)];
+            random.nextBytes(data);
+            data[0] = (byte) ItemCodec.FORMAT_VERSION;
+            data[1] = (byte) random.nextInt(2);
+            decodeOrIOException(data);
+        }
+    }
+
+    @Test
+    void unsupportedVersionsAndFlagsAreRejected() {
+        assertThrows(IOException.class, () -> codec.decode(new byte[] {0, 0, 0}));
+        assertThrows(IOException.class, () -> codec.decode(new byte[] {(byte) (ItemCodec.FORMAT_VERSION + 1), 0, 0}));
+        assertThrows(IOException.class, () -> codec.decode(new byte[] {(byte) ItemCodec.FORMAT_VERSION, 4, 0}));
+    }
+
+    @Test
+    void hostileLengthsAreRejected() {
+        byte v = (byte) ItemCodec.FORMAT_VERSION;
+        // Slot count far beyond the input
+        assertThrows(IOException.class, () -> codec.decode(new byte[] {v, 0, (byte) 0xFF, (byte) 0xFF, 0x7F}));
+        // Serialized item length of Integer.MAX_VALUE
+        assertThrows(IOException.class, () -> codec.decode(new byte[] {v, 0, 1, 2,
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}));
+        // Negative serialized item length
+        assertThrows(IOException.class, () -> codec.decode(new byte[] {v, 0, 1, 2,
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F}));
+        // Custom item id longer than the input
+        assertThrows(IOException.class, () -> codec.decode(new byte[] {v, 0, 1, 1, 0x40, 'A'}));
+        // Varint that never ends
+        assertThrows(IOException.class, () -> codec.decode(new byte[] {v, 0,
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF}));
+    }
+
+    private void decodeOrIOException(byte[] data) {
+        try {
+            codec.decode(data);
+        } catch (IOException expected) {
+            // Bad rows are reported this way
+        } catch (Exception e) {
+            fail("Corrupt data threw " + e, e);
+        }
+    }
+
+    private List<ItemStack> randomItems(Random random) {
+        List<ItemStack> items = new ArrayList<>();
+        int slots = random.nextInt(60);
+        for (int i = 0; i < slots; i++) {
+            items.add(switch (random.nextInt(4)) {
+                case 0 -> null;
+                case 1 -> randomVanilla(random);
+                default -> randomCustom(random);
+            });
+        }
+        return items;
+    }
+
+    private ItemStack randomVanilla(Random random) {
+        Material material = VANILLA[random.nextInt(VANILLA.length)];
+        ItemStack item = new ItemStack(material, 1 + random.nextInt(material.getMaxStackSize()));
+        if (random.nextBoolean()) {
+            ItemMeta meta = item.getItemMeta();
+            meta.setDisplayName("Item " + random.nextInt(1000));
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+
+    private ItemStack randomCustom(Random random) {
+        String[] ids = catalog.keySet().toArray(new String[0]);
+        Arrays.sort(ids);
+        ItemStack item = catalog.get(ids[random.nextInt(ids.length)]).clone();
+        item.setAmount(1 + random.nextInt(item.getMaxStackSize()));
+
+        ItemMeta meta = item.getItemMeta();
+        if (random.nextBoolean()) {
+            meta.getPersistentDataContainer().set(reforgeKey, PersistentDataType.STRING,
+                REFORGES[random.nextInt(REFORGES.length)]);
+        }
+        if (random.nextBoolean()) {
+            meta.getPersistentDataContainer().set(booksKey, PersistentDataType.STRING,
+                Integer.toString(random.nextInt(16)));
+        }
+        int enchants = random.nextInt(3);
+        for (int i = 0; i < enchants; i++) {
+            meta.addEnchant(ENCHANTS[random.nextInt(ENCHANTS.length)], 1 + random.nextInt(7), true);
+        }
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private static void assertSame(ItemStack expected, ItemStack actual) {
+        assertNotNull(actual);
+        assertTrue(expected.isSimilar(actual), () -> "Expected " + expected + " but got " + actual);
+        assertEquals(expected.getAmount(), actual.getAmount());
+    }
+}
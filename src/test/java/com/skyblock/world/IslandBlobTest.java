@@ -0,0 +1,369 @@
+package com.skyblock.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Round trips for {@link IslandBlob} and {@link IslandChunk}, plus the ways
+ * stored islands go bad: truncation, corruption and out of range indices.
+ */
+class IslandBlobTest {
+
+    private static final String[] BLOCKS = {
+        "minecraft:air", "minecraft:stone", "minecraft:dirt", "minecraft:grass_block[snowy=false]",
+        "minecraft:oak_log[axis=y]", "minecraft:water[level=0]", "minecraft:chest[facing=north,type=single,waterlogged=false]"
+    };
+    private static final String[] BIOMES = {"PLAINS", "FOREST", "OCEAN"};
+
+    @Test
+    void randomBlobsRoundTrip() throws IOException {
+        Random random = new Random(0x5B1);
+        for (int round = 0; round < 50; round++) {
+            IslandBlob blob = new IslandBlob(-64);
+            int chunks = 1 + random.nextInt(8);
+            for (int i = 0; i < chunks; i++) {
+                blob.putChunk(random.nextInt(64) - 32, random.nextInt(64) - 32, randomChunk(random));
+            }
+
+            IslandBlob decoded = IslandBlob.fromBytes(blob.toBytes());
+
+            assertEquals(-64, decoded.getMinY());
+            assertEquals(blob.getChunkCount(), decoded.getChunkCount(), "Round " + round);
+            for (int x = -32; x < 32; x++) {
+                for (int z = -32; z < 32; z++) {
+                    IslandChunk expected = blob.getChunk(x, z);
+                    if (expected == null) {
+                        assertFalse(decoded.hasChunk(x, z));
+                        continue;
+                    }
+                    assertNotNull(decoded.getChunk(x, z), "Round " + round + " lost chunk " + x + ", " + z);
+                    assertArrayEquals(bytesOf(expected), bytesOf(decoded.getChunk(x, z)),
+                        "Round " + round + " chunk " + x + ", " + z);
+                }
+            }
+        }
+    }
+
+    @Test
+    void singleBlockSectionsStoreNoIndices() throws IOException {
+        IslandChunk.Section section = new IslandChunk.Section(4, new String[] {"minecraft:stone"},
+            new long[0], new String[] {"PLAINS"}, new int[64]);
+        IslandChunk chunk = new IslandChunk(List.of(section), List.of(), List.of());
+
+        IslandChunk decoded = readChunk(bytesOf(chunk));
+
+        assertArrayEquals(bytesOf(chunk), bytesOf(decoded));
+    }
+
+    @Test
+    void tilesAndEntitiesRoundTrip() throws IOException {
+        IslandChunk chunk = new IslandChunk(List.of(),
+            List.of(new IslandChunk.TileData(3, -60, 15, 1, new byte[] {1, 2, 3}),
+                new IslandChunk.TileData(0, 200, 0, 2, new byte[0])),
+            List.of(new IslandChunk.EntityData(1.5, 64, -3.25, 90f, -10f, "{id:\"minecraft:cow\"}")));
+
+        IslandChunk decoded = readChunk(bytesOf(chunk));
+
+        assertEquals(2, decoded.getTiles().size());
+        IslandChunk.TileData tile = decoded.getTiles().get(0);
+        assertEquals(3, tile.x());
+        assertEquals(-60, tile.y());
+        assertEquals(15, tile.z());
+        assertEquals(1, tile.kind());
+        assertArrayEquals(new byte[] {1, 2, 3}, tile.payload());
+        assertEquals(List.of(new IslandChunk.EntityData(1.5, 64, -3.25, 90f, -10f, "{id:\"minecraft:cow\"}")),
+            decoded.getEntities());
+    }
+
+    @Test
+    void emptyChunksAreDropped() {
+        IslandBlob blob = new IslandBlob(0);
+        blob.putChunk(1, 2, randomChunk(new Random(1)));
+        assertTrue(blob.hasChunk(1, 2));
+
+        blob.putChunk(1, 2, new IslandChunk(List.of(), List.of(), List.of()));
+
+        assertFalse(blob.hasChunk(1, 2));
+        assertEquals(0, blob.getChunkCount());
+    }
+
+    @Test
+    void truncatedInputFailsWithIOException() throws IOException {
+        Random random = new Random(0x7A1);
+        IslandBlob blob = new IslandBlob(-64);
+        for (int i = 0; i < 4; i++) {
+            blob.putChunk(i, -i, randomChunk(random));
+        }
+        byte[] data = blob.toBytes();
+
+        for (int length = 0; length < data.length; length++) {
+            byte[] truncated = Arrays.copyOf(data, length);
+            assertThrows(IOException.class, () -> IslandBlob.fromBytes(truncated),
+                "Decoded " + length + " of " + data.length + " bytes");
+        }
+    }
+
+    @Test
+    void corruptInputNeverThrowsAnythingButIOException() throws IOException {
+        Random random = new Random(0xC0DE);
+        for (int round = 0; round < 300; round++) {
+            IslandBlob blob = new IslandBlob(0);
+            blob.putChunk(0, 0, randomChunk(random));
+            byte[] data = blob.toBytes();
+            int flips = 1 + random.nextInt(4);
+            for (int i = 0; i < flips; i++) {
+                data[random.nextInt(data.length)] ^= (byte) (1 << random.nextInt(8));
+            }
+            readOrIOException(data);
+        }
+
+        // Flipped bits in an inflated body, past the checksum that would catch them above
+        for (int round = 0; round < 300; round++) {
+            byte[] body = bytesOf(randomChunk(random));
+            int flips = 1 + random.nextInt(4);
+            for (int i = 0; i < flips; i++) {
+                body[random.nextInt(body.length)] ^= (byte) (1 << random.nextInt(8));
+            }
+            readOrIOException(blobOf(IslandBlob.FORMAT_VERSION, out -> {
+                out.writeInt(1);
+                out.writeLong(IslandBlob.chunkKey(0, 0));
+                out.write(body);
+            }));
+        }
+    }
+
+    @Test
+    void unsupportedHeadersAreRejected() throws IOException {
+        byte[] data = new IslandBlob(0).toBytes();
+        data[0] ^= 1;
+        assertThrows(IOException.class, () -> IslandBlob.fromBytes(data));
+
+        assertThrows(IOException.class, () -> IslandBlob.fromBytes(blobOf(0, out -> out.writeInt(0))));
+        assertThrows(IOException.class, () -> IslandBlob.fromBytes(
+            blobOf(IslandBlob.FORMAT_VERSION + 1, out -> out.writeInt(0))));
+        assertThrows(IOException.class, () -> IslandBlob.fromBytes(
+            blobOf(IslandBlob.FORMAT_VERSION, out -> out.writeInt(-1))));
+    }
+
+    @Test
+    void malformedSectionsAreRejected() {
+        // Empty block palette
+        assertThrows(IOException.class, () -> readChunk(chunkOf(out -> {
+            out.writeByte(0);
+            out.writeShort(0);
+        })));
+        // Two blocks need one bit each, so 64 longs, not 3
+        assertThrows(IOException.class, () -> readChunk(chunkOf(out -> {
+            out.writeByte(0);
+            palette(out, "minecraft:air", "minecraft:stone");
+            out.writeShort(3);
+            for (int i = 0; i < 3; i++) out.writeLong(0);
+        })));
+        // Index 2 of a three block palette is fine, index 3 is not
+        assertThrows(IOException.class, () -> readChunk(chunkOf(out -> {
+            out.writeByte(0);
+            palette(out, "minecraft:air", "minecraft:stone", "minecraft:dirt");
+            out.writeShort(128);
+            out.writeLong(3);
+            for (int i = 1; i < 128; i++) out.writeLong(0);
+            biomes(out, "PLAINS");
+        })));
+        // Empty biome palette
+        assertThrows(IOException.class, () -> readChunk(chunkOf(out -> {
+            out.writeByte(0);
+            palette(out, "minecraft:stone");
+            out.writeShort(0);
+            out.writeByte(0);
+        })));
+        // Biome index past its palette
+        assertThrows(IOException.class, () -> readChunk(chunkOf(out -> {
+            out.writeByte(0);
+            palette(out, "minecraft:stone");
+            out.writeShort(0);
+            biomes(out, "PLAINS", "FOREST");
+            out.writeByte(2);
+            for (int i = 1; i < 64; i++) out.writeByte(0);
+        })));
+    }
+
+    @Test
+    void hostileRecordsAreRejected() {
+        // Block entity outside its chunk
+        assertThrows(IOException.class, () -> readChunk(records(out -> {
+            out.writeShort(1);
+            out.writeByte(16);
+            out.writeInt(64);
+            out.writeByte(0);
+            out.writeByte(1);
+            out.writeInt(0);
+        })));
+        // Block entity payload of Integer.MAX_VALUE
+        assertThrows(IOException.class, () -> readChunk(records(out -> {
+            out.writeShort(1);
+            out.writeByte(0);
+            out.writeInt(64);
+            out.writeByte(0);
+            out.writeByte(1);
+            out.writeInt(Integer.MAX_VALUE);
+        })));
+        // Negative entity data length
+        assertThrows(IOException.class, () -> readChunk(records(out -> {
+            out.writeShort(0);
+            out.writeShort(1);
+            out.writeDouble(0);
+            out.writeDouble(0);
+            out.writeDouble(0);
+            out.writeFloat(0);
+            out.writeFloat(0);
+            out.writeInt(-1);
+        })));
+    }
+
+    private IslandChunk randomChunk(Random random) {
+        List<IslandChunk.Section> sections = new ArrayList<>();
+        int sectionCount = 1 + random.nextInt(4);
+        for (int index = 0; index < sectionCount; index++) {
+            sections.add(randomSection(random, index * 2));
+        }
+
+        List<IslandChunk.TileData> tiles = new ArrayList<>();
+        for (int i = random.nextInt(3); i > 0; i--) {
+            byte[] payload = new byte[random.nextInt(32)];
+            random.nextBytes(payload);
+            tiles.add(new IslandChunk.TileData(random.nextInt(16), random.nextInt(384) - 64, random.nextInt(16),
+                1 + random.nextInt(3), payload));
+        }
+
+        List<IslandChunk.EntityData> entities = new ArrayList<>();
+        for (int i = random.nextInt(3); i > 0; i--) {
+            entities.add(new IslandChunk.EntityData(random.nextDouble() * 16, random.nextDouble() * 256,
+                random.nextDouble() * 16, random.nextFloat() * 360, random.nextFloat() * 180 - 90,
+                "{id:\"minecraft:pig\",Health:" + random.nextInt(10) + "f}"));
+        }
+        return new IslandChunk(sections, tiles, entities);
+    }
+
+    private IslandChunk.Section randomSection(Random random, int index) {
+        String[] palette = Arrays.copyOf(BLOCKS, 1 + random.nextInt(BLOCKS.length));
+        int bits = palette.length <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(palette.length - 1);
+        long[] data = new long[0];
+        if (bits > 0) {
+            int perLong = 64 / bits;
+            data = new long[(4096 + perLong - 1) / perLong];
+            for (int i = 0; i < 4096; i++) {
+                data[i / perLong] |= (long) random.nextInt(palette.length) << ((i % perLong) * bits);
+            }
+        }
+
+        String[] biomePalette = Arrays.copyOf(BIOMES, 1 + random.nextInt(BIOMES.length));
+        int[] biomes = new int[64];
+        if (biomePalette.length > 1) {
+            for (int i = 0; i < biomes.length; i++) {
+                biomes[i] = random.nextInt(biomePalette.length);
+            }
+        }
+        return new IslandChunk.Section(index, palette, data, biomePalette, biomes);
+    }
+
+    private static byte[] bytesOf(IslandChunk chunk) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            chunk.write(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static IslandChunk readChunk(byte[] data) throws IOException {
+        return IslandChunk.read(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+
+    /**
+     * A chunk holding one section, written by hand.
+     */
+    private static byte[] chunkOf(Writer section) throws IOException {
+        return write(out -> {
+            out.writeShort(1);
+            section.write(out);
+        });
+    }
+
+    /**
+     * A chunk without sections, followed by hand written records.
+     */
+    private static byte[] records(Writer records) throws IOException {
+        return write(out -> {
+            out.writeShort(0);
+            records.write(out);
+        });
+    }
+
+    /**
+     * A blob with the real header and a hand written body.
+     */
+    private static byte[] blobOf(int version, Writer body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(bytes);
+        header.writeInt(0x53424931);
+        header.writeByte(version);
+        header.writeInt(0);
+        header.flush();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            body.write(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] write(Writer writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void palette(DataOutputStream out, String... entries) throws IOException {
+        out.writeShort(entries.length);
+        for (String entry : entries) {
+            out.writeUTF(entry);
+        }
+    }
+
+    private static void biomes(DataOutputStream out, String... entries) throws IOException {
+        out.writeByte(entries.length);
+        for (String entry : entries) {
+            out.writeUTF(entry);
+        }
+    }
+
+    private static void readOrIOException(byte[] data) {
+        try {
+            IslandBlob.fromBytes(data);
+        } catch (IOException expected) {
+            // Bad files are reported this way
+        } catch (Exception e) {
+            fail("Corrupt data threw " + e, e);
+        }
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+}